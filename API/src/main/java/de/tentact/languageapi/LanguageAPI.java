@@ -26,7 +26,10 @@
 package de.tentact.languageapi;
 
 import de.tentact.languageapi.console.ConsoleExecutor;
+import de.tentact.languageapi.event.LanguageEventBus;
 import de.tentact.languageapi.file.FileHandler;
+import de.tentact.languageapi.file.PlayerFileHandler;
+import de.tentact.languageapi.i18n.DefaultsRegistrar;
 import de.tentact.languageapi.i18n.Translation;
 import de.tentact.languageapi.player.PlayerExecutor;
 import de.tentact.languageapi.player.SpecificPlayerExecutor;
@@ -621,6 +624,15 @@ public abstract class LanguageAPI {
     @NotNull
     public abstract Translation getTranslation(@NotNull String translationKey);
 
+    /**
+     * Creates a {@link DefaultsRegistrar} to register many default translations in one batch (ex. on enable of a plugin)
+     *
+     * @return returns a new and empty {@link DefaultsRegistrar}
+     * @since 2.0
+     */
+    @NotNull
+    public abstract DefaultsRegistrar createDefaultsRegistrar();
+
     /**
      * @param prefixTranslation the prefixTranslation before the actual translation
      * @param translationKey    the translationkey to fetch the translation from
@@ -673,6 +685,20 @@ public abstract class LanguageAPI {
      */
     public abstract FileHandler getFileHandler();
 
+    /**
+     * @return returns the {@link PlayerFileHandler} to import and export the languages of many players at once
+     * @since 2.0
+     */
+    @NotNull
+    public abstract PlayerFileHandler getPlayerFileHandler();
+
+    /**
+     * @return returns the {@link LanguageEventBus} to get notified about changed player languages, translations and languages
+     * @since 2.0
+     */
+    @NotNull
+    public abstract LanguageEventBus getEventBus();
+
     /**
      * execute a {@link Runnable} async using the LanguageAPI {@link java.util.concurrent.ExecutorService}
      *
@@ -680,4 +706,22 @@ public abstract class LanguageAPI {
      * @since 1.8
      */
     public abstract void executeAsync(Runnable command);
+
+    /**
+     * execute a {@link Runnable} async with the given priority, admin and maintenance tasks do not slow down the tasks of players
+     *
+     * @param priority the class of the task
+     * @param command  the command to run
+     * @since 2.0
+     */
+    public abstract void executeAsync(@NotNull TaskPriority priority, @NotNull Runnable command);
+
+    /**
+     * Writes of the same translationkey or player are executed in the order they were submitted, this waits for every write submitted before
+     *
+     * @return returns a future completed once the previous writes are completed
+     * @since 2.0
+     */
+    @NotNull
+    public abstract CompletableFuture<Void> flush();
 }
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.event;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * This interface can only be accessed via {@link de.tentact.languageapi.LanguageAPI#getEventBus()}
+ * Used to get notified about changes instead of polling, ex. to invalidate cached items or scoreboards of a player once the language changed.
+ * The events are also called as native events of the platform
+ *
+ * @since 2.0
+ */
+public interface LanguageEventBus {
+
+    /**
+     * Subscribes a listener, which is called on the thread that wrote the change
+     *
+     * @param eventClass the class of the events, subclasses are included (ex. {@link LanguageEvent} for all events)
+     * @param listener   the listener to call, it should return quickly
+     * @param <T>        the type of the events
+     */
+    default <T extends LanguageEvent> void subscribe(@NotNull Class<T> eventClass, @NotNull Consumer<? super T> listener) {
+        this.subscribe(eventClass, listener, false);
+    }
+
+    /**
+     * Subscribes a listener
+     *
+     * @param eventClass the class of the events, subclasses are included (ex. {@link LanguageEvent} for all events)
+     * @param listener   the listener to call
+     * @param async      whether the listener is called on the async executor instead of the thread that wrote the change
+     * @param <T>        the type of the events
+     */
+    <T extends LanguageEvent> void subscribe(@NotNull Class<T> eventClass, @NotNull Consumer<? super T> listener, boolean async);
+
+    /**
+     * Removes every subscription of the listener
+     *
+     * @param listener the listener to remove
+     */
+    void unsubscribe(@NotNull Consumer<?> listener);
+
+    /**
+     * Calls the listeners subscribed to the class of the event or one of its superclasses
+     *
+     * @param event the event to post
+     */
+    void post(@NotNull LanguageEvent event);
+}
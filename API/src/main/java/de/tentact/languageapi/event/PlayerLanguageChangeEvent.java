@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.event;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * Posted after the language of a player was changed by {@link de.tentact.languageapi.player.PlayerExecutor#setPlayerLanguage(UUID, String)}.
+ * It is not posted if a player with the language of the client locale changes the locale of the client
+ *
+ * @since 2.0
+ */
+public class PlayerLanguageChangeEvent extends LanguageEvent {
+
+    private final UUID playerId;
+    private final String oldLanguage;
+    private final String newLanguage;
+
+    public PlayerLanguageChangeEvent(@NotNull UUID playerId, @Nullable String oldLanguage, @NotNull String newLanguage) {
+        this.playerId = playerId;
+        this.oldLanguage = oldLanguage;
+        this.newLanguage = newLanguage;
+    }
+
+    /**
+     * @return returns the uuid of the player whose language was changed
+     */
+    @NotNull
+    public UUID getPlayerId() {
+        return this.playerId;
+    }
+
+    /**
+     * @return returns the previous language of the player, null if the player was not registered before
+     */
+    @Nullable
+    public String getOldLanguage() {
+        return this.oldLanguage;
+    }
+
+    /**
+     * @return returns the new language of the player
+     */
+    @NotNull
+    public String getNewLanguage() {
+        return this.newLanguage;
+    }
+}
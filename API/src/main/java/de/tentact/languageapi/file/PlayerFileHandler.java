@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.file;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This is used to import and export the languages of many players at once, ex. when migrating from another plugin.
+ * Files ending with .csv contain one "uuid,language" pair per line, every other file uses the binary format of {@link PlayerFileHandler#exportPlayers(File)}
+ *
+ * @since 2.0
+ */
+public interface PlayerFileHandler {
+
+    /**
+     * Streams the file into the database in batches. Languages are checked once against the available languages, players with an unknown language are skipped.
+     * The progress is saved after every batch, an interrupted import of the same file continues after the last saved batch
+     *
+     * @param file        the file to import
+     * @param doOverwrite whether to overwrite the language of players who are already registered
+     * @return returns the result of the import
+     */
+    @NotNull
+    CompletableFuture<PlayerTransferResult> importPlayers(@NotNull File file, boolean doOverwrite);
+
+    /**
+     * Streams every registered player into the file
+     *
+     * @param file the file to write, it is replaced if it exists
+     * @return returns the result of the export
+     */
+    @NotNull
+    CompletableFuture<PlayerTransferResult> exportPlayers(@NotNull File file);
+
+}
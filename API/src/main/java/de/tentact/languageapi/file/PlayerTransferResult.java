@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.file;
+
+/**
+ * The result of an import or export of the {@link PlayerFileHandler}
+ *
+ * @since 2.0
+ */
+public final class PlayerTransferResult {
+
+    private final long transferredPlayers;
+    private final long skippedPlayers;
+    private final long durationMillis;
+
+    public PlayerTransferResult(long transferredPlayers, long skippedPlayers, long durationMillis) {
+        this.transferredPlayers = transferredPlayers;
+        this.skippedPlayers = skippedPlayers;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * @return returns the amount of players written to the database or the file
+     */
+    public long getTransferredPlayers() {
+        return this.transferredPlayers;
+    }
+
+    /**
+     * @return returns the amount of players skipped, because of an invalid uuid or an unknown language
+     */
+    public long getSkippedPlayers() {
+        return this.skippedPlayers;
+    }
+
+    public long getDurationMillis() {
+        return this.durationMillis;
+    }
+
+    /**
+     * @return returns the players read per second
+     */
+    public double getPlayersPerSecond() {
+        return (this.transferredPlayers + this.skippedPlayers) * 1000D / Math.max(1, this.durationMillis);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d players transferred, %d skipped in %dms (%.0f players/s)",
+                this.transferredPlayers, this.skippedPlayers, this.durationMillis, this.getPlayersPerSecond());
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.i18n;
+
+import de.tentact.languageapi.LanguageAPI;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This interface can only be accessed via {@link LanguageAPI#createDefaultsRegistrar()}
+ * Collects the default translations of a plugin and registers all of them at once, instead of one by one with
+ * {@link Translation#createDefaults(String, List)}. Translations which already exist are not overwritten.
+ *
+ * @since 2.0
+ */
+public interface DefaultsRegistrar {
+
+    /**
+     * Adds a default translation without parameters
+     *
+     * @param translationKey the translationkey of the translation
+     * @param message        the default translation
+     * @return the current {@link DefaultsRegistrar}
+     */
+    @NotNull
+    DefaultsRegistrar add(@NotNull String translationKey, @NotNull String message);
+
+    /**
+     * Adds a default translation with parameters
+     *
+     * @param translationKey the translationkey of the translation
+     * @param message        the default translation
+     * @param parameter      the parameters of the translation
+     * @return the current {@link DefaultsRegistrar}
+     */
+    @NotNull
+    DefaultsRegistrar add(@NotNull String translationKey, @NotNull String message, @NotNull List<String> parameter);
+
+    /**
+     * @return returns the amount of translations, which were added and not committed yet
+     */
+    int size();
+
+    /**
+     * Registers every added translation in the default language in a single transaction, the translations are removed from this registrar
+     *
+     * @return returns a future, which is completed with the amount of translations that did not exist before
+     */
+    @NotNull
+    CompletableFuture<Integer> commit();
+
+}
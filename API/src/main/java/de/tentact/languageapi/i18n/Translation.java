@@ -106,6 +106,41 @@ public interface Translation {
     @NotNull
     CompletableFuture<String> getMessageAsync(@NotNull String language, boolean orElseDefault);
 
+    /**
+     * Gets the translation and replaces the parameters in a single pass, without building a map of replacements.
+     * Typed arguments like numbers and dates are formatted in the given language if the translation
+     * declares a format for the parameter (ex. {%COINS%,number}, {%DATE%,date} or {%COINS%,plural,one{# coin} other{# coins}})
+     *
+     * @param language  the language to get the translation in
+     * @param arguments the values of the parameters in the order of {@link Translation#getParameterAsList()}
+     * @return returns a translation of the key in the given language with the parameters replaced
+     * @since 2.0
+     */
+    @NotNull
+    String format(@NotNull String language, @NotNull Object... arguments);
+
+    /**
+     * Gets the translation and replaces the parameters in a single pass, without building a map of replacements
+     *
+     * @param playerId  the player's uniqueid to fetch the language from
+     * @param arguments the values of the parameters in the order of {@link Translation#getParameterAsList()}
+     * @return returns a translation of the key in the language of the player with the parameters replaced
+     * @since 2.0
+     */
+    @NotNull
+    String format(@NotNull UUID playerId, @NotNull Object... arguments);
+
+    /**
+     * Gets the translation and replaces the parameters by their name in a single pass
+     *
+     * @param language            the language to get the translation in
+     * @param parameterValuePairs alternating parameters and their values (ex. "%PLAYER%", playerName, "%COINS%", coins)
+     * @return returns a translation of the key in the given language with the parameters replaced
+     * @since 2.0
+     */
+    @NotNull
+    String formatNamed(@NotNull String language, @NotNull Object... parameterValuePairs);
+
     /**
      * @return returns all parameters for the key in the {@link Translation#getTranslationKey()}
      * @deprecated use {@link Translation#getParameterAsList()}
@@ -135,7 +170,7 @@ public interface Translation {
 
     /**
      * @param prefixTranslation the prefix translation to get the prefix from
-     * @return returns a {@link Translation} after setting the prefixTranslation
+     * @return returns a new {@link Translation} of the same key with the prefixTranslation, this translation is not changed
      */
     @NotNull
     Translation setPrefixTranslation(Translation prefixTranslation);
@@ -154,13 +189,31 @@ public interface Translation {
     boolean hasPrefix();
 
     /**
-     * a method to replace parameter in the specific translation for a player - this is resetted after {@link Translation#getMessage()}
+     * a method to replace parameter in the specific translation for a player - the {@link Translation} itself is not changed,
+     * use the returned {@link Translation} to get the replaced message.
+     * Changed in 2.0: before, the parameter was stored in this {@link Translation} until {@link Translation#getMessage()} was called,
+     * so {@code translation.replace("%NAME%", name); translation.getMessage();} now returns the message without the replacement,
+     * use {@code translation.replace("%NAME%", name).getMessage()} instead
      * @param old         the old String to replace
      * @param replacement the replacement for the paramater
-     * @return returns {@link Translation} after replacing the parameter
+     * @return returns a new {@link Translation} with the parameter replaced
+     * @see Translation#with(String, Object)
+     */
+    @NotNull
+    default Translation replace(String old, String replacement) {
+        return this.with(old, replacement);
+    }
+
+    /**
+     * Creates an immutable {@link Translation} which carries the given argument, this {@link Translation} stays untouched.
+     * Can be used concurrently without any locking (ex. translation.with("%PLAYER%", name).with("%COINS%", coins))
+     * @param parameter the parameter to replace
+     * @param value     the value of the parameter
+     * @return returns a new {@link Translation} with the argument added
+     * @since 2.0
      */
     @NotNull
-    Translation replace(String old, String replacement);
+    Translation with(@NotNull String parameter, @Nullable Object value);
 
     /**
      * @return returns the translationkey which was given
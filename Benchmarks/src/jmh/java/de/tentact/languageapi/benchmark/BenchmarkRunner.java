@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Runs all benchmarks with 1, 4 and 16 threads, every thread count is written to its own JSON file
+ * (ex. results-4-threads.json), so a release can be compared against a stored baseline
+ */
+public final class BenchmarkRunner {
+
+    private static final int[] THREAD_COUNTS = {1, 4, 16};
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        File resultDirectory = new File(args.length == 0 ? "build/results/jmh" : args[0]);
+        if (!resultDirectory.exists() && !resultDirectory.mkdirs()) {
+            throw new IllegalStateException("Unable to create " + resultDirectory);
+        }
+        for (int threads : THREAD_COUNTS) {
+            Options options = new OptionsBuilder()
+                    .include(BenchmarkRunner.class.getPackage().getName() + "\\..*Benchmark")
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(new File(resultDirectory, "results-" + threads + "-threads.json").getAbsolutePath())
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
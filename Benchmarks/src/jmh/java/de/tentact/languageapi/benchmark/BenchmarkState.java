@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import de.tentact.languageapi.LanguageAPI;
+import de.tentact.languageapi.configuration.DatabaseProvider;
+import de.tentact.languageapi.configuration.LanguageConfig;
+import de.tentact.languageapi.configuration.LanguageSetting;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.logging.Logger;
+
+/**
+ * Starts a {@link HeadlessLanguageAPI} against an in-memory H2 database in MySQL mode and fills it with translations.
+ * deAT is only partially translated and falls back to deDE and the default language enUS
+ */
+@State(Scope.Benchmark)
+public class BenchmarkState {
+
+    public static final String DEFAULT_LANGUAGE = "enUS";
+    public static final String[] LANGUAGES = {DEFAULT_LANGUAGE, "deDE", "deAT"};
+    public static final int MAX_PLACEHOLDERS = 10;
+    public static final int MULTIPLE_TRANSLATION_SIZE = 5;
+
+    private HeadlessLanguageAPI languageAPI;
+    private DatabaseProvider databaseProvider;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        this.databaseProvider = new DatabaseProvider(
+                "jdbc:h2:mem:languageapi-" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "sa",
+                ""
+        );
+        LanguageConfig languageConfig = new LanguageConfig(
+                this.databaseProvider,
+                new LanguageSetting(DEFAULT_LANGUAGE, 5, "&eLanguageAPI x &7", false, false)
+        );
+        Logger logger = Logger.getLogger("LanguageAPI-Benchmark");
+        languageConfig.setLogger(logger);
+        this.databaseProvider.setLogger(logger);
+        this.databaseProvider.connect();
+        this.databaseProvider.createDefaultTable();
+
+        this.languageAPI = new HeadlessLanguageAPI(languageConfig);
+        LanguageAPI.setInstance(this.languageAPI);
+        this.fill(this.databaseProvider.getDataSource());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.databaseProvider.closeConnection();
+    }
+
+    public HeadlessLanguageAPI getLanguageAPI() {
+        return this.languageAPI;
+    }
+
+    private void fill(HikariDataSource dataSource) throws SQLException {
+        //Written directly instead of through the api, which would insert asynchronously
+        try (Connection connection = dataSource.getConnection()) {
+            for (String language : LANGUAGES) {
+                this.databaseProvider.createLanguageTable(language.toLowerCase());
+                try (PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO languages(language) VALUES (?)")) {
+                    preparedStatement.setString(1, language);
+                    preparedStatement.execute();
+                }
+                this.insertTranslation(connection, language, "languageapi-prefix", "&eLanguageAPI x &7");
+                //deAT misses everything but the prefix, to measure the fallback to deDE
+                if (language.equals("deAT")) {
+                    continue;
+                }
+                this.insertTranslation(connection, language, "benchmark-message", "&aThis is a &lbenchmark &7message in " + language);
+                for (int i = 0; i < MULTIPLE_TRANSLATION_SIZE; i++) {
+                    this.insertTranslation(connection, language, "benchmark-line-" + i, "&7Line &e" + i + " &7in " + language);
+                }
+                for (int placeholders : new int[]{0, 3, MAX_PLACEHOLDERS}) {
+                    StringBuilder message = new StringBuilder("&aMessage");
+                    for (int i = 0; i < placeholders; i++) {
+                        message.append(" &7with &e%PARAMETER").append(i).append('%');
+                    }
+                    this.insertTranslation(connection, language, "benchmark-placeholders-" + placeholders, message.toString());
+                }
+            }
+            for (int i = 0; i < MAX_PLACEHOLDERS; i++) {
+                try (PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO Parameter(translationkey, parameter) VALUES (?,?)")) {
+                    preparedStatement.setString(1, "benchmark-placeholders-" + MAX_PLACEHOLDERS);
+                    preparedStatement.setString(2, "%PARAMETER" + i + "%");
+                    preparedStatement.execute();
+                }
+            }
+            for (int i = 0; i < MULTIPLE_TRANSLATION_SIZE; i++) {
+                try (PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO MultipleTranslation(multipleKey, translationkey) VALUES (?,?)")) {
+                    preparedStatement.setString(1, "benchmark-multiple");
+                    preparedStatement.setString(2, "benchmark-line-" + i);
+                    preparedStatement.execute();
+                }
+            }
+        }
+    }
+
+    private void insertTranslation(Connection connection, String language, String translationKey, String translation) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO " + language + " (translationkey, translation) VALUES (?,?)")) {
+            preparedStatement.setString(1, translationKey);
+            preparedStatement.setString(2, translation);
+            preparedStatement.execute();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.benchmark;
+
+import de.tentact.languageapi.i18n.Translation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the lookup of translations through {@link de.tentact.languageapi.api.DefaultLanguageAPI}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+
+    @Benchmark
+    public String getMessageCacheHit(BenchmarkState state) {
+        return state.getLanguageAPI().getMessage("benchmark-message", "deDE");
+    }
+
+    @Benchmark
+    public String getMessageCacheMiss(BenchmarkState state, InvalidatedCache invalidatedCache) {
+        return state.getLanguageAPI().getMessage("benchmark-message", "deDE");
+    }
+
+    @Benchmark
+    public String getMessageMissingKey(BenchmarkState state) {
+        return state.getLanguageAPI().getMessage("benchmark-missing", "deDE");
+    }
+
+    @Benchmark
+    public String getMessageFallback(BenchmarkState state) {
+        return state.getLanguageAPI().getMessage("benchmark-message", "deAT");
+    }
+
+    @Benchmark
+    public String prefixComposition(BenchmarkState state, PrefixedTranslation prefixedTranslation) {
+        return prefixedTranslation.translation.getMessage("deDE");
+    }
+
+    @Benchmark
+    public List<String> getMultipleMessages(BenchmarkState state) {
+        return state.getLanguageAPI().getMultipleMessages("benchmark-multiple", "deDE", "languageapi-prefix");
+    }
+
+    /**
+     * Drops every cached translation before each call, so the translation is loaded from the database
+     */
+    @State(Scope.Thread)
+    public static class InvalidatedCache {
+
+        @Setup(Level.Invocation)
+        public void invalidate(BenchmarkState state) {
+            state.getLanguageAPI().invalidateTranslationCache();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PrefixedTranslation {
+
+        private Translation translation;
+
+        @Setup(Level.Trial)
+        public void setUp(BenchmarkState state) {
+            this.translation = state.getLanguageAPI().getTranslationWithPrefix(
+                    state.getLanguageAPI().getTranslation("languageapi-prefix"),
+                    "benchmark-message"
+            );
+        }
+    }
+}
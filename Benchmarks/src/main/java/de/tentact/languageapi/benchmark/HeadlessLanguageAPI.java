@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.benchmark;
+
+import de.tentact.languageapi.api.DefaultLanguageAPI;
+import de.tentact.languageapi.configuration.LanguageConfig;
+import de.tentact.languageapi.console.ConsoleExecutor;
+import de.tentact.languageapi.i18n.Translation;
+import de.tentact.languageapi.player.DefaultPlayerExecutor;
+import de.tentact.languageapi.player.LanguagePlayer;
+import de.tentact.languageapi.player.PlayerExecutor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * A {@link DefaultLanguageAPI} without a platform, no player is ever online
+ */
+public class HeadlessLanguageAPI extends DefaultLanguageAPI {
+
+    private final PlayerExecutor playerExecutor;
+    private final ConsoleExecutor consoleExecutor;
+
+    public HeadlessLanguageAPI(LanguageConfig languageConfig) {
+        super(languageConfig);
+        this.playerExecutor = new DefaultPlayerExecutor(this, languageConfig) {
+            @Override
+            public @Nullable LanguagePlayer getLanguagePlayer(UUID playerId) {
+                return null;
+            }
+
+            @Override
+            public @NotNull Collection<LanguagePlayer> getOnlineLanguagePlayers() {
+                return Collections.emptyList();
+            }
+        };
+        this.consoleExecutor = new ConsoleExecutor() {
+            @Override
+            public void sendMessage(Translation translation) {
+                translation.getMessageAsync().thenAccept(System.out::println);
+            }
+
+            @Override
+            public void sendMessage(String translationKey) {
+                this.sendMessage(HeadlessLanguageAPI.this.getTranslation(translationKey));
+            }
+        };
+    }
+
+    @Override
+    public @NotNull PlayerExecutor getPlayerExecutor() {
+        return this.playerExecutor;
+    }
+
+    @Override
+    public @NotNull ConsoleExecutor getConsoleExecutor() {
+        return this.consoleExecutor;
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.simulation;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import de.tentact.languageapi.LanguageAPI;
+import de.tentact.languageapi.benchmark.HeadlessLanguageAPI;
+import de.tentact.languageapi.configuration.DatabaseProvider;
+import de.tentact.languageapi.configuration.LanguageConfig;
+import de.tentact.languageapi.configuration.LanguageSetting;
+import de.tentact.languageapi.i18n.Translation;
+import de.tentact.languageapi.metrics.ExecutorMetrics;
+import de.tentact.languageapi.metrics.LatencyHistogram;
+import de.tentact.languageapi.metrics.PoolMetrics;
+import de.tentact.languageapi.metrics.QueryMetrics;
+import de.tentact.languageapi.metrics.QueryType;
+import de.tentact.languageapi.player.PlayerTable;
+import de.tentact.languageapi.player.SpecificPlayerExecutor;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.logging.Logger;
+
+/**
+ * Simulates a join storm after a restart, every virtual player goes through the same calls as a joining player on Spigot:
+ * the registration check of the JoinListener, the registration or the language selection, the first message and a language change.
+ * Runs against an in-memory H2 database in MySQL mode by default, any MySQL or MariaDB server can be used with --jdbc-url
+ * <p>
+ * Options (ex. --players=800): players, window (seconds), returning (share of registered players), language-change (share of
+ * players changing their language), event-threads (threads firing the join events), seed, jdbc-url, user, password
+ */
+public final class JoinStormSimulator {
+
+    private static final String DEFAULT_LANGUAGE = "enUS";
+    private static final String[] LANGUAGES = {DEFAULT_LANGUAGE, "deDE", "frFR"};
+    private static final String WELCOME_KEY = "simulation-welcome";
+
+    private final int players;
+    private final int windowSeconds;
+    private final double returningRatio;
+    private final double languageChangeRatio;
+    private final int eventThreads;
+    private final long seed;
+    private final DatabaseProvider databaseProvider;
+
+    private final LatencyHistogram joinLatency = new LatencyHistogram();
+    private final LongAccumulator maxJoinLatency = new LongAccumulator(Math::max, 0);
+    private final AtomicInteger failures = new AtomicInteger();
+    private final LongAccumulator peakPendingThreads = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator peakActiveConnections = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator peakQueuedTasks = new LongAccumulator(Math::max, 0);
+
+    private JoinStormSimulator(Map<String, String> options) {
+        this.players = Integer.parseInt(options.getOrDefault("players", "800"));
+        this.windowSeconds = Integer.parseInt(options.getOrDefault("window", "30"));
+        this.returningRatio = Double.parseDouble(options.getOrDefault("returning", "0.8"));
+        this.languageChangeRatio = Double.parseDouble(options.getOrDefault("language-change", "0.1"));
+        this.eventThreads = Integer.parseInt(options.getOrDefault("event-threads", "4"));
+        this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        this.databaseProvider = new DatabaseProvider(
+                options.getOrDefault("jdbc-url", "jdbc:h2:mem:joinstorm;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"),
+                options.getOrDefault("user", "sa"),
+                options.getOrDefault("password", "")
+        );
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Options have to be passed as --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new JoinStormSimulator(options).run();
+        //The pool and the executors of the api are not daemon threads
+        System.exit(0);
+    }
+
+    private void run() throws InterruptedException, SQLException {
+        HeadlessLanguageAPI languageAPI = this.start();
+        Random random = new Random(this.seed);
+        UUID[] playerIds = new UUID[this.players];
+        boolean[] returning = new boolean[this.players];
+        for (int i = 0; i < this.players; i++) {
+            playerIds[i] = new UUID(random.nextLong(), random.nextLong());
+            returning[i] = random.nextDouble() < this.returningRatio;
+        }
+        this.registerReturningPlayers(playerIds, returning, random);
+
+        QueryMetrics queryMetrics = this.databaseProvider.getQueryMetrics();
+        long[] queriesBefore = new long[QueryType.values().length];
+        for (QueryType queryType : QueryType.values()) {
+            queriesBefore[queryType.ordinal()] = queryMetrics.getQueries(queryType);
+        }
+        PoolMetrics poolMetrics = this.databaseProvider.getPoolMetrics();
+        long timeoutsBefore = poolMetrics.getConnectionTimeouts();
+        ExecutorMetrics executorMetrics = languageAPI.getExecutorMetrics();
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        long startedThreadsBefore = threadMXBean.getTotalStartedThreadCount();
+        threadMXBean.resetPeakThreadCount();
+
+        ExecutorService eventExecutor = Executors.newFixedThreadPool(this.eventThreads,
+                new ThreadFactoryBuilder().setNameFormat("Simulation-Event-%d").setDaemon(true).build());
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2,
+                new ThreadFactoryBuilder().setNameFormat("Simulation-Scheduler-%d").setDaemon(true).build());
+        scheduler.scheduleAtFixedRate(() -> {
+            this.peakPendingThreads.accumulate(poolMetrics.getThreadsAwaitingConnection());
+            this.peakActiveConnections.accumulate(poolMetrics.getActiveConnections());
+            this.peakQueuedTasks.accumulate(executorMetrics.getQueuedTasks());
+        }, 0, 50, TimeUnit.MILLISECONDS);
+
+        Translation welcome = languageAPI.getTranslation(WELCOME_KEY);
+        CountDownLatch firstMessages = new CountDownLatch(this.players);
+        long windowNanos = TimeUnit.SECONDS.toNanos(this.windowSeconds);
+        long start = System.nanoTime();
+        for (int i = 0; i < this.players; i++) {
+            UUID playerId = playerIds[i];
+            boolean registered = returning[i];
+            String selectedLanguage = LANGUAGES[random.nextInt(LANGUAGES.length)];
+            String changedLanguage = random.nextDouble() < this.languageChangeRatio ? LANGUAGES[random.nextInt(LANGUAGES.length)] : null;
+            scheduler.schedule(() -> eventExecutor.execute(() ->
+                            this.join(languageAPI, welcome, playerId, registered, selectedLanguage, changedLanguage, firstMessages)),
+                    windowNanos * i / this.players, TimeUnit.NANOSECONDS);
+        }
+
+        boolean completed = firstMessages.await(this.windowSeconds + 120L, TimeUnit.SECONDS);
+        long firstMessagesNanos = System.nanoTime() - start;
+        long drainDeadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while ((executorMetrics.getActiveThreads() > 0 || executorMetrics.getQueuedTasks() > 0) && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        long drainedNanos = System.nanoTime() - start;
+        scheduler.shutdownNow();
+        eventExecutor.shutdownNow();
+
+        long[] queries = new long[queriesBefore.length];
+        long totalQueries = 0;
+        for (QueryType queryType : QueryType.values()) {
+            queries[queryType.ordinal()] = queryMetrics.getQueries(queryType) - queriesBefore[queryType.ordinal()];
+            totalQueries += queries[queryType.ordinal()];
+        }
+
+        System.out.printf(Locale.ROOT, "Join storm: %d players in %ds (%.0f%% returning, %.0f%% change their language, %d event threads)%n",
+                this.players, this.windowSeconds, this.returningRatio * 100, this.languageChangeRatio * 100, this.eventThreads);
+        if (!completed) {
+            System.out.printf(Locale.ROOT, "Only %d of %d players got their first message in time%n", this.players - firstMessages.getCount(), this.players);
+        }
+        System.out.printf(Locale.ROOT, "Throughput: %.1f joins/s, first messages after %.2fs, async work drained after %.2fs%n",
+                (this.players - firstMessages.getCount()) / (firstMessagesNanos / 1e9), firstMessagesNanos / 1e9, drainedNanos / 1e9);
+        System.out.printf(Locale.ROOT, "Join to first message: p50 %.2fms, p90 %.2fms, p99 %.2fms, max %.2fms, %d failed%n",
+                this.joinLatency.getPercentile(0.5) / 1000D, this.joinLatency.getPercentile(0.9) / 1000D,
+                this.joinLatency.getPercentile(0.99) / 1000D, this.maxJoinLatency.get() / 1e6, this.failures.get());
+        StringBuilder queryLine = new StringBuilder("Queries:");
+        for (QueryType queryType : QueryType.values()) {
+            queryLine.append(' ').append(queryType.name()).append(' ').append(queries[queryType.ordinal()]);
+        }
+        System.out.printf(Locale.ROOT, "%s, %d total, %.1f per player, p99 %.2fms%n",
+                queryLine, totalQueries, totalQueries / (double) this.players, queryMetrics.getLatencyP99Micros() / 1000D);
+        System.out.printf(Locale.ROOT, "Pool: %d connections, peak %d active, peak %d threads waiting, %d timeouts, acquire p99 %.2fms%n",
+                poolMetrics.getMaxConnections(), this.peakActiveConnections.get(), this.peakPendingThreads.get(),
+                poolMetrics.getConnectionTimeouts() - timeoutsBefore, poolMetrics.getAcquireP99Micros() / 1000D);
+        System.out.printf(Locale.ROOT, "Threads: %d started, peak %d alive, async executor peaked at %d threads with %d queued tasks%n",
+                threadMXBean.getTotalStartedThreadCount() - startedThreadsBefore, threadMXBean.getPeakThreadCount(),
+                executorMetrics.getLargestPoolSize(), this.peakQueuedTasks.get());
+
+        this.databaseProvider.closeConnection();
+    }
+
+    private void join(HeadlessLanguageAPI languageAPI, Translation welcome, UUID playerId, boolean registered,
+                      String selectedLanguage, String changedLanguage, CountDownLatch firstMessages) {
+        long joined = System.nanoTime();
+        SpecificPlayerExecutor playerExecutor = languageAPI.getSpecificPlayerExecutor(playerId);
+
+        //JoinListener: new players open the language inventory, where the click is handled async
+        playerExecutor.isRegisteredPlayerAsync().thenAccept(isRegistered -> {
+            if (isRegistered) {
+                playerExecutor.registerPlayer();
+            } else {
+                languageAPI.executeAsync(() -> playerExecutor.setPlayerLanguage(selectedLanguage));
+            }
+        });
+
+        //SpigotLanguagePlayer#sendMessage
+        playerExecutor.getPlayerLanguageAsync().thenCompose(welcome::getMessageAsync).whenComplete((message, throwable) -> {
+            long latency = System.nanoTime() - joined;
+            this.joinLatency.record(latency);
+            this.maxJoinLatency.accumulate(latency);
+            if (throwable != null) {
+                this.failures.incrementAndGet();
+            } else if (changedLanguage != null) {
+                playerExecutor.setPlayerLanguage(changedLanguage);
+            }
+            firstMessages.countDown();
+        });
+    }
+
+    private HeadlessLanguageAPI start() throws SQLException {
+        Logger logger = Logger.getLogger("LanguageAPI-Simulation");
+        LanguageConfig languageConfig = new LanguageConfig(
+                this.databaseProvider,
+                new LanguageSetting(DEFAULT_LANGUAGE, 5, "&eLanguageAPI x &7", false, false)
+        );
+        languageConfig.setLogger(logger);
+        this.databaseProvider.setLogger(logger);
+        this.databaseProvider.connect();
+        this.databaseProvider.createDefaultTable();
+        HeadlessLanguageAPI languageAPI = new HeadlessLanguageAPI(languageConfig);
+        LanguageAPI.setInstance(languageAPI);
+
+        //Written directly, so the setup does not show up in the metrics of the storm
+        try (Connection connection = this.databaseProvider.getDataSource().getConnection()) {
+            for (String language : LANGUAGES) {
+                this.databaseProvider.createLanguageTable(language.toLowerCase());
+                try (PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO languages(language) VALUES (?)")) {
+                    preparedStatement.setString(1, language);
+                    preparedStatement.execute();
+                }
+                try (PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO " + language + " (translationkey, translation) VALUES (?,?)")) {
+                    preparedStatement.setString(1, WELCOME_KEY);
+                    preparedStatement.setString(2, "&7Welcome back in &e" + language);
+                    preparedStatement.execute();
+                }
+            }
+        }
+        return languageAPI;
+    }
+
+    private void registerReturningPlayers(UUID[] playerIds, boolean[] returning, Random random) throws SQLException {
+        Map<UUID, String> languages = new HashMap<>();
+        for (int i = 0; i < playerIds.length; i++) {
+            if (returning[i]) {
+                languages.put(playerIds[i], LANGUAGES[random.nextInt(LANGUAGES.length)].toLowerCase());
+            }
+        }
+        try (Connection connection = this.databaseProvider.getDataSource().getConnection()) {
+            new PlayerTable(this.databaseProvider, Logger.getLogger("LanguageAPI-Simulation")).registerAll(connection, languages);
+        }
+    }
+}
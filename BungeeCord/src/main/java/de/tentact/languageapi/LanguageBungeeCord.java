@@ -26,31 +26,61 @@
 package de.tentact.languageapi;
 
 import de.tentact.languageapi.api.BungeeCordLanguageAPI;
+import de.tentact.languageapi.api.WarmUp;
+import de.tentact.languageapi.command.BungeeLanguageStatsCommand;
 import de.tentact.languageapi.configuration.Configuration;
 import de.tentact.languageapi.configuration.DatabaseProvider;
 import de.tentact.languageapi.configuration.LanguageConfig;
+import de.tentact.languageapi.event.BungeeLanguageEvent;
+import de.tentact.languageapi.event.LanguageEvent;
+import de.tentact.languageapi.listener.BungeeDisconnectListener;
+import de.tentact.languageapi.listener.BungeePostLoginListener;
+import de.tentact.languageapi.util.StartupTimeline;
 import de.tentact.languageapi.util.UpdateNotifier;
 import net.md_5.bungee.api.plugin.Plugin;
 import net.md_5.bungee.api.plugin.PluginDescription;
 
+import java.util.concurrent.TimeUnit;
+
 public class LanguageBungeeCord extends Plugin {
 
     private DatabaseProvider databaseProvider;
 
     @Override
     public void onEnable() {
-        Configuration configuration = new Configuration(this.getLogger());
+        StartupTimeline timeline = new StartupTimeline();
+        Configuration configuration = timeline.call("configuration", () -> new Configuration(this.getLogger()));
         LanguageConfig languageConfig = configuration.getLanguageConfig();
         this.databaseProvider = configuration.getLanguageConfig().getDatabaseProvider();
-        this.databaseProvider.connect();
-        LanguageAPI.setInstance(new BungeeCordLanguageAPI(languageConfig));
-        this.databaseProvider.createDefaultTable();
-        LanguageAPI.getInstance().createLanguage(languageConfig.getLanguageSetting().getDefaultLanguage());
-        this.checkForUpdates(new UpdateNotifier());
+        timeline.run("database-connect", () -> this.databaseProvider.connect(languageConfig.getStorageSetting()));
+        BungeeCordLanguageAPI languageAPI = new BungeeCordLanguageAPI(languageConfig, this);
+        LanguageAPI.setInstance(languageAPI);
+        timeline.run("default-tables", this.databaseProvider::createDefaultTable);
+        languageAPI.startMetrics();
+        languageAPI.getEventBus().subscribe(LanguageEvent.class, event -> this.getProxy().getPluginManager().callEvent(new BungeeLanguageEvent(event)));
+        this.getProxy().getPluginManager().registerCommand(this, new BungeeLanguageStatsCommand());
+        this.getProxy().getPluginManager().registerListener(this, new BungeePostLoginListener());
+        this.getProxy().getPluginManager().registerListener(this, new BungeeDisconnectListener());
+
+        new WarmUp(languageAPI, timeline)
+                .stage("update-check", () -> this.checkForUpdates(new UpdateNotifier()))
+                .start()
+                .whenComplete((ignored, throwable) -> {
+                    if (throwable != null) {
+                        throwable.printStackTrace();
+                    }
+                    if (languageConfig.getMetricsSetting().isStartupTimeline()) {
+                        timeline.log(this.getLogger());
+                    }
+                });
     }
 
     @Override
     public void onDisable() {
+        ((BungeeCordLanguageAPI) LanguageAPI.getInstance()).closeAudiences();
+        ((BungeeCordLanguageAPI) LanguageAPI.getInstance()).stopMetrics();
+        ((BungeeCordLanguageAPI) LanguageAPI.getInstance()).flush(5, TimeUnit.SECONDS);
+        ((BungeeCordLanguageAPI) LanguageAPI.getInstance()).shutdown();
         this.databaseProvider.closeConnection();
     }
 
@@ -27,20 +27,35 @@ package de.tentact.languageapi.api;
 
 import de.tentact.languageapi.configuration.LanguageConfig;
 import de.tentact.languageapi.console.ConsoleExecutor;
+import de.tentact.languageapi.metrics.BlockingCallDetector;
 import de.tentact.languageapi.player.BungeeConsoleExecutor;
 import de.tentact.languageapi.player.BungeePlayerExecutor;
 import de.tentact.languageapi.player.PlayerExecutor;
+import net.kyori.adventure.platform.bungeecord.BungeeAudiences;
+import net.md_5.bungee.api.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public class BungeeCordLanguageAPI extends DefaultLanguageAPI {
 
     private final PlayerExecutor playerExecutor;
     private final ConsoleExecutor consoleExecutor;
+    private final BungeeAudiences audiences;
 
-    public BungeeCordLanguageAPI(LanguageConfig languageConfig) {
+    public BungeeCordLanguageAPI(LanguageConfig languageConfig, Plugin plugin) {
         super(languageConfig);
         this.playerExecutor = new BungeePlayerExecutor(this, languageConfig);
         this.consoleExecutor = new BungeeConsoleExecutor(this);
+        this.audiences = this.isMiniMessage() ? BungeeAudiences.create(plugin) : null;
+        this.getBlockingCallDetector().setBlockingThread(BlockingCallDetector::isNettyThread);
+        this.getBlockingCallDetector().setPluginResolver(className -> {
+            for (Plugin installedPlugin : plugin.getProxy().getPluginManager().getPlugins()) {
+                if (className.startsWith(installedPlugin.getClass().getPackage().getName() + ".")) {
+                    return installedPlugin.getDescription().getName();
+                }
+            }
+            return null;
+        });
     }
 
     @Override
@@ -52,4 +67,17 @@ public class BungeeCordLanguageAPI extends DefaultLanguageAPI {
     public @NotNull ConsoleExecutor getConsoleExecutor() {
         return this.consoleExecutor;
     }
+
+    /**
+     * @return returns the audiences to send components with, null if the MiniMessage format is disabled
+     */
+    public @Nullable BungeeAudiences getAudiences() {
+        return this.audiences;
+    }
+
+    public void closeAudiences() {
+        if (this.audiences != null) {
+            this.audiences.close();
+        }
+    }
 }
@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.command;
+
+import de.tentact.languageapi.LanguageAPI;
+import de.tentact.languageapi.api.DefaultLanguageAPI;
+import de.tentact.languageapi.util.ColorFormatter;
+import net.md_5.bungee.api.CommandSender;
+import net.md_5.bungee.api.chat.TextComponent;
+import net.md_5.bungee.api.plugin.Command;
+
+import java.util.List;
+
+/**
+ * Shows the statistics of the caches, the database and the async executor (/languagestats)
+ * or the callers with the most database calls on the netty threads (/languagestats blocking [reset])
+ */
+public class BungeeLanguageStatsCommand extends Command {
+
+    public BungeeLanguageStatsCommand() {
+        super("languagestats", "system.languageapi.stats", "langstats");
+    }
+
+    @Override
+    public void execute(CommandSender commandSender, String[] args) {
+        DefaultLanguageAPI languageAPI = (DefaultLanguageAPI) LanguageAPI.getInstance();
+        List<String> lines;
+        if (args.length >= 1 && args[0].equalsIgnoreCase("blocking")) {
+            if (args.length >= 2 && args[1].equalsIgnoreCase("reset")) {
+                languageAPI.getBlockingCallDetector().reset();
+            }
+            lines = languageAPI.getBlockingCallDetector().toLines(10);
+        } else {
+            lines = languageAPI.getStatistics().toLines();
+        }
+        for (String line : lines) {
+            commandSender.sendMessage(TextComponent.fromLegacyText(ColorFormatter.format(line)));
+        }
+    }
+}
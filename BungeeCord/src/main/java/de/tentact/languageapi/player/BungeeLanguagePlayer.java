@@ -26,6 +26,7 @@
 package de.tentact.languageapi.player;
 
 import de.tentact.languageapi.LanguageAPI;
+import de.tentact.languageapi.api.BungeeCordLanguageAPI;
 import de.tentact.languageapi.i18n.Translation;
 import net.md_5.bungee.api.chat.TextComponent;
 import net.md_5.bungee.api.connection.ProxiedPlayer;
@@ -34,7 +35,7 @@ import org.jetbrains.annotations.NotNull;
 public class BungeeLanguagePlayer extends DefaultLanguageOfflinePlayer implements LanguagePlayer {
 
     private final ProxiedPlayer proxiedPlayer;
-    private final LanguageAPI languageAPI = LanguageAPI.getInstance();
+    private final BungeeCordLanguageAPI languageAPI = (BungeeCordLanguageAPI) LanguageAPI.getInstance();
 
     public BungeeLanguagePlayer(ProxiedPlayer proxiedPlayer) {
         super(proxiedPlayer.getUniqueId());
@@ -46,6 +47,11 @@ public class BungeeLanguagePlayer extends DefaultLanguageOfflinePlayer implement
         if (this.proxiedPlayer == null) {
             return;
         }
+        if (this.languageAPI.getAudiences() != null) {
+            super.getLanguageAsync().thenCompose(language -> this.languageAPI.getComponentAsync(translation, language))
+                    .thenAccept(component -> this.languageAPI.getAudiences().player(this.proxiedPlayer).sendMessage(component));
+            return;
+        }
         super.getLanguageAsync().thenCompose(translation::getMessageAsync)
                 .thenAccept(message -> this.proxiedPlayer.sendMessage(TextComponent.fromLegacyText(message)));
     }
@@ -33,6 +33,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
+import java.util.Locale;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -56,6 +57,17 @@ public class BungeePlayerExecutor extends DefaultPlayerExecutor {
         return languagePlayer;
     }
 
+    @Override
+    protected @Nullable String getClientLocale(UUID playerId) {
+        ProxiedPlayer player = ProxyServer.getInstance().getPlayer(playerId);
+        if (player == null) {
+            return null;
+        }
+        //Null until the client sent its settings
+        Locale locale = player.getLocale();
+        return locale == null ? null : locale.toString();
+    }
+
     @Override
     public @NotNull Collection<LanguagePlayer> getOnlineLanguagePlayers() {
         return ProxyServer.getInstance().getPlayers().stream().map(player -> this.getLanguagePlayer(player.getUniqueId())).collect(Collectors.toList());
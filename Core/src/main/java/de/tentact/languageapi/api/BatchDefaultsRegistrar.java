@@ -0,0 +1,205 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.api;
+
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.SetMultimap;
+import de.tentact.languageapi.TaskPriority;
+import de.tentact.languageapi.event.TranslationUpdatedEvent;
+import de.tentact.languageapi.i18n.DefaultsRegistrar;
+import de.tentact.languageapi.i18n.ParameterRegistry;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Registers the collected default translations with one batched {@code INSERT IGNORE} and their parameters in the same transaction.
+ * Only translations missing in the default language and parameters missing in the {@link ParameterRegistry} are inserted.
+ */
+public class BatchDefaultsRegistrar implements DefaultsRegistrar {
+
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+
+    private final DefaultLanguageAPI languageAPI;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    BatchDefaultsRegistrar(DefaultLanguageAPI languageAPI) {
+        this.languageAPI = languageAPI;
+    }
+
+    @NotNull
+    @Override
+    public DefaultsRegistrar add(@NotNull String translationKey, @NotNull String message) {
+        return this.add(translationKey, message, Collections.emptyList());
+    }
+
+    @NotNull
+    @Override
+    public synchronized DefaultsRegistrar add(@NotNull String translationKey, @NotNull String message, @NotNull List<String> parameter) {
+        this.entries.put(translationKey.toLowerCase(), new Entry(message, parameter));
+        return this;
+    }
+
+    @Override
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    @NotNull
+    @Override
+    public CompletableFuture<Integer> commit() {
+        Map<String, Entry> entries;
+        synchronized (this) {
+            entries = new LinkedHashMap<>(this.entries);
+            this.entries.clear();
+        }
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        if (entries.isEmpty()) {
+            future.complete(0);
+            return future;
+        }
+        //Ordered with the other writes of the translationkeys, so flush() waits for it as well
+        this.languageAPI.executeWriteAll(entries.keySet(), TaskPriority.ADMIN, () -> {
+            try {
+                future.complete(this.insert(this.languageAPI.getDefaultLanguage().toLowerCase(), entries));
+            } catch (SQLException throwable) {
+                throwable.printStackTrace();
+                future.completeExceptionally(throwable);
+            }
+        });
+        return future;
+    }
+
+    private int insert(String language, Map<String, Entry> entries) throws SQLException {
+        ParameterRegistry parameterRegistry = this.languageAPI.getParameterRegistry();
+        SetMultimap<String, String> insertedParameter = LinkedHashMultimap.create();
+        List<String> insertedKeys = new ArrayList<>();
+        try (Connection connection = this.languageAPI.getDatabaseProvider().getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                //Only the missing keys are inserted, so the inserted keys are known even if the driver reports no update counts
+                Set<String> existingKeys = this.findExistingKeys(connection, language, entries.keySet());
+                List<String> missingKeys = new ArrayList<>();
+                try (PreparedStatement translationStatement = connection.prepareStatement("INSERT IGNORE INTO " + language + " (translationkey, translation) VALUES (?,?);");
+                     PreparedStatement parameterStatement = connection.prepareStatement("INSERT INTO Parameter(translationkey, parameter) VALUES (?,?);")) {
+                    for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                        if (!existingKeys.contains(entry.getKey())) {
+                            translationStatement.setString(1, entry.getKey());
+                            translationStatement.setString(2, entry.getValue().message);
+                            translationStatement.addBatch();
+                            missingKeys.add(entry.getKey());
+                        }
+
+                        for (String parameter : entry.getValue().parameter) {
+                            if (parameter == null || parameter.isEmpty()) {
+                                continue;
+                            }
+                            String strippedParameter = parameter.replace(" ", "");
+                            if (parameterRegistry.isParameter(entry.getKey(), strippedParameter) || !insertedParameter.put(entry.getKey(), strippedParameter)) {
+                                continue;
+                            }
+                            parameterStatement.setString(1, entry.getKey());
+                            parameterStatement.setString(2, strippedParameter);
+                            parameterStatement.addBatch();
+                        }
+                    }
+                    if (!missingKeys.isEmpty()) {
+                        int[] updateCounts = translationStatement.executeBatch();
+                        for (int i = 0; i < missingKeys.size(); i++) {
+                            //A rewritten batch reports SUCCESS_NO_INFO, the key was missing before so it was inserted
+                            int updateCount = i < updateCounts.length ? updateCounts[i] : Statement.SUCCESS_NO_INFO;
+                            if (updateCount > 0 || updateCount == Statement.SUCCESS_NO_INFO) {
+                                insertedKeys.add(missingKeys.get(i));
+                            }
+                        }
+                    }
+                    if (!insertedParameter.isEmpty()) {
+                        parameterStatement.executeBatch();
+                        parameterRegistry.increaseVersion(connection);
+                    }
+                }
+                connection.commit();
+            } catch (SQLException throwable) {
+                connection.rollback();
+                throw throwable;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+        insertedParameter.forEach(parameterRegistry::add);
+        for (String translationKey : entries.keySet()) {
+            this.languageAPI.invalidateTranslation(translationKey);
+        }
+        for (String translationKey : insertedKeys) {
+            this.languageAPI.getEventBus().post(new TranslationUpdatedEvent(translationKey, language));
+        }
+        return insertedKeys.size();
+    }
+
+    private Set<String> findExistingKeys(Connection connection, String language, Collection<String> translationKeys) throws SQLException {
+        Set<String> existingKeys = new HashSet<>();
+        List<String> keys = new ArrayList<>(translationKeys);
+        for (int from = 0; from < keys.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = keys.subList(from, Math.min(keys.size(), from + LOOKUP_CHUNK_SIZE));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT translationkey FROM " + language + " WHERE translationkey IN (" + placeholders + ");")) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    preparedStatement.setString(i + 1, chunk.get(i));
+                }
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        existingKeys.add(resultSet.getString("translationkey").toLowerCase());
+                    }
+                }
+            }
+        }
+        return existingKeys;
+    }
+
+    private static class Entry {
+
+        private final String message;
+        private final List<String> parameter;
+
+        private Entry(String message, List<String> parameter) {
+            this.message = message;
+            this.parameter = new ArrayList<>(parameter);
+        }
+    }
+}
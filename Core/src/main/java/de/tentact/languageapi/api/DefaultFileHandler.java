@@ -28,7 +28,7 @@ package de.tentact.languageapi.api;
 import com.github.derrop.documents.Document;
 import com.github.derrop.documents.Documents;
 import com.google.gson.reflect.TypeToken;
-import de.tentact.languageapi.LanguageAPI;
+import de.tentact.languageapi.TaskPriority;
 import de.tentact.languageapi.file.FileHandler;
 import org.jetbrains.annotations.NotNull;
 
@@ -36,9 +36,12 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * @since 1.9
@@ -47,41 +50,59 @@ public class DefaultFileHandler implements FileHandler {
 
     private static final Type translationType = new TypeToken<Map<String, String>>() {
     }.getType();
+    private static final int CHUNK_SIZE = 500;
+
+    private final DefaultLanguageAPI languageAPI;
+
+    public DefaultFileHandler(DefaultLanguageAPI languageAPI) {
+        this.languageAPI = languageAPI;
+    }
 
     @Override
     public boolean loadFile(@NotNull File file, boolean doOverwrite) {
-        Document document = Documents.yamlStorage().read(file);
-        Map<String, String> map = document.get("languageapi", translationType);
-
-        String language = map.get("language");
-        map.remove("language");
+        Map<String, String> map = this.readTranslations(file);
+        String language = map.remove("language");
         if (language == null || language.isEmpty()) {
             return false;
         }
-        map.forEach((key, value) -> {
-            if (!LanguageAPI.getInstance().addMessage(key, value, language) && doOverwrite) {
-                LanguageAPI.getInstance().updateMessage(key, value, language);
-            }
-        });
+        map.forEach((key, value) -> this.importTranslation(key, value, language, doOverwrite));
         return true;
     }
 
     @Override
     public CompletableFuture<Boolean> loadFileAsync(@NotNull File file, boolean doOverwrite) {
-        return CompletableFuture.supplyAsync(() -> this.loadFile(file, doOverwrite));
+        return this.composeAdminTask(() -> {
+            Map<String, String> map = this.readTranslations(file);
+            String language = map.remove("language");
+            if (language == null || language.isEmpty()) {
+                return CompletableFuture.completedFuture(false);
+            }
+            //Every chunk checks its keys against the database, so the import yields to the players between the chunks
+            return this.languageAPI.getTaskScheduler().executeChunked(TaskPriority.ADMIN, new ArrayList<>(map.entrySet()), CHUNK_SIZE,
+                    chunk -> chunk.forEach(entry -> this.importTranslation(entry.getKey(), entry.getValue(), language, doOverwrite))
+            ).thenApply(ignored -> true);
+        });
+    }
+
+    private Map<String, String> readTranslations(File file) {
+        Document document = Documents.yamlStorage().read(file);
+        return document.get("languageapi", translationType);
+    }
+
+    private void importTranslation(String translationKey, String translation, String language, boolean doOverwrite) {
+        if (!this.languageAPI.addMessage(translationKey, translation, language) && doOverwrite) {
+            this.languageAPI.updateMessage(translationKey, translation, language);
+        }
     }
 
     @Override
     public CompletableFuture<Boolean> exportAll() {
-        return CompletableFuture.supplyAsync(() -> {
-            boolean passed = true;
-            for (String language : LanguageAPI.getInstance().getAvailableLanguages()) {
-                if (!this.exportLanguageToFile(language).join()) {
-                    passed = false;
-                }
-            }
-            return passed;
-        });
+        CompletableFuture<Boolean> passed = CompletableFuture.completedFuture(true);
+        //One language after another, so an export of every language does not occupy more than one admin task at a time
+        for (String language : this.languageAPI.getAvailableLanguages()) {
+            passed = passed.thenCompose(allPassed -> this.exportLanguageToFile(language).thenApply(languagePassed -> allPassed && languagePassed));
+        }
+        return passed;
     }
 
     @Override
@@ -91,23 +112,47 @@ public class DefaultFileHandler implements FileHandler {
 
     @Override
     public CompletableFuture<Boolean> exportLanguageToFile(@NotNull String language, File file) {
-        return CompletableFuture.supplyAsync(() -> {
-            if (!LanguageAPI.getInstance().isLanguage(language)) {
-                return false;
+        return this.composeAdminTask(() -> {
+            if (!this.languageAPI.isLanguage(language)) {
+                return CompletableFuture.completedFuture(false);
             }
             Map<String, String> keysAndTranslations = new HashMap<>();
             keysAndTranslations.put("language", language);
-            keysAndTranslations.putAll(LanguageAPI.getInstance().getKeysAndTranslations(language));
+            List<String> translationKeys = this.languageAPI.getAllTranslationKeys(language);
+            return this.languageAPI.getTaskScheduler().executeChunked(TaskPriority.ADMIN, translationKeys, CHUNK_SIZE, chunk -> {
+                this.languageAPI.preloadTranslationEntries(chunk, language);
+                for (String translationKey : chunk) {
+                    keysAndTranslations.put(translationKey, this.languageAPI.getMessage(translationKey, language));
+                }
+            }).thenApply(ignored -> {
+                Document document = Documents.newDocument("languageapi", keysAndTranslations);
+                File outputFile = new File(file, language.toLowerCase() + ".yml");
+                try {
+                    Files.createDirectories(outputFile.getParentFile().toPath());
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+                document.yaml().write(outputFile);
+                return true;
+            });
+        });
+    }
 
-            Document document = Documents.newDocument("languageapi", keysAndTranslations);
-            File outputFile = new File(file, language.toLowerCase() + ".yml");
+    private <T> CompletableFuture<T> composeAdminTask(Supplier<CompletableFuture<T>> supplier) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        this.languageAPI.executeAsync(TaskPriority.ADMIN, () -> {
             try {
-                Files.createDirectories(outputFile.getParentFile().toPath());
-            } catch (IOException e) {
-                e.printStackTrace();
+                supplier.get().whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        future.completeExceptionally(throwable);
+                        return;
+                    }
+                    future.complete(result);
+                });
+            } catch (RuntimeException exception) {
+                future.completeExceptionally(exception);
             }
-            document.yaml().write(outputFile);
-            return true;
         });
+        return future;
     }
 }
@@ -29,17 +29,44 @@ import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalListener;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
-import com.zaxxer.hikari.HikariDataSource;
 import de.tentact.languageapi.LanguageAPI;
+import de.tentact.languageapi.TaskPriority;
 import de.tentact.languageapi.configuration.DatabaseProvider;
 import de.tentact.languageapi.configuration.LanguageConfig;
 import de.tentact.languageapi.console.ConsoleExecutor;
+import de.tentact.languageapi.event.DefaultLanguageEventBus;
+import de.tentact.languageapi.event.LanguageCreatedEvent;
+import de.tentact.languageapi.event.LanguageDeletedEvent;
+import de.tentact.languageapi.event.LanguageEventBus;
+import de.tentact.languageapi.event.TranslationUpdatedEvent;
 import de.tentact.languageapi.file.FileHandler;
+import de.tentact.languageapi.file.PlayerFileHandler;
+import de.tentact.languageapi.i18n.ComponentTemplate;
+import de.tentact.languageapi.i18n.DefaultsRegistrar;
+import de.tentact.languageapi.i18n.LanguageIndex;
+import de.tentact.languageapi.i18n.LanguageFormats;
+import de.tentact.languageapi.i18n.MessageTemplate;
+import de.tentact.languageapi.i18n.ParameterRegistry;
 import de.tentact.languageapi.i18n.Translation;
+import de.tentact.languageapi.i18n.TranslationEntry;
+import de.tentact.languageapi.metrics.BlockingCallDetector;
+import de.tentact.languageapi.metrics.CacheMetrics;
+import de.tentact.languageapi.metrics.ExecutorMetrics;
+import de.tentact.languageapi.metrics.LanguageStatistics;
+import de.tentact.languageapi.metrics.MetricsExporter;
+import de.tentact.languageapi.metrics.PoolMetrics;
+import de.tentact.languageapi.player.DefaultPlayerExecutor;
 import de.tentact.languageapi.player.DefaultSpecificPlayerExecutor;
 import de.tentact.languageapi.player.PlayerExecutor;
 import de.tentact.languageapi.player.SpecificPlayerExecutor;
+import de.tentact.languageapi.scheduler.StripedExecutor;
+import de.tentact.languageapi.scheduler.TaskScheduler;
+import de.tentact.languageapi.storage.CircuitBreaker;
+import de.tentact.languageapi.storage.CircuitOpenException;
+import de.tentact.languageapi.storage.WriteQueue;
+import net.kyori.adventure.text.Component;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -48,76 +75,170 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
 
 public abstract class DefaultLanguageAPI extends LanguageAPI {
 
     private final DatabaseProvider databaseProvider;
     private final LanguageConfig languageConfig;
 
-    private final Cache<String, Map<String, String>> translationCache;
+    private final CacheMetrics translationCacheMetrics;
+    private final Cache<String, Map<String, TranslationEntry>> translationCache;
+    private final Cache<String, Map<String, TranslationEntry>> staleTranslationCache;
+    private final Set<String> refreshingTranslations = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean reloadingLanguageIndex = new AtomicBoolean();
     private final LoadingCache<String, Translation> translationMap;
-    private final PlayerExecutor playerExecutor;
+    private final LoadingCache<String, List<String>> multipleTranslationCache;
+    private final Cache<String, List<String>> multipleMessagesCache;
     private final FileHandler fileHandler;
-    private final ExecutorService executorService;
+    private final PlayerFileHandler playerFileHandler;
+    private final ThreadPoolExecutor executorService;
+    private final ExecutorMetrics executorMetrics;
+    private final TaskScheduler taskScheduler;
+    private final Map<TaskPriority, StripedExecutor> writeSequencers = new EnumMap<>(TaskPriority.class);
+    private final WriteQueue writeQueue;
+    private final LanguageEventBus eventBus;
+    private MetricsExporter metricsExporter;
+    private final ParameterRegistry parameterRegistry;
+    private volatile LanguageIndex languageIndex;
 
     public DefaultLanguageAPI(LanguageConfig languageConfig) {
         this.languageConfig = languageConfig;
-        this.playerExecutor = this.getPlayerExecutor();
         this.databaseProvider = languageConfig.getDatabaseProvider();
+        this.translationCacheMetrics = new CacheMetrics();
+        this.multipleMessagesCache = CacheBuilder
+                .newBuilder()
+                .expireAfterWrite(languageConfig.getLanguageSetting().getCachedTime(), TimeUnit.MINUTES)
+                .build();
+        this.databaseProvider.getBlockingCallDetector().setMode(languageConfig.getMetricsSetting().getBlockingCalls());
+        this.staleTranslationCache = CacheBuilder
+                .newBuilder()
+                .maximumSize(10_000)
+                .build();
+        RemovalListener<String, Map<String, TranslationEntry>> evictionListener = this.translationCacheMetrics.evictionListener();
         this.translationCache = CacheBuilder
                 .newBuilder()
+                .maximumSize(10_000)
                 .expireAfterWrite(languageConfig.getLanguageSetting().getCachedTime(), TimeUnit.MINUTES)
+                .removalListener((RemovalListener<String, Map<String, TranslationEntry>>) notification -> {
+                    evictionListener.onRemoval(notification);
+                    if (notification.wasEvicted()) {
+                        //Expired translations can still be served while the database is unavailable or on the server thread
+                        this.staleTranslationCache.put(notification.getKey(), notification.getValue());
+                        return;
+                    }
+                    this.staleTranslationCache.invalidate(notification.getKey());
+                    //A changed translation may be part of a rendered multiple translation
+                    this.multipleMessagesCache.invalidateAll();
+                })
                 .build();
+        this.translationCacheMetrics.setSizeSupplier(this.translationCache::size);
         this.translationMap = CacheBuilder.newBuilder().build(new CacheLoader<String, Translation>() {
             @Override
             public Translation load(@NotNull String translationKey) {
                 return new DefaultTranslation(translationKey.toLowerCase());
             }
         });
+        this.multipleTranslationCache = CacheBuilder
+                .newBuilder()
+                .expireAfterWrite(languageConfig.getLanguageSetting().getCachedTime(), TimeUnit.MINUTES)
+                .build(new CacheLoader<String, List<String>>() {
+                    @Override
+                    public List<String> load(@NotNull String multipleTranslation) throws SQLException {
+                        return DefaultLanguageAPI.this.loadMultipleTranslationKeys(multipleTranslation);
+                    }
+                });
 
-        this.fileHandler = new DefaultFileHandler();
-        this.executorService = Executors.newCachedThreadPool(
+        this.fileHandler = new DefaultFileHandler(this);
+        this.playerFileHandler = new DefaultPlayerFileHandler(this);
+        //Same as Executors#newCachedThreadPool, but keeps the type to read the pool statistics
+        this.executorService = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
                 new ThreadFactoryBuilder().setNameFormat("LanguageAPI-Thread-%d").build()
         );
+        this.taskScheduler = new TaskScheduler(this.executorService, () -> {
+            PoolMetrics poolMetrics = this.databaseProvider.getPoolMetrics();
+            return poolMetrics == null ? 0 : poolMetrics.getThreadsAwaitingConnection();
+        });
+        this.parameterRegistry = new ParameterRegistry(this.databaseProvider, this.taskScheduler.executor(TaskPriority.MAINTENANCE));
+        //Every priority has its own stripes, so an interactive write never waits behind an admin write of the same stripe
+        for (TaskPriority priority : TaskPriority.values()) {
+            this.writeSequencers.put(priority, new StripedExecutor(64));
+        }
+        //The tasks wait in the lanes and the write stripes, not in the queue of the executor
+        this.executorMetrics = new ExecutorMetrics(this.executorService, () -> {
+            int queuedTasks = 0;
+            for (TaskPriority priority : TaskPriority.values()) {
+                queuedTasks += this.taskScheduler.getMetrics(priority).getQueuedTasks()
+                        + this.writeSequencers.get(priority).getQueuedTasks();
+            }
+            return queuedTasks;
+        });
+        this.eventBus = new DefaultLanguageEventBus(this.taskScheduler.executor(TaskPriority.INTERACTIVE));
+        //Added before the queue, which hands its writes to the executors when the circuit closes
+        this.getCircuitBreaker().addListener((previous, current) -> {
+            if (previous == CircuitBreaker.State.CLOSED) {
+                this.languageConfig.getLogger().warning("The database is unavailable, serving cached translations and queueing writes");
+            } else if (current == CircuitBreaker.State.CLOSED) {
+                this.languageConfig.getLogger().info("The database is available again, executing " + this.getWriteQueue().getQueuedWrites() + " queued writes");
+            }
+        });
+        this.writeQueue = new WriteQueue(this.getCircuitBreaker(), this.databaseProvider.getStorageSetting().getWriteQueueSize());
     }
 
     @Override
     public void createLanguage(final String language) {
-        this.executorService.execute(() -> {
-            if (this.getAvailableLanguages().isEmpty() || !this.isLanguage(language)) {
-                this.databaseProvider.createLanguageTable(language.replace(" ", "").toLowerCase());
+        this.executeWrite(language.toLowerCase(), TaskPriority.ADMIN, () -> this.insertLanguage(language));
+    }
 
-                try (Connection connection = this.getDataSource().getConnection();
-                     PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO languages(language) VALUES (?)")) {
-                    preparedStatement.setString(1, language);
-                    preparedStatement.execute();
-                } catch (SQLException ex) {
-                    ex.printStackTrace();
-                }
+    /**
+     * Creates the language on the calling thread, if it does not exist yet
+     *
+     * @param language the language to create
+     */
+    void insertLanguage(String language) {
+        if (this.getAvailableLanguages().isEmpty() || !this.isLanguage(language)) {
+            this.databaseProvider.createLanguageTable(language.replace(" ", "").toLowerCase());
 
-                this.addMessage(
-                        "languageapi-prefix",
-                        this.languageConfig.getLanguageSetting().getDefaultPrefix(),
-                        language
-                );
-                this.debug("Creating new language: " + language);
+            try (Connection connection = this.databaseProvider.getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO languages(language) VALUES (?)")) {
+                preparedStatement.setString(1, language);
+                preparedStatement.execute();
+            } catch (SQLException ex) {
+                ex.printStackTrace();
             }
-        });
+            this.reloadLanguageIndex();
+
+            this.addMessage(
+                    "languageapi-prefix",
+                    this.languageConfig.getLanguageSetting().getDefaultPrefix(),
+                    language
+            );
+            this.debug("Creating new language: " + language);
+            this.eventBus.post(new LanguageCreatedEvent(language));
+        }
     }
 
     @Override
     public void deleteLanguage(String language) {
-        this.executorService.execute(() -> {
+        this.executeWrite(language.toLowerCase(), TaskPriority.ADMIN, () -> {
             if (!this.getDefaultLanguage().equalsIgnoreCase(language) && this.isLanguage(language)) {
-                try (Connection connection = this.getDataSource().getConnection()) {
+                try (Connection connection = this.databaseProvider.getConnection()) {
                     try (PreparedStatement preparedStatement = connection.prepareStatement("DROP TABLE " + language + ";")) {
                         preparedStatement.execute();
                     }
@@ -128,7 +249,9 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
                 } catch (SQLException throwable) {
                     throwable.printStackTrace();
                 }
+                this.reloadLanguageIndex();
                 this.debug("Deleting language:" + language);
+                this.eventBus.post(new LanguageDeletedEvent(language));
             }
         });
     }
@@ -154,15 +277,18 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
         if (this.isKey(translationKey, language)) {
             return false;
         }
-        this.executorService.execute(() -> {
-            try (Connection connection = this.getDataSource().getConnection();
+        this.executeWrite(translationKey.toLowerCase(), TaskPriority.ADMIN, () -> {
+            try (Connection connection = this.databaseProvider.getConnection();
                  PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO " + language + " (translationkey, translation) VALUES (?,?);")) {
                 preparedStatement.setString(1, translationKey.toLowerCase());
-                preparedStatement.setString(2, this.translateColorCode(message));
+                preparedStatement.setString(2, message);
                 preparedStatement.execute();
             } catch (SQLException throwable) {
                 throwable.printStackTrace();
             }
+            //Languages falling back to another language for this key have to resolve it again
+            this.translationCache.invalidate(translationKey.toLowerCase());
+            this.eventBus.post(new TranslationUpdatedEvent(translationKey.toLowerCase(), language));
         });
         return true;
     }
@@ -174,56 +300,77 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
 
     @Override
     public void setParameter(String translationKey, String parameter) {
-        this.executorService.execute(() -> {
-            if (parameter == null || parameter.isEmpty()) {
-                return;
-            }
-            if (this.isParameter(translationKey, parameter)) {
-                return;
-            }
-            try (Connection connection = this.getDataSource().getConnection();
-                 PreparedStatement preparedStatement = connection.prepareStatement("REPLACE INTO Parameter(translationkey, parameter) VALUES (?,?);")) {
-                preparedStatement.setString(1, translationKey.toLowerCase());
-                preparedStatement.setString(2, parameter.replace(" ", ""));
-                preparedStatement.execute();
-            } catch (SQLException throwable) {
-                throwable.printStackTrace();
-            }
-        });
+        this.executeWrite(translationKey.toLowerCase(), TaskPriority.ADMIN, () -> this.insertParameter(translationKey, parameter));
     }
 
     @Override
     public void setParameter(String translationKey, List<String> parameter) {
-        for (String s : parameter) {
-            this.setParameter(translationKey, s);
+        if (parameter.isEmpty()) {
+            return;
+        }
+        //One task keeps the insertion order, which is the positional order of the parameters
+        this.executeWrite(translationKey.toLowerCase(), TaskPriority.ADMIN, () -> {
+            for (String s : parameter) {
+                this.insertParameter(translationKey, s);
+            }
+        });
+    }
+
+    private void insertParameter(String translationKey, String parameter) {
+        if (parameter == null || parameter.isEmpty()) {
+            return;
+        }
+        String strippedParameter = parameter.replace(" ", "");
+        if (this.parameterRegistry.isParameter(translationKey, strippedParameter)) {
+            return;
+        }
+        try (Connection connection = this.databaseProvider.getConnection()) {
+            try (PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO Parameter(translationkey, parameter) VALUES (?,?);")) {
+                preparedStatement.setString(1, translationKey.toLowerCase());
+                preparedStatement.setString(2, strippedParameter);
+                preparedStatement.execute();
+            }
+            this.parameterRegistry.add(translationKey, strippedParameter);
+            this.parameterRegistry.increaseVersion(connection);
+        } catch (SQLException throwable) {
+            throwable.printStackTrace();
         }
+        this.translationCache.invalidate(translationKey.toLowerCase());
     }
 
     @Override
     public void deleteParameter(final String translationKey, final String parameter) {
-        this.executorService.execute(() -> {
-            try (Connection connection = this.getDataSource().getConnection();
-                 PreparedStatement preparedStatement = connection.prepareStatement("DELETE FROM Parameter WHERE translationkey=? AND parameter=?;")) {
-                preparedStatement.setString(1, translationKey);
-                preparedStatement.setString(2, parameter);
-                preparedStatement.execute();
+        this.executeWrite(translationKey.toLowerCase(), TaskPriority.ADMIN, () -> {
+            try (Connection connection = this.databaseProvider.getConnection()) {
+                try (PreparedStatement preparedStatement = connection.prepareStatement("DELETE FROM Parameter WHERE translationkey=? AND parameter=?;")) {
+                    preparedStatement.setString(1, translationKey);
+                    preparedStatement.setString(2, parameter);
+                    preparedStatement.execute();
+                }
+                this.parameterRegistry.remove(translationKey, parameter);
+                this.parameterRegistry.increaseVersion(connection);
             } catch (SQLException throwable) {
                 throwable.printStackTrace();
             }
+            this.translationCache.invalidate(translationKey.toLowerCase());
         });
 
     }
 
     @Override
     public void deleteAllParameter(final String translationKey) {
-        this.executorService.execute(() -> {
-            try (Connection connection = this.getDataSource().getConnection();
-                 PreparedStatement preparedStatement = connection.prepareStatement("DELETE FROM Parameter WHERE translationkey=?;")) {
-                preparedStatement.setString(1, translationKey);
-                preparedStatement.execute();
+        this.executeWrite(translationKey.toLowerCase(), TaskPriority.ADMIN, () -> {
+            try (Connection connection = this.databaseProvider.getConnection()) {
+                try (PreparedStatement preparedStatement = connection.prepareStatement("DELETE FROM Parameter WHERE translationkey=?;")) {
+                    preparedStatement.setString(1, translationKey);
+                    preparedStatement.execute();
+                }
+                this.parameterRegistry.removeAll(translationKey);
+                this.parameterRegistry.increaseVersion(connection);
             } catch (SQLException throwable) {
                 throwable.printStackTrace();
             }
+            this.translationCache.invalidate(translationKey.toLowerCase());
         });
     }
 
@@ -254,6 +401,12 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
         return this.addMessageToDefault(translationKey, translation);
     }
 
+    @NotNull
+    @Override
+    public DefaultsRegistrar createDefaultsRegistrar() {
+        return new BatchDefaultsRegistrar(this);
+    }
+
     @Override
     public void addTranslationKeyToMultipleTranslation(final String multipleTranslation, final String translationKey) {
         this.addMultipleTranslation(multipleTranslation, translationKey);
@@ -261,18 +414,20 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
 
     @Override
     public void copyLanguage(String languageFrom, String languageTo) {
-        this.executorService.execute(() -> {
+        this.executeWrite(languageTo.toLowerCase(), TaskPriority.ADMIN, () -> {
             if (languageFrom == null || languageTo == null) {
                 return;
             }
             if (!this.isLanguage(languageFrom) || !this.isLanguage(languageTo)) {
                 throw new IllegalArgumentException("Language " + languageFrom + " or " + languageTo + " was not found!");
             }
-            try (Connection connection = this.getDataSource().getConnection()) {
+            try (Connection connection = this.databaseProvider.getConnection()) {
                 connection.createStatement().execute("INSERT IGNORE " + languageTo + " SELECT * FROM " + languageFrom + ";");
             } catch (SQLException throwable) {
                 throwable.printStackTrace();
             }
+            this.translationCache.invalidateAll();
+            this.eventBus.post(new TranslationUpdatedEvent(null, languageTo));
         });
     }
 
@@ -281,15 +436,7 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
         if (translationKey == null) {
             return false;
         }
-        try (Connection connection = this.getDataSource().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement("SELECT * FROM Parameter WHERE translationkey=?;")) {
-            preparedStatement.setString(1, translationKey.toLowerCase());
-            ResultSet resultSet = preparedStatement.executeQuery();
-            return resultSet.next();
-        } catch (SQLException throwable) {
-            throwable.printStackTrace();
-        }
-        return false;
+        return this.parameterRegistry.hasParameter(translationKey);
     }
 
     @Override
@@ -307,19 +454,7 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
 
     @Override
     public List<String> getParameterAsList(String translationKey) {
-        List<String> parameter = new ArrayList<>();
-        try (Connection connection = this.getDataSource().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement("SELECT parameter FROM Parameter WHERE translationkey=?;")) {
-            preparedStatement.setString(1, translationKey.toLowerCase());
-
-            ResultSet resultSet = preparedStatement.executeQuery();
-            while (resultSet.next()) {
-                parameter.add(resultSet.getString("parameter"));
-            }
-        } catch (SQLException throwable) {
-            throwable.printStackTrace();
-        }
-        return parameter;
+        return this.parameterRegistry.getParameter(translationKey);
     }
 
     @Override
@@ -334,12 +469,7 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
 
     @Override
     public boolean isParameter(String translationKey, String parameter) {
-        for (String s : this.getParameterAsList(translationKey)) {
-            if (s.equalsIgnoreCase(parameter)) {
-                return true;
-            }
-        }
-        return false;
+        return this.parameterRegistry.isParameter(translationKey, parameter);
     }
 
     @Override
@@ -349,7 +479,7 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
 
     @Override
     public void deleteMessageInEveryLang(String translationKey) {
-        this.executorService.execute(() -> {
+        this.executeWrite(translationKey.toLowerCase(), TaskPriority.ADMIN, () -> {
             for (String languages : this.getAvailableLanguages()) {
                 this.deleteMessage(translationKey, languages);
             }
@@ -358,19 +488,20 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
 
     @Override
     public void updateMessage(String translationKey, String message, String language) {
-        this.executorService.execute(() -> {
+        this.executeWrite(translationKey.toLowerCase(), TaskPriority.ADMIN, () -> {
             if (!this.isLanguage(language)) {
                 throw new IllegalArgumentException("Language " + language + " was not found!");
             }
-            try (Connection connection = this.getDataSource().getConnection();
+            try (Connection connection = this.databaseProvider.getConnection();
                  PreparedStatement preparedStatement = connection.prepareStatement("UPDATE " + language + " SET translation=? WHERE translationkey=?;")) {
-                preparedStatement.setString(1, this.translateColorCode(message));
+                preparedStatement.setString(1, message);
                 preparedStatement.setString(2, translationKey.toLowerCase());
                 preparedStatement.execute();
             } catch (SQLException throwable) {
                 throwable.printStackTrace();
             }
             this.translationCache.invalidate(translationKey.toLowerCase());
+            this.eventBus.post(new TranslationUpdatedEvent(translationKey.toLowerCase(), language));
         });
     }
 
@@ -382,12 +513,12 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
 
     @Override
     public void addMultipleTranslation(String multipleTranslation, String translationKey) {
-        this.executorService.execute(() -> {
+        this.executeWrite(multipleTranslation.toLowerCase(), TaskPriority.ADMIN, () -> {
             if (this.isMultipleTranslationKey(multipleTranslation, translationKey)) {
                 return;
             }
 
-            try (Connection connection = this.getDataSource().getConnection();
+            try (Connection connection = this.databaseProvider.getConnection();
                  PreparedStatement preparedStatement =
                          connection.prepareStatement("INSERT INTO MultipleTranslation(multipleKey, translationkey) VALUES (?,?)")) {
                 preparedStatement.setString(1, multipleTranslation.toLowerCase());
@@ -396,6 +527,7 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
             } catch (SQLException throwable) {
                 throwable.printStackTrace();
             }
+            this.invalidateMultipleTranslation(multipleTranslation);
         });
     }
 
@@ -408,25 +540,26 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
 
     @Override
     public void deleteMultipleTranslation(String multipleTranslation) {
-        this.executorService.execute(() -> {
+        this.executeWrite(multipleTranslation.toLowerCase(), TaskPriority.ADMIN, () -> {
             if (!this.isMultipleTranslation(multipleTranslation)) {
                 throw new IllegalArgumentException("Multiple Translation " + multipleTranslation + " was not found");
             }
 
-            try (Connection connection = this.getDataSource().getConnection();
+            try (Connection connection = this.databaseProvider.getConnection();
                  PreparedStatement preparedStatement = connection.prepareStatement("DELETE FROM MultipleTranslation WHERE multipleKey=?;")) {
                 preparedStatement.setString(1, multipleTranslation);
                 preparedStatement.execute();
             } catch (SQLException throwable) {
                 throwable.printStackTrace();
             }
+            this.invalidateMultipleTranslation(multipleTranslation);
         });
     }
 
     @Override
     public void removeSingleTranslationFromMultipleTranslation(final String multipleTranslation, final String translationKey) {
-        this.executorService.execute(() -> {
-            try (Connection connection = this.getDataSource().getConnection();
+        this.executeWrite(multipleTranslation.toLowerCase(), TaskPriority.ADMIN, () -> {
+            try (Connection connection = this.databaseProvider.getConnection();
                  PreparedStatement preparedStatement = connection.prepareStatement("DELETE FROM MultipleTranslation WHERE multipleKey=? AND translationkey=?")) {
                 preparedStatement.setString(1, multipleTranslation.toLowerCase());
                 preparedStatement.setString(2, translationKey.toLowerCase());
@@ -434,12 +567,33 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
             } catch (SQLException throwable) {
                 throwable.printStackTrace();
             }
+            this.invalidateMultipleTranslation(multipleTranslation);
         });
     }
 
+    private void invalidateMultipleTranslation(String multipleTranslation) {
+        this.multipleTranslationCache.invalidate(multipleTranslation.toLowerCase());
+        //The rendered lists are keyed by group, language and prefix, so every list of the group has to go
+        this.multipleMessagesCache.invalidateAll();
+    }
+
+    private List<String> loadMultipleTranslationKeys(String multipleTranslation) throws SQLException {
+        List<String> translationKeys = new ArrayList<>();
+        try (Connection connection = this.databaseProvider.getReadConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement("SELECT translationkey FROM MultipleTranslation WHERE multipleKey=?;")) {
+            preparedStatement.setString(1, multipleTranslation.toLowerCase());
+            ResultSet resultSet = preparedStatement.executeQuery();
+            while (resultSet.next()) {
+                translationKeys.add(resultSet.getString("translationkey").toLowerCase());
+            }
+            resultSet.close();
+        }
+        return Collections.unmodifiableList(translationKeys);
+    }
+
     @Override
     public boolean isMultipleTranslation(final String multipleTranslation) {
-        try (Connection connection = this.getDataSource().getConnection();
+        try (Connection connection = this.databaseProvider.getReadConnection();
              PreparedStatement preparedStatement = connection.prepareStatement("SELECT * FROM MultipleTranslation WHERE multipleKey=?;")) {
             preparedStatement.setString(1, multipleTranslation.toLowerCase());
             ResultSet resultSet = preparedStatement.executeQuery();
@@ -452,7 +606,7 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
 
     @Override
     public boolean isMultipleTranslationKey(String multipleTranslation, String translationKey) {
-        try (Connection connection = this.getDataSource().getConnection();
+        try (Connection connection = this.databaseProvider.getReadConnection();
              PreparedStatement preparedStatement = connection.prepareStatement("SELECT * FROM MultipleTranslation WHERE multipleKey=? AND translationkey=?;")) {
             preparedStatement.setString(1, multipleTranslation.toLowerCase());
             preparedStatement.setString(2, translationKey.toLowerCase());
@@ -466,23 +620,25 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
 
     @Override
     public void deleteMessage(String translationKey, String language) {
-        this.executorService.execute(() -> {
+        this.executeWrite(translationKey.toLowerCase(), TaskPriority.ADMIN, () -> {
             if (!this.isLanguage(language)) {
                 throw new IllegalArgumentException("Language " + language + " was not found!");
             }
-            try (Connection connection = this.getDataSource().getConnection();
+            try (Connection connection = this.databaseProvider.getConnection();
                  PreparedStatement preparedStatement = connection.prepareStatement("DELETE FROM " + language + " WHERE translationkey=?;")) {
                 preparedStatement.setString(1, translationKey.toLowerCase());
                 preparedStatement.execute();
             } catch (SQLException throwable) {
                 throwable.printStackTrace();
             }
+            this.translationCache.invalidate(translationKey.toLowerCase());
+            this.eventBus.post(new TranslationUpdatedEvent(translationKey.toLowerCase(), language));
         });
     }
 
     @Override
     public boolean isKey(String translationKey, String language) {
-        try (Connection connection = this.getDataSource().getConnection();
+        try (Connection connection = this.databaseProvider.getReadConnection();
              PreparedStatement preparedStatement = connection.prepareStatement("SELECT * FROM " + language + " WHERE translationkey=?;")) {
             preparedStatement.setString(1, translationKey.toLowerCase());
             ResultSet resultSet = preparedStatement.executeQuery();
@@ -500,7 +656,7 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
     @NotNull
     @Override
     public String getMessage(String translationKey, UUID playerUUID) {
-        return this.getMessage(translationKey, this.playerExecutor.getPlayerLanguage(playerUUID));
+        return this.getMessage(translationKey, this.getPlayerExecutor().getPlayerLanguage(playerUUID));
     }
 
     @Override
@@ -522,7 +678,7 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
     @NotNull
     @Override
     public List<String> getMultipleMessages(String translationKey, UUID playerUUID) {
-        return this.getMultipleMessages(translationKey, this.playerExecutor.getPlayerLanguage(playerUUID));
+        return this.getMultipleMessages(translationKey, this.getPlayerExecutor().getPlayerLanguage(playerUUID));
     }
 
     @Override
@@ -543,31 +699,100 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
 
     @Override
     public @NotNull List<String> getMultipleMessages(String multipletranslationKey, String language, String prefixKey) {
-        List<String> resolvedMessages = new ArrayList<>();
-        List<String> translationKeys = new ArrayList<>();
+        String cacheKey = multipletranslationKey.toLowerCase() + '\0' + language.toLowerCase() + '\0' + (prefixKey == null ? "" : prefixKey.toLowerCase());
+        List<String> resolvedMessages = this.multipleMessagesCache.getIfPresent(cacheKey);
+        if (resolvedMessages == null) {
+            resolvedMessages = this.resolveMultipleMessages(multipletranslationKey, language, prefixKey);
+            //Lists resolved from stale or missing translations are not kept beyond the outage
+            if (this.getCircuitBreaker().getState() == CircuitBreaker.State.CLOSED) {
+                this.multipleMessagesCache.put(cacheKey, resolvedMessages);
+            }
+        }
+        return new ArrayList<>(resolvedMessages);
+    }
 
+    private List<String> resolveMultipleMessages(String multipletranslationKey, String language, String prefixKey) {
         String prefix = "";
         if (prefixKey != null && !prefixKey.isEmpty()) {
             prefix = this.getMessage(prefixKey, language);
         }
-
-        try (Connection connection = this.getDataSource().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement("SELECT translationkey FROM MultipleTranslation WHERE multipleKey=?;")) {
-            preparedStatement.setString(1, multipletranslationKey.toLowerCase());
-            ResultSet resultSet = preparedStatement.executeQuery();
-            while (resultSet.next()) {
-                translationKeys.add(resultSet.getString("translationkey").toLowerCase());
-            }
-            resultSet.close();
-        } catch (SQLException throwable) {
-            throwable.printStackTrace();
+        List<String> translationKeys;
+        try {
+            translationKeys = this.multipleTranslationCache.get(multipletranslationKey.toLowerCase());
+        } catch (ExecutionException exception) {
+            this.printUnavailable(exception.getCause());
+            return Collections.emptyList();
         }
+        this.preloadTranslationEntries(translationKeys, language);
 
+        List<String> resolvedMessages = new ArrayList<>(translationKeys.size());
         for (String translationKey : translationKeys) {
             resolvedMessages.add(prefix + this.getMessage(translationKey, language));
         }
+        return Collections.unmodifiableList(resolvedMessages);
+    }
+
+    /**
+     * Loads the translations of the given keys, which are not cached yet, into the cache with one query per language of the fallback chain.
+     * Keys missing in every language of the chain are left to {@link DefaultLanguageAPI#getTranslationEntry(String, String, boolean)}
+     *
+     * @param translationKeys the translationkeys to load
+     * @param language        the language of the translations
+     */
+    void preloadTranslationEntries(List<String> translationKeys, String language) {
+        LanguageIndex languageIndex = this.getLanguageIndex();
+        int languageId = languageIndex.getId(language);
+        if (languageId == -1) {
+            return;
+        }
+        List<String> missingKeys = new ArrayList<>();
+        for (String translationKey : translationKeys) {
+            Map<String, TranslationEntry> entries = this.translationCache.getIfPresent(translationKey);
+            if (entries == null || !entries.containsKey(language.toLowerCase())) {
+                missingKeys.add(translationKey);
+            }
+        }
+        int[] fallbackChain = languageIndex.getFallbackChain(languageId);
+        for (int i = 0; i < fallbackChain.length && !missingKeys.isEmpty(); i++) {
+            String chainLanguage = languageIndex.getLanguage(fallbackChain[i]);
+            Map<String, TranslationEntry> loadedEntries = this.loadTranslationEntries(missingKeys, chainLanguage);
+            if (loadedEntries == null) {
+                return;
+            }
+            for (Map.Entry<String, TranslationEntry> loadedEntry : loadedEntries.entrySet()) {
+                Map<String, TranslationEntry> entries = this.translationCache.asMap().computeIfAbsent(loadedEntry.getKey(), key -> new ConcurrentHashMap<>());
+                //Every language before the one which had the translation resolves to the same entry
+                for (int j = 0; j <= i; j++) {
+                    entries.putIfAbsent(languageIndex.getLanguage(fallbackChain[j]).toLowerCase(), loadedEntry.getValue());
+                }
+            }
+            missingKeys.removeAll(loadedEntries.keySet());
+        }
+    }
 
-        return resolvedMessages;
+    @Nullable
+    private Map<String, TranslationEntry> loadTranslationEntries(List<String> translationKeys, String language) {
+        String placeholders = String.join(",", Collections.nCopies(translationKeys.size(), "?"));
+        Map<String, String> translations = new HashMap<>();
+        try (Connection connection = this.databaseProvider.getReadConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement("SELECT translationkey, translation FROM " + language + " WHERE translationkey IN (" + placeholders + ");")) {
+            for (int i = 0; i < translationKeys.size(); i++) {
+                preparedStatement.setString(i + 1, translationKeys.get(i));
+            }
+            ResultSet resultSet = preparedStatement.executeQuery();
+            while (resultSet.next()) {
+                translations.put(resultSet.getString("translationkey").toLowerCase(), resultSet.getString("translation"));
+            }
+        } catch (SQLException throwable) {
+            this.printUnavailable(throwable);
+            return null;
+        }
+        Map<String, TranslationEntry> entries = new HashMap<>();
+        translations.forEach((translationKey, translation) -> entries.put(translationKey, this.isMiniMessage()
+                ? TranslationEntry.ofMiniMessage(translation, this.getParameterAsList(translationKey), LanguageFormats.of(language))
+                : TranslationEntry.of(translation, LanguageFormats.of(language))
+        ));
+        return entries;
     }
 
     @Override
@@ -578,41 +803,369 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
     @NotNull
     @Override
     public String getMessage(String translationKey, String language) {
-        Map<String, String> cacheMap = this.translationCache.getIfPresent(translationKey.toLowerCase());
-        if (cacheMap != null && cacheMap.containsKey(language.toLowerCase())) {
-            return cacheMap.get(language.toLowerCase());
+        return this.getTranslationEntry(translationKey, language, false).getMessage(this.languageConfig.getLanguageSetting().isDownsampleHexColors());
+    }
+
+    @Override
+    public @NotNull CompletableFuture<String> getMessageAsync(String translationKey, String language) {
+        return CompletableFuture.supplyAsync(() -> this.getMessage(translationKey, language));
+    }
+
+    /**
+     * Gets the compiled {@link MessageTemplate} of a translation, it is compiled once per translationkey and language
+     *
+     * @param translationKey the translationkey to get the template for
+     * @param language       the language of the translation
+     * @return returns the compiled template
+     * @throws IllegalArgumentException if the language was not found
+     * @since 2.0
+     */
+    @NotNull
+    public MessageTemplate getMessageTemplate(String translationKey, String language) {
+        return this.getMessageTemplate(translationKey, language, false);
+    }
+
+    /**
+     * Gets the compiled {@link MessageTemplate} of a translation, it is compiled once per translationkey and language
+     *
+     * @param translationKey the translationkey to get the template for
+     * @param language       the language of the translation
+     * @param orElseDefault  whether to use the default language if the given one was not found
+     * @return returns the compiled template
+     * @throws IllegalArgumentException if the language was not found and orElseDefault is {@code false}
+     * @since 2.0
+     */
+    @NotNull
+    public MessageTemplate getMessageTemplate(String translationKey, String language, boolean orElseDefault) {
+        TranslationEntry entry = this.getTranslationEntry(translationKey, language, orElseDefault);
+        return entry.getTemplate(this.languageConfig.getLanguageSetting().isDownsampleHexColors(), () -> this.getParameterAsList(translationKey));
+    }
+
+    /**
+     * Gets the parsed {@link ComponentTemplate} of a translation in the MiniMessage format, it is parsed once per translationkey and language
+     *
+     * @param translationKey the translationkey to get the template for
+     * @param language       the language of the translation
+     * @return returns the parsed template
+     * @throws IllegalArgumentException if the language was not found
+     * @since 2.0
+     */
+    @NotNull
+    public ComponentTemplate getComponentTemplate(String translationKey, String language) {
+        TranslationEntry entry = this.getTranslationEntry(translationKey, language, false);
+        ComponentTemplate componentTemplate = entry.getComponentTemplate();
+        if (componentTemplate == null) {
+            return ComponentTemplate.parse(entry.getRaw(), entry.isMissing() ? Collections.emptyList() : this.getParameterAsList(translationKey), LanguageFormats.of(language));
         }
+        return componentTemplate;
+    }
 
-        if (!this.isLanguage(language)) {
-            throw new IllegalArgumentException("The language " + language + " was not found");
+    /**
+     * Gets a {@link Translation} as {@link Component}, translations which are not in the MiniMessage format are deserialized from the section sign format
+     *
+     * @param translation the {@link Translation} to get the component of
+     * @param language    the language of the translation
+     * @return returns the component with the prefix and the arguments of the {@link Translation}
+     * @since 2.0
+     */
+    @NotNull
+    public Component getComponent(Translation translation, String language) {
+        if (this.isMiniMessage()) {
+            if (translation instanceof ParameterizedTranslation) {
+                return ((ParameterizedTranslation) translation).getComponent(language);
+            }
+            if (translation instanceof DefaultTranslation) {
+                return ((DefaultTranslation) translation).renderComponent(language, new Object[0]);
+            }
         }
+        return ComponentTemplate.deserializeLegacy(translation.getMessage(language));
+    }
 
-        try (Connection connection = this.getDataSource().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement("SELECT translation FROM " + language + " WHERE translationkey=?;")) {
-            preparedStatement.setString(1, translationKey);
+    @NotNull
+    public CompletableFuture<Component> getComponentAsync(Translation translation, String language) {
+        return CompletableFuture.supplyAsync(() -> this.getComponent(translation, language));
+    }
 
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                if (resultSet.next()) {
-                    String translation = this.translateColorCode(resultSet.getString("translation"));
-
-                    Map<String, String> map = new HashMap<>(1);
-                    map.put(language.toLowerCase(), translation);
-                    this.translationCache.put(translationKey, map);
-                    return translation;
-                } else {
-                    this.languageConfig.debug("Translationkey '" + translationKey + "' not found in language '" + language + "'");
-                    this.languageConfig.debug("As result you will get the translationKey as translation");
+    /**
+     * Loads every translation of the language with a single query into the cache,
+     * so the first lookups after the start do not have to query the database
+     *
+     * @param language the language to load the translations of
+     * @since 2.0
+     */
+    public void preloadLanguage(String language) {
+        if (!this.isLanguage(language)) {
+            return;
+        }
+        LanguageFormats languageFormats = LanguageFormats.of(language);
+        try (Connection connection = this.databaseProvider.getReadConnection()) {
+            try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT translationkey, translation FROM " + language + ";");
+                 ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    String translationKey = resultSet.getString("translationkey").toLowerCase();
+                    String translation = resultSet.getString("translation");
+                    TranslationEntry entry = this.isMiniMessage()
+                            ? TranslationEntry.ofMiniMessage(translation, this.getParameterAsList(translationKey), languageFormats)
+                            : TranslationEntry.of(translation, languageFormats);
+                    this.translationCache.asMap()
+                            .computeIfAbsent(translationKey, key -> new ConcurrentHashMap<>())
+                            .putIfAbsent(language.toLowerCase(), entry);
                 }
             }
         } catch (SQLException throwable) {
             throwable.printStackTrace();
         }
-        return translationKey;
     }
 
-    @Override
-    public @NotNull CompletableFuture<String> getMessageAsync(String translationKey, String language) {
-        return CompletableFuture.supplyAsync(() -> this.getMessage(translationKey, language));
+    /**
+     * Invalidates all cached translations, they are loaded from the database again on their next use
+     *
+     * @since 2.0
+     */
+    public void invalidateTranslationCache() {
+        this.translationCache.invalidateAll();
+    }
+
+    void invalidateTranslation(String translationKey) {
+        this.translationCache.invalidate(translationKey.toLowerCase());
+    }
+
+    /**
+     * Collects the statistics of the caches, the database and the async executor.
+     * The statements per second are calculated since the last call of this method
+     *
+     * @return returns the current statistics
+     * @since 2.0
+     */
+    public LanguageStatistics getStatistics() {
+        return LanguageStatistics.collect(
+                this.translationCacheMetrics,
+                this.getPlayerLanguageCacheMetrics(),
+                this.databaseProvider.getQueryMetrics(),
+                this.executorMetrics,
+                this.databaseProvider.getPoolMetrics(),
+                this.getCircuitBreaker(),
+                this.writeQueue,
+                this.taskScheduler
+        );
+    }
+
+    /**
+     * Registers the MBeans and starts writing the Prometheus file as configured in the {@link de.tentact.languageapi.configuration.MetricsSetting}.
+     * Has to be called after the database was connected and the api was set as instance
+     *
+     * @since 2.0
+     */
+    public synchronized void startMetrics() {
+        if (this.metricsExporter != null) {
+            return;
+        }
+        this.metricsExporter = new MetricsExporter(
+                this.languageConfig.getMetricsSetting(),
+                this.translationCacheMetrics,
+                this.getPlayerLanguageCacheMetrics(),
+                this.databaseProvider.getQueryMetrics(),
+                this.executorMetrics,
+                this.databaseProvider.getPoolMetrics(),
+                this.getCircuitBreaker(),
+                this.writeQueue,
+                this.taskScheduler
+        );
+        this.metricsExporter.start();
+    }
+
+    /**
+     * Unregisters the MBeans and stops writing the Prometheus file
+     *
+     * @since 2.0
+     */
+    public synchronized void stopMetrics() {
+        if (this.metricsExporter == null) {
+            return;
+        }
+        this.metricsExporter.stop();
+        this.metricsExporter = null;
+    }
+
+    /**
+     * Stops the background jobs, called once the plugin is disabled after the writes were flushed
+     *
+     * @since 2.0
+     */
+    public void shutdown() {
+        if (this.getPlayerExecutor() instanceof DefaultPlayerExecutor) {
+            ((DefaultPlayerExecutor) this.getPlayerExecutor()).getPlayerPruner().shutdown();
+        }
+        this.taskScheduler.shutdown();
+        this.executorService.shutdown();
+    }
+
+    /**
+     * @return returns the metrics of the executor running the async tasks
+     * @since 2.0
+     */
+    public ExecutorMetrics getExecutorMetrics() {
+        return this.executorMetrics;
+    }
+
+    @Nullable
+    private CacheMetrics getPlayerLanguageCacheMetrics() {
+        PlayerExecutor playerExecutor = this.getPlayerExecutor();
+        return playerExecutor instanceof DefaultPlayerExecutor ? ((DefaultPlayerExecutor) playerExecutor).getLanguageCacheMetrics() : null;
+    }
+
+    /**
+     * @return whether translations are stored in the MiniMessage format
+     * @since 2.0
+     */
+    public boolean isMiniMessage() {
+        return this.languageConfig.getLanguageSetting().isMiniMessage();
+    }
+
+    /**
+     * Gets the cached entry of a translation, resolves it along the fallback chain of the language if it is not cached.
+     * The resolved entry is cached for the requested language, so a language missing the translation costs a single map hit afterwards
+     *
+     * @param translationKey the translationkey to get the entry for
+     * @param language       the language of the translation
+     * @param orElseDefault  whether to use the default language if the given one was not found
+     * @return returns the entry, a missing entry with the translationkey as translation if no language of the chain has the translationkey.
+     * The missing entry is not cached, so unknown translationkeys do not fill the cache
+     * @throws IllegalArgumentException if the language was not found and orElseDefault is {@code false}
+     */
+    @NotNull
+    private TranslationEntry getTranslationEntry(String translationKey, String language, boolean orElseDefault) {
+        Map<String, TranslationEntry> entries = this.translationCache.getIfPresent(translationKey.toLowerCase());
+        TranslationEntry entry = entries == null ? null : entries.get(language.toLowerCase());
+        if (entry != null) {
+            this.translationCacheMetrics.recordHit();
+            return entry;
+        }
+        this.translationCacheMetrics.recordMiss();
+
+        TranslationEntry staleEntry = this.getStaleTranslationEntry(translationKey, language, orElseDefault);
+        if (staleEntry != null) {
+            return staleEntry;
+        }
+
+        LanguageIndex languageIndex = this.getLanguageIndex();
+        int languageId = languageIndex.getId(language);
+        if (languageId == -1) {
+            if (!orElseDefault || languageIndex.getDefaultLanguageId() == -1) {
+                throw new IllegalArgumentException("The language " + language + " was not found");
+            }
+            languageId = languageIndex.getDefaultLanguageId();
+        }
+
+        int[] fallbackChain = languageIndex.getFallbackChain(languageId);
+        int resolvedUntil = 0;
+        for (; resolvedUntil < fallbackChain.length && entry == null; resolvedUntil++) {
+            String chainLanguage = languageIndex.getLanguage(fallbackChain[resolvedUntil]);
+            entry = entries == null ? null : entries.get(chainLanguage.toLowerCase());
+            if (entry == null) {
+                try {
+                    entry = this.loadTranslationEntry(translationKey, chainLanguage);
+                } catch (SQLException throwable) {
+                    this.printUnavailable(throwable);
+                    return this.getUnavailableTranslationEntry(translationKey, language);
+                }
+                if (entry != null) {
+                    entries = this.translationCache.asMap().computeIfAbsent(translationKey.toLowerCase(), key -> new ConcurrentHashMap<>());
+                    entries.put(chainLanguage.toLowerCase(), entry);
+                }
+            }
+        }
+        if (entry == null) {
+            this.languageConfig.debug("Translationkey '" + translationKey + "' not found in language '" + language + "' or its fallback languages");
+            this.languageConfig.debug("As result you will get the translationKey as translation");
+            return TranslationEntry.missing(translationKey);
+        }
+        //Every language before the one which had the translation resolves to the same entry
+        for (int i = 0; i < resolvedUntil; i++) {
+            entries.putIfAbsent(languageIndex.getLanguage(fallbackChain[i]).toLowerCase(), entry);
+        }
+        entries.putIfAbsent(language.toLowerCase(), entry);
+        return entry;
+    }
+
+    /**
+     * Serves the expired entry of a translation while the database is unavailable,
+     * or on the thread of the server and loads it again async, if stale values should be served
+     *
+     * @return returns the expired entry, null if the translation has to be loaded on the calling thread
+     */
+    @Nullable
+    private TranslationEntry getStaleTranslationEntry(String translationKey, String language, boolean orElseDefault) {
+        boolean unavailable = !this.getCircuitBreaker().isAvailable();
+        if (!unavailable && !this.getBlockingCallDetector().shouldServeStale()) {
+            return null;
+        }
+        Map<String, TranslationEntry> staleEntries = this.staleTranslationCache.getIfPresent(translationKey.toLowerCase());
+        TranslationEntry staleEntry = staleEntries == null ? null : staleEntries.get(language.toLowerCase());
+        if (staleEntry == null || unavailable) {
+            return staleEntry;
+        }
+        this.getBlockingCallDetector().recordStaleServed();
+        String refreshKey = translationKey.toLowerCase() + '\0' + language.toLowerCase();
+        if (this.refreshingTranslations.add(refreshKey)) {
+            this.taskScheduler.execute(TaskPriority.INTERACTIVE, () -> {
+                try {
+                    this.getTranslationEntry(translationKey, language, orElseDefault);
+                } finally {
+                    this.refreshingTranslations.remove(refreshKey);
+                }
+            });
+        }
+        return staleEntry;
+    }
+
+    /**
+     * Gets the entry of a translation which could not be loaded, it is not cached so it is loaded again once the database is available
+     *
+     * @return returns the expired entry in the language or the default language, a missing entry if neither was cached before
+     */
+    @NotNull
+    private TranslationEntry getUnavailableTranslationEntry(String translationKey, String language) {
+        Map<String, TranslationEntry> staleEntries = this.staleTranslationCache.getIfPresent(translationKey.toLowerCase());
+        if (staleEntries != null) {
+            TranslationEntry staleEntry = staleEntries.get(language.toLowerCase());
+            if (staleEntry == null) {
+                staleEntry = staleEntries.get(this.getDefaultLanguage().toLowerCase());
+            }
+            if (staleEntry != null) {
+                return staleEntry;
+            }
+        }
+        Map<String, TranslationEntry> entries = this.translationCache.getIfPresent(translationKey.toLowerCase());
+        TranslationEntry defaultEntry = entries == null ? null : entries.get(this.getDefaultLanguage().toLowerCase());
+        return defaultEntry == null ? TranslationEntry.missing(translationKey) : defaultEntry;
+    }
+
+    /**
+     * Prints the exception of a failed database call, a call rejected by the open circuit is expected and not printed
+     */
+    private void printUnavailable(Throwable throwable) {
+        if (!(throwable instanceof CircuitOpenException)) {
+            throwable.printStackTrace();
+        }
+    }
+
+    @Nullable
+    private TranslationEntry loadTranslationEntry(String translationKey, String language) throws SQLException {
+        try (Connection connection = this.databaseProvider.getReadConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement("SELECT translation FROM " + language + " WHERE translationkey=?;")) {
+            preparedStatement.setString(1, translationKey.toLowerCase());
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (resultSet.next()) {
+                    String translation = resultSet.getString("translation");
+                    return this.isMiniMessage()
+                            ? TranslationEntry.ofMiniMessage(translation, this.getParameterAsList(translationKey), LanguageFormats.of(language))
+                            : TranslationEntry.of(translation, LanguageFormats.of(language));
+                }
+            }
+        }
+        return null;
     }
 
     @Override
@@ -620,7 +1173,7 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
         if (language == null) {
             return false;
         }
-        return this.containsIgnoreCase(this.getAvailableLanguages(), language);
+        return this.getLanguageIndex().getId(language) != -1;
     }
 
     @Override
@@ -631,16 +1184,57 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
     @NotNull
     @Override
     public List<String> getAvailableLanguages() {
+        return this.getLanguageIndex().getLanguages();
+    }
+
+    /**
+     * Gets the index of the available languages. Only the first call loads it, once it is older than the cached time
+     * it is loaded again in the background while the current index is returned
+     *
+     * @return returns the index with the fallback chains of the languages
+     * @since 2.0
+     */
+    @NotNull
+    public LanguageIndex getLanguageIndex() {
+        LanguageIndex languageIndex = this.languageIndex;
+        if (languageIndex == null) {
+            return this.reloadLanguageIndex();
+        }
+        if (System.currentTimeMillis() - languageIndex.getCreationTime() > TimeUnit.MINUTES.toMillis(this.languageConfig.getLanguageSetting().getCachedTime())
+                && this.getCircuitBreaker().isAvailable() && this.reloadingLanguageIndex.compareAndSet(false, true)) {
+            this.taskScheduler.execute(TaskPriority.MAINTENANCE, () -> {
+                try {
+                    this.reloadLanguageIndex();
+                } finally {
+                    this.reloadingLanguageIndex.set(false);
+                }
+            });
+        }
+        return languageIndex;
+    }
+
+    private LanguageIndex reloadLanguageIndex() {
         List<String> languages = new ArrayList<>();
-        try (Connection connection = this.getDataSource().getConnection();
+        try (Connection connection = this.databaseProvider.getReadConnection();
              ResultSet resultSet = connection.createStatement().executeQuery("SELECT language FROM languages")) {
             while (resultSet.next()) {
                 languages.add(resultSet.getString("language"));
             }
         } catch (SQLException throwable) {
-            throwable.printStackTrace();
+            this.printUnavailable(throwable);
+            //Keep the known languages, an empty index would fail every lookup until the database is back
+            if (this.languageIndex != null) {
+                return this.languageIndex;
+            }
         }
-        return languages;
+        LanguageIndex languageIndex = LanguageIndex.create(languages, this.getDefaultLanguage());
+        LanguageIndex previousIndex = this.languageIndex;
+        this.languageIndex = languageIndex;
+        if (previousIndex != null && !previousIndex.getLanguages().equals(languageIndex.getLanguages())) {
+            //The fallback chains changed, so the resolved translations are not valid anymore
+            this.translationCache.invalidateAll();
+        }
+        return languageIndex;
     }
 
     @Override
@@ -652,7 +1246,7 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
     public @NotNull List<String> getAllTranslationKeys(String language) {
         List<String> keys = new ArrayList<>();
         if (this.isLanguage(language)) {
-            try (Connection connection = this.getDataSource().getConnection();
+            try (Connection connection = this.databaseProvider.getReadConnection();
                  ResultSet resultSet = connection.createStatement().executeQuery("SELECT translationkey FROM " + language)) {
                 while (resultSet.next()) {
                     keys.add(resultSet.getString("translationkey"));
@@ -674,10 +1268,17 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
     public @NotNull List<String> getAllTranslations(String language) {
         List<String> messages = new ArrayList<>();
         if (this.isLanguage(language)) {
-            try (Connection connection = this.getDataSource().getConnection();
-                 ResultSet resultSet = connection.createStatement().executeQuery("SELECT translation FROM " + language)) {
+            LanguageFormats languageFormats = LanguageFormats.of(language);
+            boolean downsampleHexColors = this.languageConfig.getLanguageSetting().isDownsampleHexColors();
+            try (Connection connection = this.databaseProvider.getReadConnection();
+                 ResultSet resultSet = connection.createStatement().executeQuery("SELECT translationkey, translation FROM " + language)) {
                 while (resultSet.next()) {
-                    messages.add(resultSet.getString("translation"));
+                    //Stored raw, formatted the same way as by getMessage
+                    String translation = resultSet.getString("translation");
+                    TranslationEntry entry = this.isMiniMessage()
+                            ? TranslationEntry.ofMiniMessage(translation, this.getParameterAsList(resultSet.getString("translationkey")), languageFormats)
+                            : TranslationEntry.of(translation, languageFormats);
+                    messages.add(entry.getMessage(downsampleHexColors));
                 }
             } catch (SQLException throwable) {
                 throwable.printStackTrace();
@@ -734,7 +1335,8 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
 
     @Override
     public @NotNull Translation getTranslationWithPrefix(Translation prefixTranslation, String translationKey) {
-        return this.getTranslation(translationKey).setPrefixTranslation(prefixTranslation);
+        //A new instance, so the cached Translation of the key does not get its prefix changed for everyone
+        return new DefaultTranslation(translationKey.toLowerCase(), prefixTranslation);
     }
 
     @Override
@@ -758,40 +1360,146 @@ public abstract class DefaultLanguageAPI extends LanguageAPI {
         return this.fileHandler;
     }
 
+    @Override
+    public @NotNull PlayerFileHandler getPlayerFileHandler() {
+        return this.playerFileHandler;
+    }
+
+    @Override
+    public @NotNull LanguageEventBus getEventBus() {
+        return this.eventBus;
+    }
+
     @Override
     public void executeAsync(Runnable command) {
-        this.executorService.execute(command);
+        this.taskScheduler.execute(TaskPriority.INTERACTIVE, command);
     }
 
-    private HikariDataSource getDataSource() {
-        return this.databaseProvider.getDataSource();
+    @Override
+    public void executeAsync(@NotNull TaskPriority priority, @NotNull Runnable command) {
+        this.taskScheduler.execute(priority, command);
     }
 
-    private void debug(String message) {
-        this.languageConfig.debug(message);
+    /**
+     * Executes a task of a player writing to the database async. Tasks of the same key are executed in the order they were submitted.
+     * While the database is unavailable the task is queued and executed in order once it is available again,
+     * tasks exceeding the write queue size are dropped
+     *
+     * @param key     the key the task is ordered by (ex. the uuid of the player)
+     * @param command the task writing to the database
+     * @since 2.0
+     */
+    public void executeWrite(Object key, Runnable command) {
+        this.executeWrite(key, TaskPriority.INTERACTIVE, command);
     }
 
-    /*
-    This is from the Bungeecord-API
-    https://github.com/SpigotMC/BungeeCord/blob/master/chat/src/main/java/net/md_5/bungee/api/ChatColor.java
+    /**
+     * Executes a task writing to the database async with the given priority, see {@link DefaultLanguageAPI#executeWrite(Object, Runnable)}
+     *
+     * @param key      the key the task is ordered by (ex. the translationkey), only tasks of the same priority are ordered
+     * @param priority the class of the task
+     * @param command  the task writing to the database
+     * @since 2.0
      */
-    private String translateColorCode(String textToTranslate) {
-        char[] b = textToTranslate.toCharArray();
-        for (int i = 0; i < b.length - 1; i++) {
-            if (b[i] == '&' && "0123456789AaBbCcDdEeFfKkLlMmNnOoRr".indexOf(b[i + 1]) > -1) {
-                b[i] = '§';
-                b[i + 1] = Character.toLowerCase(b[i + 1]);
-            }
-        }
-        return new String(b);
+    public void executeWrite(Object key, TaskPriority priority, Runnable command) {
+        this.writeQueue.execute(command, this.writeSequencers.get(priority).executor(key, this.taskScheduler.executor(priority)));
+    }
+
+    /**
+     * Executes a task writing the rows of multiple keys async with the given priority. It runs after the previous tasks of every key
+     * and the following tasks of the keys wait for it, see {@link DefaultLanguageAPI#executeWrite(Object, Runnable)}
+     *
+     * @param keys     the keys the task is ordered by (ex. the translationkeys of a batch)
+     * @param priority the class of the task
+     * @param command  the task writing to the database
+     * @since 2.0
+     */
+    public void executeWriteAll(Collection<?> keys, TaskPriority priority, Runnable command) {
+        this.writeQueue.execute(command, this.writeSequencers.get(priority).executor(keys, this.taskScheduler.executor(priority)));
     }
 
-    private boolean containsIgnoreCase(List<String> list, String comparingString) {
-        for (String s : list) {
-            if (s.equalsIgnoreCase(comparingString)) {
-                return true;
-            }
+    @Override
+    public @NotNull CompletableFuture<Void> flush() {
+        //Writes queued while the database was unavailable reach the stripes once they were drained
+        return this.writeQueue.awaitDrained().thenCompose(ignored -> CompletableFuture.allOf(this.writeSequencers.values().stream()
+                .map(StripedExecutor::flush)
+                .toArray(CompletableFuture[]::new)));
+    }
+
+    /**
+     * Waits for the writes submitted before, used on shutdown before the connection is closed
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of the timeout
+     * @since 2.0
+     */
+    public void flush(long timeout, TimeUnit unit) {
+        try {
+            this.flush().get(timeout, unit);
+        } catch (TimeoutException exception) {
+            this.languageConfig.getLogger().warning("Writes were not completed within " + timeout + " " + unit.name().toLowerCase() + ", closing anyway");
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException exception) {
+            exception.printStackTrace();
         }
-        return false;
     }
+
+    /**
+     * @return returns the scheduler running the async tasks by their priority
+     * @since 2.0
+     */
+    @NotNull
+    public TaskScheduler getTaskScheduler() {
+        return this.taskScheduler;
+    }
+
+    /**
+     * @return returns the queue of the writes waiting for the database to be available again
+     * @since 2.0
+     */
+    @NotNull
+    public WriteQueue getWriteQueue() {
+        return this.writeQueue;
+    }
+
+    DatabaseProvider getDatabaseProvider() {
+        return this.databaseProvider;
+    }
+
+    Logger getLogger() {
+        return this.languageConfig.getLogger();
+    }
+
+    /**
+     * @return returns the detector of database calls on the thread of the server
+     * @since 2.0
+     */
+    @NotNull
+    public BlockingCallDetector getBlockingCallDetector() {
+        return this.databaseProvider.getBlockingCallDetector();
+    }
+
+    /**
+     * @return returns the circuit breaker of the database
+     * @since 2.0
+     */
+    @NotNull
+    public CircuitBreaker getCircuitBreaker() {
+        return this.databaseProvider.getCircuitBreaker();
+    }
+
+    /**
+     * @return returns the registry holding the parameters of every translationkey
+     * @since 2.0
+     */
+    @NotNull
+    public ParameterRegistry getParameterRegistry() {
+        return this.parameterRegistry;
+    }
+
+    private void debug(String message) {
+        this.languageConfig.debug(message);
+    }
+
 }
@@ -0,0 +1,529 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.api;
+
+import de.tentact.languageapi.TaskPriority;
+import de.tentact.languageapi.file.PlayerFileHandler;
+import de.tentact.languageapi.file.PlayerTransferResult;
+import de.tentact.languageapi.player.DefaultPlayerExecutor;
+import de.tentact.languageapi.player.PlayerTable;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams the languages of players between files and the players table. Every batch is an admin task and written in one transaction,
+ * an import saves its progress to a checkpoint file next to the imported file after every batch
+ *
+ * @since 2.0
+ */
+public class DefaultPlayerFileHandler implements PlayerFileHandler {
+
+    private static final int BINARY_MAGIC = 0x4C415049;
+    private static final int BINARY_VERSION = 1;
+    private static final int BATCH_SIZE = 1000;
+    private static final long PROGRESS_INTERVAL = 100_000;
+
+    private final DefaultLanguageAPI languageAPI;
+
+    public DefaultPlayerFileHandler(DefaultLanguageAPI languageAPI) {
+        this.languageAPI = languageAPI;
+    }
+
+    @Override
+    public @NotNull CompletableFuture<PlayerTransferResult> importPlayers(@NotNull File file, boolean doOverwrite) {
+        CompletableFuture<PlayerTransferResult> future = new CompletableFuture<>();
+        this.languageAPI.executeAsync(TaskPriority.ADMIN, () -> {
+            try {
+                DefaultPlayerExecutor playerExecutor = this.getPlayerExecutor();
+                if (!playerExecutor.getPlayerTable().isMigrated()) {
+                    throw new IllegalStateException("The players are not migrated to the players table yet");
+                }
+                //The languages are checked once, instead of a lookup for every player
+                Map<String, String> languages = new HashMap<>();
+                for (String language : this.languageAPI.getAvailableLanguages()) {
+                    languages.put(language.toLowerCase(), language.toLowerCase());
+                }
+                Checkpoint checkpoint = Checkpoint.read(file);
+                PlayerReader reader = this.isCsv(file) ? new CsvPlayerReader(Files.newInputStream(file.toPath())) : new BinaryPlayerReader(Files.newInputStream(file.toPath()));
+                try {
+                    for (long i = 0; i < checkpoint.readPlayers && reader.next(); i++) {
+                        //Skipped, these players were written before the import was interrupted
+                    }
+                } catch (IOException | RuntimeException exception) {
+                    reader.close();
+                    throw exception;
+                }
+                if (checkpoint.readPlayers > 0) {
+                    this.languageAPI.getLogger().info("Continuing the import of " + file.getName() + " after " + checkpoint.readPlayers + " players");
+                }
+                Transfer transfer = new Transfer(checkpoint.transferredPlayers, checkpoint.skippedPlayers, checkpoint.durationMillis);
+                this.importBatch(file, reader, playerExecutor, languages, doOverwrite, transfer, future);
+            } catch (IOException | RuntimeException exception) {
+                future.completeExceptionally(exception);
+            }
+        });
+        return future;
+    }
+
+    private void importBatch(File file, PlayerReader reader, DefaultPlayerExecutor playerExecutor, Map<String, String> languages, boolean doOverwrite,
+                             Transfer transfer, CompletableFuture<PlayerTransferResult> future) {
+        this.languageAPI.executeAsync(TaskPriority.ADMIN, () -> {
+            Map<UUID, String> batch = new LinkedHashMap<>();
+            boolean completed;
+            try {
+                int readPlayers = 0;
+                while (readPlayers < BATCH_SIZE && reader.next()) {
+                    readPlayers++;
+                    String language = reader.getLanguage() == null ? null : languages.get(reader.getLanguage().toLowerCase());
+                    if (reader.getPlayerId() == null || language == null) {
+                        transfer.skippedPlayers++;
+                        continue;
+                    }
+                    batch.put(reader.getPlayerId(), language);
+                }
+                completed = readPlayers < BATCH_SIZE;
+                //Like setPlayerLanguage, a player with the implicit default language has no row
+                Map<UUID, String> storedLanguages = new LinkedHashMap<>();
+                List<UUID> defaultPlayers = new ArrayList<>();
+                batch.forEach((playerId, language) -> {
+                    if (playerExecutor.isStoredLanguage(language)) {
+                        storedLanguages.put(playerId, language);
+                    } else {
+                        defaultPlayers.add(playerId);
+                    }
+                });
+                PlayerTable playerTable = playerExecutor.getPlayerTable();
+                Map<UUID, String> previousLanguages;
+                try (Connection connection = this.languageAPI.getDatabaseProvider().getConnection()) {
+                    connection.setAutoCommit(false);
+                    previousLanguages = playerTable.findLanguages(connection, batch.keySet());
+                    if (doOverwrite) {
+                        playerTable.setAll(connection, storedLanguages);
+                        playerTable.deleteAll(connection, defaultPlayers);
+                    } else {
+                        playerTable.registerAll(connection, storedLanguages);
+                    }
+                    connection.commit();
+                }
+                for (UUID playerId : batch.keySet()) {
+                    String previousLanguage = previousLanguages.get(playerId);
+                    //Without overwrite a registered player keeps the row
+                    String newLanguage = !doOverwrite && previousLanguage != null ? previousLanguage : storedLanguages.get(playerId);
+                    if (previousLanguage == null ? newLanguage != null : !previousLanguage.equalsIgnoreCase(String.valueOf(newLanguage))) {
+                        playerExecutor.handleStoredLanguageChange(playerId, previousLanguage, newLanguage);
+                    }
+                }
+                transfer.transferredPlayers += batch.size();
+                this.logProgress("Imported", transfer, readPlayers);
+                new Checkpoint(transfer.transferredPlayers + transfer.skippedPlayers, transfer.transferredPlayers, transfer.skippedPlayers,
+                        transfer.getDurationMillis()).write(file);
+            } catch (IOException | SQLException | RuntimeException exception) {
+                this.close(reader);
+                future.completeExceptionally(exception);
+                return;
+            }
+            if (!completed) {
+                this.importBatch(file, reader, playerExecutor, languages, doOverwrite, transfer, future);
+                return;
+            }
+            this.close(reader);
+            Checkpoint.delete(file);
+            future.complete(this.complete("Imported", file, transfer));
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<PlayerTransferResult> exportPlayers(@NotNull File file) {
+        CompletableFuture<PlayerTransferResult> future = new CompletableFuture<>();
+        this.languageAPI.executeAsync(TaskPriority.ADMIN, () -> {
+            try {
+                PlayerTable playerTable = this.getPlayerExecutor().getPlayerTable();
+                if (!playerTable.isMigrated()) {
+                    throw new IllegalStateException("The players are not migrated to the players table yet");
+                }
+                if (file.getAbsoluteFile().getParentFile() != null) {
+                    Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+                }
+                File temporaryFile = new File(file.getPath() + ".tmp");
+                OutputStream outputStream = Files.newOutputStream(temporaryFile.toPath());
+                PlayerWriter writer;
+                try {
+                    writer = this.isCsv(file) ? new CsvPlayerWriter(outputStream) : new BinaryPlayerWriter(outputStream);
+                } catch (IOException | RuntimeException exception) {
+                    this.close(outputStream);
+                    this.delete(temporaryFile);
+                    throw exception;
+                }
+                this.exportBatch(file, temporaryFile, writer, playerTable, null, new Transfer(0, 0, 0), future);
+            } catch (IOException | RuntimeException exception) {
+                future.completeExceptionally(exception);
+            }
+        });
+        return future;
+    }
+
+    private void exportBatch(File file, File temporaryFile, PlayerWriter writer, PlayerTable playerTable, UUID after, Transfer transfer,
+                             CompletableFuture<PlayerTransferResult> future) {
+        this.languageAPI.executeAsync(TaskPriority.ADMIN, () -> {
+            LinkedHashMap<UUID, String> batch;
+            UUID lastPlayerId = after;
+            try {
+                try (Connection connection = this.languageAPI.getDatabaseProvider().getReadConnection()) {
+                    batch = playerTable.findAll(connection, after, BATCH_SIZE);
+                }
+                for (Map.Entry<UUID, String> entry : batch.entrySet()) {
+                    lastPlayerId = entry.getKey();
+                    if (entry.getValue() == null) {
+                        transfer.skippedPlayers++;
+                        continue;
+                    }
+                    writer.write(entry.getKey(), entry.getValue());
+                    transfer.transferredPlayers++;
+                }
+                this.logProgress("Exported", transfer, batch.size());
+                if (batch.size() == BATCH_SIZE) {
+                    this.exportBatch(file, temporaryFile, writer, playerTable, lastPlayerId, transfer, future);
+                    return;
+                }
+                writer.close();
+                Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException | SQLException | RuntimeException exception) {
+                this.close(writer);
+                this.delete(temporaryFile);
+                future.completeExceptionally(exception);
+                return;
+            }
+            future.complete(this.complete("Exported", file, transfer));
+        });
+    }
+
+    private void logProgress(String action, Transfer transfer, int batchSize) {
+        long players = transfer.transferredPlayers + transfer.skippedPlayers;
+        if (players / PROGRESS_INTERVAL == (players - batchSize) / PROGRESS_INTERVAL) {
+            return;
+        }
+        long millis = transfer.getDurationMillis();
+        this.languageAPI.getLogger().info(String.format("%s %d players (%.0f players/s)", action, players, players * 1000D / Math.max(1, millis)));
+    }
+
+    private PlayerTransferResult complete(String action, File file, Transfer transfer) {
+        PlayerTransferResult result = new PlayerTransferResult(transfer.transferredPlayers, transfer.skippedPlayers, transfer.getDurationMillis());
+        this.languageAPI.getLogger().info(action + " " + file.getName() + ": " + result);
+        return result;
+    }
+
+    private DefaultPlayerExecutor getPlayerExecutor() {
+        if (!(this.languageAPI.getPlayerExecutor() instanceof DefaultPlayerExecutor)) {
+            throw new IllegalStateException("The players are not stored by the LanguageAPI");
+        }
+        return (DefaultPlayerExecutor) this.languageAPI.getPlayerExecutor();
+    }
+
+    private boolean isCsv(File file) {
+        return file.getName().toLowerCase().endsWith(".csv");
+    }
+
+    private void delete(File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    private void close(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    private static final class Transfer {
+
+        private final long start;
+        private long transferredPlayers;
+        private long skippedPlayers;
+
+        private Transfer(long transferredPlayers, long skippedPlayers, long durationMillis) {
+            //A continued import keeps the duration of the previous runs, so the players per second cover the same players as the counts
+            this.start = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(durationMillis);
+            this.transferredPlayers = transferredPlayers;
+            this.skippedPlayers = skippedPlayers;
+        }
+
+        private long getDurationMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.start);
+        }
+    }
+
+    static final class Checkpoint {
+
+        final long readPlayers;
+        final long transferredPlayers;
+        final long skippedPlayers;
+        final long durationMillis;
+
+        Checkpoint(long readPlayers, long transferredPlayers, long skippedPlayers, long durationMillis) {
+            this.readPlayers = readPlayers;
+            this.transferredPlayers = transferredPlayers;
+            this.skippedPlayers = skippedPlayers;
+            this.durationMillis = durationMillis;
+        }
+
+        static File getFile(File file) {
+            return new File(file.getPath() + ".checkpoint");
+        }
+
+        static Checkpoint read(File file) throws IOException {
+            File checkpointFile = getFile(file);
+            if (!checkpointFile.exists()) {
+                return new Checkpoint(0, 0, 0, 0);
+            }
+            Properties properties = new Properties();
+            try (InputStream inputStream = Files.newInputStream(checkpointFile.toPath())) {
+                properties.load(inputStream);
+            }
+            //A changed file is imported from the start
+            if (!String.valueOf(file.length()).equals(properties.getProperty("length"))
+                    || !String.valueOf(file.lastModified()).equals(properties.getProperty("lastModified"))) {
+                return new Checkpoint(0, 0, 0, 0);
+            }
+            return new Checkpoint(
+                    Long.parseLong(properties.getProperty("readPlayers", "0")),
+                    Long.parseLong(properties.getProperty("transferredPlayers", "0")),
+                    Long.parseLong(properties.getProperty("skippedPlayers", "0")),
+                    Long.parseLong(properties.getProperty("durationMillis", "0"))
+            );
+        }
+
+        static void delete(File file) {
+            try {
+                Files.deleteIfExists(getFile(file).toPath());
+            } catch (IOException exception) {
+                exception.printStackTrace();
+            }
+        }
+
+        void write(File file) throws IOException {
+            Properties properties = new Properties();
+            properties.setProperty("length", String.valueOf(file.length()));
+            properties.setProperty("lastModified", String.valueOf(file.lastModified()));
+            properties.setProperty("readPlayers", String.valueOf(this.readPlayers));
+            properties.setProperty("transferredPlayers", String.valueOf(this.transferredPlayers));
+            properties.setProperty("skippedPlayers", String.valueOf(this.skippedPlayers));
+            properties.setProperty("durationMillis", String.valueOf(this.durationMillis));
+            try (OutputStream outputStream = Files.newOutputStream(getFile(file).toPath())) {
+                properties.store(outputStream, "LanguageAPI player import of " + file.getName());
+            }
+        }
+    }
+
+    interface PlayerReader extends Closeable {
+
+        /**
+         * @return whether another player was read, a player with an invalid uuid is read with a null uuid
+         */
+        boolean next() throws IOException;
+
+        UUID getPlayerId();
+
+        String getLanguage();
+    }
+
+    interface PlayerWriter extends Closeable {
+
+        void write(UUID playerId, String language) throws IOException;
+    }
+
+    static final class CsvPlayerReader implements PlayerReader {
+
+        private final BufferedReader reader;
+        private UUID playerId;
+        private String language;
+
+        CsvPlayerReader(InputStream inputStream) {
+            this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), 1 << 16);
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            String line;
+            do {
+                line = this.reader.readLine();
+                if (line == null) {
+                    return false;
+                }
+                line = line.trim();
+                //Blank lines, comments and a header are not counted as players
+            } while (line.isEmpty() || line.startsWith("#") || line.toLowerCase().startsWith("uuid,"));
+            int separator = line.indexOf(',');
+            this.playerId = null;
+            this.language = separator == -1 ? null : line.substring(separator + 1).trim();
+            if (separator != -1) {
+                try {
+                    this.playerId = UUID.fromString(line.substring(0, separator).trim());
+                } catch (IllegalArgumentException ignored) {
+                    //Counted as skipped player
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public UUID getPlayerId() {
+            return this.playerId;
+        }
+
+        @Override
+        public String getLanguage() {
+            return this.language;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.reader.close();
+        }
+    }
+
+    static final class BinaryPlayerReader implements PlayerReader {
+
+        private final DataInputStream inputStream;
+        private UUID playerId;
+        private String language;
+
+        BinaryPlayerReader(InputStream inputStream) throws IOException {
+            this.inputStream = new DataInputStream(new BufferedInputStream(inputStream, 1 << 16));
+            if (this.inputStream.readInt() != BINARY_MAGIC || this.inputStream.readByte() != BINARY_VERSION) {
+                this.inputStream.close();
+                throw new IOException("The file is no player export of the LanguageAPI");
+            }
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            long mostSignificantBits;
+            try {
+                mostSignificantBits = this.inputStream.readLong();
+            } catch (EOFException exception) {
+                return false;
+            }
+            this.playerId = new UUID(mostSignificantBits, this.inputStream.readLong());
+            this.language = this.inputStream.readUTF();
+            return true;
+        }
+
+        @Override
+        public UUID getPlayerId() {
+            return this.playerId;
+        }
+
+        @Override
+        public String getLanguage() {
+            return this.language;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.inputStream.close();
+        }
+    }
+
+    static final class CsvPlayerWriter implements PlayerWriter {
+
+        private final Writer writer;
+
+        CsvPlayerWriter(OutputStream outputStream) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 1 << 16);
+            this.writer.write("uuid,language\n");
+        }
+
+        @Override
+        public void write(UUID playerId, String language) throws IOException {
+            this.writer.write(playerId.toString());
+            this.writer.write(',');
+            this.writer.write(language);
+            this.writer.write('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.writer.close();
+        }
+    }
+
+    static final class BinaryPlayerWriter implements PlayerWriter {
+
+        private final DataOutputStream outputStream;
+
+        BinaryPlayerWriter(OutputStream outputStream) throws IOException {
+            this.outputStream = new DataOutputStream(new BufferedOutputStream(outputStream, 1 << 16));
+            this.outputStream.writeInt(BINARY_MAGIC);
+            this.outputStream.writeByte(BINARY_VERSION);
+        }
+
+        @Override
+        public void write(UUID playerId, String language) throws IOException {
+            this.outputStream.writeLong(playerId.getMostSignificantBits());
+            this.outputStream.writeLong(playerId.getLeastSignificantBits());
+            this.outputStream.writeUTF(language);
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.outputStream.close();
+        }
+    }
+}
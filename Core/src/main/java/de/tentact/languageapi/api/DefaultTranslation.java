@@ -26,30 +26,31 @@
 package de.tentact.languageapi.api;
 
 import de.tentact.languageapi.LanguageAPI;
+import de.tentact.languageapi.i18n.MessageTemplate;
 import de.tentact.languageapi.i18n.Translation;
+import net.kyori.adventure.text.Component;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.UnaryOperator;
 
 public class DefaultTranslation implements Translation {
 
     private final String translationKey;
-    private Translation prefixTranslation = null;
-    private final LanguageAPI languageAPI = LanguageAPI.getInstance();
-    private final Map<String, String> parameter;
+    private final Translation prefixTranslation;
+    private final DefaultLanguageAPI languageAPI = (DefaultLanguageAPI) LanguageAPI.getInstance();
 
     public DefaultTranslation(@NotNull String translationKey) {
+        this(translationKey, null);
+    }
+
+    public DefaultTranslation(@NotNull String translationKey, @Nullable Translation prefixTranslation) {
         this.translationKey = translationKey;
-        this.parameter = new HashMap<>();
+        this.prefixTranslation = prefixTranslation;
     }
 
     @Override
@@ -82,18 +83,7 @@ public class DefaultTranslation implements Translation {
     @NotNull
     @Override
     public String getMessage(@NotNull String language, boolean orElseDefault) {
-        String prefix = "";
-        if (this.hasPrefixTranslation()) {
-            prefix = this.prefixTranslation.getMessage(language, orElseDefault);
-        }
-        AtomicReference<String> message = new AtomicReference<>(this.languageAPI.getMessage(this.translationKey, language));
-
-        for (Map.Entry<String, String> parameterEntry : this.parameter.entrySet()) {
-            UnaryOperator<String> replaceString = s -> s.replace(parameterEntry.getKey(), parameterEntry.getValue());
-            message.getAndUpdate(replaceString);
-        }
-        this.parameter.clear();
-        return prefix + message.get();
+        return this.getPrefix(language, orElseDefault) + this.getTemplate(language, orElseDefault).render();
     }
 
     @Override
@@ -101,6 +91,21 @@ public class DefaultTranslation implements Translation {
         return CompletableFuture.supplyAsync(() -> this.getMessage(language, orElseDefault));
     }
 
+    @Override
+    public @NotNull String format(@NotNull String language, @NotNull Object... arguments) {
+        return this.getPrefix(language, false) + this.getTemplate(language, false).render(arguments);
+    }
+
+    @Override
+    public @NotNull String format(@NotNull UUID playerId, @NotNull Object... arguments) {
+        return this.format(this.languageAPI.getPlayerExecutor().getPlayerLanguage(playerId), arguments);
+    }
+
+    @Override
+    public @NotNull String formatNamed(@NotNull String language, @NotNull Object... parameterValuePairs) {
+        return this.render(language, false, parameterValuePairs);
+    }
+
     @Override
     public String getParameter() {
         return this.languageAPI.getParameter(this.translationKey);
@@ -123,9 +128,8 @@ public class DefaultTranslation implements Translation {
 
     @Override
     public @NotNull Translation setPrefixTranslation(Translation prefixTranslation) {
-        this.prefixTranslation = prefixTranslation;
-        this.languageAPI.updateTranslation(this);
-        return this;
+        //A new instance, so the cached Translation of the key does not get its prefix changed for everyone
+        return new DefaultTranslation(this.translationKey, prefixTranslation);
     }
 
     @Override
@@ -139,9 +143,8 @@ public class DefaultTranslation implements Translation {
     }
 
     @Override
-    public @NotNull Translation replace(String old, String replacement) {
-        this.parameter.put(old, replacement);
-        return this;
+    public @NotNull Translation with(@NotNull String parameter, @Nullable Object value) {
+        return new ParameterizedTranslation(this, new Object[]{parameter, value});
     }
 
     @Override
@@ -184,8 +187,30 @@ public class DefaultTranslation implements Translation {
         return this;
     }
 
-    private boolean hasPrefixTranslation() {
-        return this.prefixTranslation != null;
+    String render(String language, boolean orElseDefault, Object[] parameterValuePairs) {
+        return this.getPrefix(language, orElseDefault) + this.getTemplate(language, orElseDefault).renderNamed(parameterValuePairs);
+    }
+
+    Component renderComponent(String language, Object[] parameterValuePairs) {
+        Component message = this.languageAPI.getComponentTemplate(this.translationKey, language).render(parameterValuePairs);
+        Translation prefixTranslation = this.prefixTranslation;
+        if (prefixTranslation == null) {
+            return message;
+        }
+        //Siblings, so the style of the prefix does not leak into the message
+        return Component.text().append(this.languageAPI.getComponent(prefixTranslation, language), message).build();
+    }
+
+    MessageTemplate getTemplate(String language, boolean orElseDefault) {
+        return this.languageAPI.getMessageTemplate(this.translationKey, language, orElseDefault);
+    }
+
+    private String getPrefix(String language, boolean orElseDefault) {
+        Translation prefixTranslation = this.prefixTranslation;
+        if (prefixTranslation != null) {
+            return prefixTranslation.getMessage(language, orElseDefault);
+        }
+        return "";
     }
 
     @Override
@@ -0,0 +1,216 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.api;
+
+import de.tentact.languageapi.LanguageAPI;
+import de.tentact.languageapi.i18n.Translation;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An immutable {@link Translation} carrying the arguments of a single call as flat parameter/value pairs.
+ * Created by {@link Translation#with(String, Object)}, the shared {@link DefaultTranslation} is never changed.
+ *
+ * @since 2.0
+ */
+public class ParameterizedTranslation implements Translation {
+
+    private final DefaultTranslation translation;
+    private final Object[] parameterValuePairs;
+
+    ParameterizedTranslation(@NotNull DefaultTranslation translation, @NotNull Object[] parameterValuePairs) {
+        this.translation = translation;
+        this.parameterValuePairs = parameterValuePairs;
+    }
+
+    @Override
+    public void sendToConsole() {
+        LanguageAPI.getInstance().getConsoleExecutor().sendMessage(this);
+    }
+
+    @Override
+    public @NotNull String getMessage() {
+        return this.getMessage(LanguageAPI.getInstance().getDefaultLanguage());
+    }
+
+    @Override
+    public @NotNull CompletableFuture<String> getMessageAsync() {
+        return this.getMessageAsync(LanguageAPI.getInstance().getDefaultLanguage());
+    }
+
+    @Override
+    public @NotNull String getMessage(@NotNull UUID playerUUID) {
+        return this.getMessage(LanguageAPI.getInstance().getPlayerExecutor().getPlayerLanguage(playerUUID));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<String> getMessageAsync(@NotNull UUID playerUUID) {
+        return LanguageAPI.getInstance().getPlayerExecutor().getPlayerLanguageAsync(playerUUID).thenCompose(this::getMessageAsync);
+    }
+
+    @Override
+    public @NotNull String getMessage(@NotNull String language, boolean orElseDefault) {
+        return this.translation.render(language, orElseDefault, this.parameterValuePairs);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<String> getMessageAsync(@NotNull String language, boolean orElseDefault) {
+        return CompletableFuture.supplyAsync(() -> this.getMessage(language, orElseDefault));
+    }
+
+    @Override
+    public @NotNull String format(@NotNull String language, @NotNull Object... arguments) {
+        //Positional arguments are appended as pairs, so they win against the carried arguments
+        List<String> parameters = this.translation.getTemplate(language, false).getParameters();
+        int positionalCount = Math.min(arguments.length, parameters.size());
+        Object[] pairs = Arrays.copyOf(this.parameterValuePairs, this.parameterValuePairs.length + positionalCount * 2);
+        for (int i = 0; i < positionalCount; i++) {
+            pairs[this.parameterValuePairs.length + i * 2] = parameters.get(i);
+            pairs[this.parameterValuePairs.length + i * 2 + 1] = arguments[i];
+        }
+        return this.translation.render(language, false, pairs);
+    }
+
+    @Override
+    public @NotNull String format(@NotNull UUID playerId, @NotNull Object... arguments) {
+        return this.format(LanguageAPI.getInstance().getPlayerExecutor().getPlayerLanguage(playerId), arguments);
+    }
+
+    @Override
+    public @NotNull String formatNamed(@NotNull String language, @NotNull Object... parameterValuePairs) {
+        return this.translation.render(language, false, this.concat(parameterValuePairs));
+    }
+
+    @Override
+    public String getParameter() {
+        return this.translation.getParameter();
+    }
+
+    @Override
+    public List<String> getParameterAsList() {
+        return this.translation.getParameterAsList();
+    }
+
+    @Override
+    public CompletableFuture<String> getParameterAsync() {
+        return this.translation.getParameterAsync();
+    }
+
+    @Override
+    public CompletableFuture<List<String>> getParameterAsListAsync() {
+        return this.translation.getParameterAsListAsync();
+    }
+
+    @Override
+    public @NotNull Translation setPrefixTranslation(Translation prefixTranslation) {
+        return new ParameterizedTranslation(new DefaultTranslation(this.translation.getTranslationKey(), prefixTranslation), this.parameterValuePairs);
+    }
+
+    @Override
+    public @Nullable Translation getPrefixTranslation() {
+        return this.translation.getPrefixTranslation();
+    }
+
+    @Override
+    public boolean hasPrefix() {
+        return this.translation.hasPrefix();
+    }
+
+    @Override
+    public @NotNull Translation with(@NotNull String parameter, @Nullable Object value) {
+        return new ParameterizedTranslation(this.translation, this.concat(parameter, value));
+    }
+
+    @Override
+    public @NotNull String getTranslationKey() {
+        return this.translation.getTranslationKey();
+    }
+
+    @Override
+    public @NotNull Translation createDefaults(String message) {
+        this.translation.createDefaults(message);
+        return this;
+    }
+
+    @Override
+    public @NotNull Translation createDefaults(String message, String param) {
+        this.translation.createDefaults(message, param);
+        return this;
+    }
+
+    @Override
+    public @NotNull Translation createDefaults(String message, List<String> parameter) {
+        this.translation.createDefaults(message, parameter);
+        return this;
+    }
+
+    @Override
+    public @NotNull Translation addTranslation(String language, String message) {
+        this.translation.addTranslation(language, message);
+        return this;
+    }
+
+    @Override
+    public @NotNull Translation addTranslation(String language, String message, String param) {
+        this.translation.addTranslation(language, message, param);
+        return this;
+    }
+
+    @Override
+    public @NotNull Translation addTranslation(String language, String message, List<String> parameter) {
+        this.translation.addTranslation(language, message, parameter);
+        return this;
+    }
+
+    Component getComponent(String language) {
+        return this.translation.renderComponent(language, this.parameterValuePairs);
+    }
+
+    private Object[] concat(Object... parameterValuePairs) {
+        Object[] pairs = Arrays.copyOf(this.parameterValuePairs, this.parameterValuePairs.length + parameterValuePairs.length);
+        System.arraycopy(parameterValuePairs, 0, pairs, this.parameterValuePairs.length, parameterValuePairs.length);
+        return pairs;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ParameterizedTranslation that = (ParameterizedTranslation) o;
+        return this.translation.equals(that.translation) && Arrays.equals(this.parameterValuePairs, that.parameterValuePairs);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * this.translation.hashCode() + Arrays.hashCode(this.parameterValuePairs);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.api;
+
+import de.tentact.languageapi.TaskPriority;
+import de.tentact.languageapi.player.DefaultPlayerExecutor;
+import de.tentact.languageapi.util.StartupTimeline;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Runs the startup stages in parallel on a fork-join pool instead of the main thread.
+ * The pool is primed and the default language is created right away, every language is preloaded once the default language exists
+ *
+ * @since 2.0
+ */
+public class WarmUp {
+
+    private final DefaultLanguageAPI languageAPI;
+    private final StartupTimeline timeline;
+    private final Map<String, Runnable> stages = new LinkedHashMap<>();
+    private final Map<String, Runnable> afterDefaultLanguage = new LinkedHashMap<>();
+
+    public WarmUp(DefaultLanguageAPI languageAPI, StartupTimeline timeline) {
+        this.languageAPI = languageAPI;
+        this.timeline = timeline;
+    }
+
+    /**
+     * @param name the name of the stage in the {@link StartupTimeline}
+     * @param task the task, which does not depend on other stages (ex. the update check)
+     * @return returns this {@link WarmUp}
+     */
+    public WarmUp stage(String name, Runnable task) {
+        this.stages.put(name, task);
+        return this;
+    }
+
+    /**
+     * @param name the name of the stage in the {@link StartupTimeline}
+     * @param task the task, which needs the default language (ex. registering the default translations)
+     * @return returns this {@link WarmUp}
+     */
+    public WarmUp afterDefaultLanguage(String name, Runnable task) {
+        this.afterDefaultLanguage.put(name, task);
+        return this;
+    }
+
+    /**
+     * @return returns a future, which is completed once every stage finished
+     */
+    public CompletableFuture<Void> start() {
+        ForkJoinPool pool = new ForkJoinPool(Math.max(4, Runtime.getRuntime().availableProcessors()), forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("LanguageAPI-WarmUp-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        futures.add(this.runAsync("pool-priming", this.languageAPI.getDatabaseProvider()::primePool, pool));
+        if (this.languageAPI.getPlayerExecutor() instanceof DefaultPlayerExecutor) {
+            DefaultPlayerExecutor playerExecutor = (DefaultPlayerExecutor) this.languageAPI.getPlayerExecutor();
+            futures.add(this.runAsync("language-ids", playerExecutor.getPlayerTable()::loadLanguageIds, pool));
+            //Not waited for, the former table is still read until every batch is copied
+            playerExecutor.getPlayerTable()
+                    .migrate(this.languageAPI.getTaskScheduler().executor(TaskPriority.MAINTENANCE))
+                    .whenComplete((migratedPlayers, throwable) -> {
+                        if (throwable != null) {
+                            throwable.printStackTrace();
+                            return;
+                        }
+                        //Players of the former table would not be deleted
+                        playerExecutor.getPlayerPruner().start();
+                    });
+        }
+        this.stages.forEach((name, task) -> futures.add(this.runAsync(name, task, pool)));
+        //The catalog preload compiles the templates with the parameters, so the registry has to be loaded first
+        CompletableFuture<Void> parameterRegistry = this.runAsync("parameter-registry", this.languageAPI.getParameterRegistry()::load, pool);
+        futures.add(this.runAsync("default-language", () -> this.languageAPI.insertLanguage(this.languageAPI.getDefaultLanguage()), pool)
+                .thenCombine(parameterRegistry, (first, second) -> (Void) null)
+                .thenCompose(ignored -> {
+                    List<CompletableFuture<Void>> dependentFutures = new ArrayList<>();
+                    for (String language : this.languageAPI.getAvailableLanguages()) {
+                        dependentFutures.add(this.runAsync("catalog-preload:" + language, () -> this.languageAPI.preloadLanguage(language), pool));
+                    }
+                    this.afterDefaultLanguage.forEach((name, task) -> dependentFutures.add(this.runAsync(name, task, pool)));
+                    return CompletableFuture.allOf(dependentFutures.toArray(new CompletableFuture[0]));
+                }));
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).whenComplete((ignored, throwable) -> pool.shutdown());
+    }
+
+    private CompletableFuture<Void> runAsync(String name, Runnable task, ForkJoinPool pool) {
+        return CompletableFuture.runAsync(() -> this.timeline.run(name, task), pool);
+    }
+}
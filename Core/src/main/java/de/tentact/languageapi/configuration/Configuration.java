@@ -76,8 +76,15 @@ public class Configuration {
                         5,
                         "&eLanguageAPI x &7",
                         true,
+                        false,
+                        false,
+                        false,
+                        false,
+                        PruneSetting.getDefault(),
                         false
-                )
+                ),
+                MetricsSetting.getDefault(),
+                StorageSetting.getDefault()
         );
     }
 
@@ -26,16 +26,48 @@
 package de.tentact.languageapi.configuration;
 
 import com.zaxxer.hikari.HikariDataSource;
+import de.tentact.languageapi.i18n.ParameterRegistry;
+import de.tentact.languageapi.metrics.BlockingCallDetector;
+import de.tentact.languageapi.metrics.MeteredConnection;
+import de.tentact.languageapi.metrics.PoolMetrics;
+import de.tentact.languageapi.metrics.QueryMetrics;
+import de.tentact.languageapi.player.PlayerTable;
+import de.tentact.languageapi.storage.CircuitBreaker;
+import de.tentact.languageapi.storage.CircuitOpenException;
 
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 public class DatabaseProvider {
 
     private final String hostname, database, username, password;
     private final int port;
+    private final String jdbcUrl;
+    private final String replicaJdbcUrl;
+    private final int replicaLag;
+    private final PoolSetting readPool, writePool;
+    private final Map<String, String> dataSourceProperties;
     private transient HikariDataSource dataSource;
+    private transient HikariDataSource readDataSource;
+    private transient volatile long lastWrite;
+    private transient QueryMetrics queryMetrics;
+    private transient PoolMetrics poolMetrics;
+    private transient volatile BlockingCallDetector blockingCallDetector;
+    private transient StorageSetting storageSetting;
+    private transient volatile CircuitBreaker circuitBreaker;
     private transient Logger logger;
 
     public DatabaseProvider(String hostname, String database, String username, String password, int port) {
@@ -44,18 +76,138 @@ public class DatabaseProvider {
         this.username = username;
         this.password = password;
         this.port = port;
+        this.jdbcUrl = null;
+        this.replicaJdbcUrl = null;
+        this.replicaLag = 1000;
+        this.readPool = PoolSetting.getDefaultRead();
+        this.writePool = PoolSetting.getDefaultWrite();
+        this.dataSourceProperties = null;
+    }
+
+    /**
+     * Creates a provider for any database reachable by a jdbc url, which understands the MySQL dialect (ex. H2 in MySQL mode)
+     *
+     * @param jdbcUrl  the jdbc url of the database
+     * @param username the username of the database
+     * @param password the password of the database
+     */
+    public DatabaseProvider(String jdbcUrl, String username, String password) {
+        this(jdbcUrl, null, username, password, PoolSetting.getDefaultRead(), PoolSetting.getDefaultWrite());
+    }
+
+    /**
+     * Creates a provider with separate pools for the reads and the writes, the reads may be served by a replica of the database
+     *
+     * @param jdbcUrl        the jdbc url of the database
+     * @param replicaJdbcUrl the jdbc url of the replica serving the reads, null to read from the database
+     * @param username       the username of the database and the replica
+     * @param password       the password of the database and the replica
+     * @param readPool       the setting of the pool serving the reads
+     * @param writePool      the setting of the pool executing the writes
+     * @since 2.0
+     */
+    public DatabaseProvider(String jdbcUrl, String replicaJdbcUrl, String username, String password, PoolSetting readPool, PoolSetting writePool) {
+        this.hostname = null;
+        this.database = null;
+        this.username = username;
+        this.password = password;
+        this.port = 0;
+        this.jdbcUrl = jdbcUrl;
+        this.replicaJdbcUrl = replicaJdbcUrl;
+        this.replicaLag = 1000;
+        this.readPool = readPool;
+        this.writePool = writePool;
+        this.dataSourceProperties = null;
     }
 
     public void connect() {
+        this.connect(StorageSetting.getDefault());
+    }
+
+    /**
+     * Connects to the database, bounding the wait for a connection and the execution of every statement
+     *
+     * @param storageSetting the timeouts and the circuit breaker setting to use
+     * @since 2.0
+     */
+    public void connect(StorageSetting storageSetting) {
         if (this.isNotConnected()) {
-            this.dataSource = new HikariDataSource();
-            this.dataSource.setJdbcUrl("jdbc:mysql://" + this.hostname + ":" + this.port + "/" + this.database);
-            this.dataSource.setUsername(this.username);
-            this.dataSource.setPassword(this.password);
-            this.logger.info("Creating connection to database");
+            this.storageSetting = storageSetting;
+            //Created before the first checkout, so the getters on the hot path only read the field
+            this.getCircuitBreaker();
+            this.getBlockingCallDetector();
+            if (this.queryMetrics == null) {
+                this.queryMetrics = new QueryMetrics();
+                this.poolMetrics = new PoolMetrics();
+            }
+            this.dataSource = this.createDataSource("LanguageAPI-Write", this.getJdbcUrl(), this.getWritePool(), storageSetting);
+            this.readDataSource = this.createDataSource("LanguageAPI-Read", this.getReadJdbcUrl(), this.getReadPool(), storageSetting);
+            this.logger.info(this.hasReplica() ? "Creating connection to database and its replica" : "Creating connection to database");
         }
     }
 
+    private HikariDataSource createDataSource(String poolName, String jdbcUrl, PoolSetting poolSetting, StorageSetting storageSetting) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(poolName);
+        dataSource.setJdbcUrl(jdbcUrl);
+        dataSource.setUsername(this.username);
+        dataSource.setPassword(this.password);
+        dataSource.setMetricsTrackerFactory(this.poolMetrics);
+        dataSource.setMaximumPoolSize(poolSetting.getMaximumPoolSize());
+        dataSource.setMinimumIdle(poolSetting.getMinimumIdle());
+        dataSource.setConnectionTimeout(poolSetting.getConnectionTimeout(storageSetting));
+        dataSource.setValidationTimeout(Math.min(5000, poolSetting.getConnectionTimeout(storageSetting)));
+        this.getDataSourceProperties(jdbcUrl).forEach(dataSource::addDataSourceProperty);
+        return dataSource;
+    }
+
+    /**
+     * @param jdbcUrl the jdbc url of the pool
+     * @return returns the configured properties of the driver, the statement cache and batch rewriting of the MySQL and MariaDB drivers if none are configured
+     */
+    private Map<String, String> getDataSourceProperties(String jdbcUrl) {
+        if (this.dataSourceProperties != null) {
+            return this.dataSourceProperties;
+        }
+        if (!jdbcUrl.startsWith("jdbc:mysql:") && !jdbcUrl.startsWith("jdbc:mariadb:")) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> properties = new HashMap<>();
+        properties.put("cachePrepStmts", "true");
+        properties.put("prepStmtCacheSize", "250");
+        properties.put("prepStmtCacheSqlLimit", "2048");
+        properties.put("useServerPrepStmts", "true");
+        properties.put("rewriteBatchedStatements", "true");
+        return properties;
+    }
+
+    public String getJdbcUrl() {
+        if (this.jdbcUrl != null && !this.jdbcUrl.isEmpty()) {
+            return this.jdbcUrl;
+        }
+        return "jdbc:mysql://" + this.hostname + ":" + this.port + "/" + this.database;
+    }
+
+    /**
+     * @return returns the jdbc url of the replica if one is configured, else the one of the database
+     * @since 2.0
+     */
+    public String getReadJdbcUrl() {
+        return this.hasReplica() ? this.replicaJdbcUrl : this.getJdbcUrl();
+    }
+
+    public boolean hasReplica() {
+        return this.replicaJdbcUrl != null && !this.replicaJdbcUrl.isEmpty();
+    }
+
+    public PoolSetting getReadPool() {
+        return this.readPool == null ? PoolSetting.getDefaultRead() : this.readPool;
+    }
+
+    public PoolSetting getWritePool() {
+        return this.writePool == null ? PoolSetting.getDefaultWrite() : this.writePool;
+    }
+
     public boolean isNotConnected() {
         if (this.dataSource == null) {
             return true;
@@ -68,28 +220,70 @@ public class DatabaseProvider {
             return;
         }
         this.dataSource.close();
+        this.readDataSource.close();
     }
 
     public void createDefaultTable() {
         if (this.isNotConnected()) {
             return;
         }
-        try (Connection connection = this.dataSource.getConnection()) {
-            connection.createStatement().execute("CREATE TABLE IF NOT EXISTS playerlanguage(uuid VARCHAR(36) PRIMARY KEY, language VARCHAR(8));");
+        try (Connection connection = this.getConnection()) {
             connection.createStatement().execute("CREATE TABLE IF NOT EXISTS languages(language VARCHAR(32) PRIMARY KEY);");
-            connection.createStatement().execute("CREATE TABLE IF NOT EXISTS Parameter(translationkey VARCHAR(128) , parameter VARCHAR(128));");
+            connection.createStatement().execute("CREATE TABLE IF NOT EXISTS languageids(id SMALLINT NOT NULL AUTO_INCREMENT PRIMARY KEY, language VARCHAR(32) NOT NULL UNIQUE);");
+            connection.createStatement().execute("CREATE TABLE IF NOT EXISTS players(uuid BINARY(16) PRIMARY KEY, language_id SMALLINT NOT NULL, " +
+                    "last_seen TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, FOREIGN KEY (language_id) REFERENCES languageids(id));");
+            connection.createStatement().execute("CREATE TABLE IF NOT EXISTS Parameter(id INT NOT NULL AUTO_INCREMENT PRIMARY KEY, translationkey VARCHAR(128) , parameter VARCHAR(128));");
+            //Parameter tables created before the id are numbered in the order their rows are stored, which is the order they were inserted
+            if (!this.hasColumn(connection, "Parameter", "id")) {
+                connection.createStatement().execute("ALTER TABLE Parameter ADD id INT NOT NULL AUTO_INCREMENT PRIMARY KEY;");
+            }
             connection.createStatement().execute("CREATE TABLE IF NOT EXISTS MultipleTranslation(multipleKey VARCHAR(128), translationkey VARCHAR(128));");
+            connection.createStatement().execute("CREATE TABLE IF NOT EXISTS languagemeta(name VARCHAR(32) PRIMARY KEY, version BIGINT NOT NULL);");
+            connection.createStatement().execute("INSERT IGNORE INTO languagemeta(name, version) VALUES ('" + ParameterRegistry.META_NAME + "', 0);");
+            connection.createStatement().execute("INSERT IGNORE INTO languagemeta(name, version) VALUES ('" + PlayerTable.MIGRATION_META_NAME + "', 0);");
+            //Also added to players tables created before the index existed, MySQL has no CREATE INDEX IF NOT EXISTS
+            if (!this.hasIndex(connection, "players", "players_last_seen")) {
+                connection.createStatement().execute("CREATE INDEX players_last_seen ON players(last_seen);");
+            }
             this.logger.info("Creating default tables");
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
+    private boolean hasColumn(Connection connection, String tableName, String columnName) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        for (String table : new String[]{tableName, tableName.toLowerCase(), tableName.toUpperCase()}) {
+            try (ResultSet resultSet = metaData.getColumns(connection.getCatalog(), null, table, null)) {
+                while (resultSet.next()) {
+                    if (columnName.equalsIgnoreCase(resultSet.getString("COLUMN_NAME"))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean hasIndex(Connection connection, String tableName, String indexName) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        for (String table : new String[]{tableName, tableName.toLowerCase(), tableName.toUpperCase()}) {
+            try (ResultSet resultSet = metaData.getIndexInfo(connection.getCatalog(), null, table, false, false)) {
+                while (resultSet.next()) {
+                    if (indexName.equalsIgnoreCase(resultSet.getString("INDEX_NAME"))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
     public void createLanguageTable(String tableName) {
         if (this.isNotConnected()) {
             return;
         }
-        try (Connection connection = this.dataSource.getConnection()) {
+        try (Connection connection = this.getConnection()) {
             connection.createStatement().execute("CREATE TABLE IF NOT EXISTS " + tableName + "(translationkey VARCHAR(128) PRIMARY KEY, translation VARCHAR(2000));");
             this.logger.info("Creating table: " + tableName);
         } catch (SQLException throwables) {
@@ -97,10 +291,201 @@ public class DatabaseProvider {
         }
     }
 
+    /**
+     * Opens every connection of the pool at once, so the first requests after the start do not wait for new connections
+     *
+     * @since 2.0
+     */
+    public void primePool() {
+        if (this.isNotConnected()) {
+            return;
+        }
+        List<Connection> connections = new ArrayList<>();
+        try {
+            for (HikariDataSource dataSource : new HikariDataSource[]{this.readDataSource, this.dataSource}) {
+                for (int i = 0; i < dataSource.getMaximumPoolSize(); i++) {
+                    connections.add(dataSource.getConnection());
+                }
+            }
+        } catch (SQLException throwables) {
+            throwables.printStackTrace();
+        } finally {
+            for (Connection connection : connections) {
+                try {
+                    connection.close();
+                } catch (SQLException throwables) {
+                    throwables.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return returns the pool executing the writes
+     */
     public HikariDataSource getDataSource() {
         return this.dataSource;
     }
 
+    /**
+     * @return returns the pool serving the reads, it is connected to the replica if one is configured
+     * @since 2.0
+     */
+    public HikariDataSource getReadDataSource() {
+        return this.readDataSource;
+    }
+
+    /**
+     * Gets a connection of the write pool, which records every executed statement in {@link DatabaseProvider#getQueryMetrics()}
+     * and cancels statements after the query timeout of the {@link StorageSetting}
+     *
+     * @return returns a connection of the write pool
+     * @throws SQLException         if no connection could be obtained
+     * @throws CircuitOpenException if the database failed too often and is not called until the circuit is probed again
+     * @since 2.0
+     */
+    public Connection getConnection() throws SQLException {
+        return this.getConnection(this.dataSource, () -> this.lastWrite = System.currentTimeMillis());
+    }
+
+    /**
+     * Gets a connection of the read pool, so reads do not wait for the connections of bulk writes.
+     * A replica may lag behind, so the reads are served by the write pool shortly after this server wrote to the database
+     *
+     * @return returns a connection of the read pool
+     * @throws SQLException         if no connection could be obtained
+     * @throws CircuitOpenException if the database failed too often and is not called until the circuit is probed again
+     * @since 2.0
+     */
+    public Connection getReadConnection() throws SQLException {
+        if (this.hasReplica() && System.currentTimeMillis() - this.lastWrite < this.getReplicaLag()) {
+            //Closing a read does not count as a write, else steady reads would never return to the replica
+            return this.getConnection(this.dataSource, () -> {
+            });
+        }
+        return this.getConnection(this.readDataSource, () -> {
+        });
+    }
+
+    private Connection getConnection(HikariDataSource dataSource, Runnable closeListener) throws SQLException {
+        this.getBlockingCallDetector().check();
+        CircuitBreaker circuitBreaker = this.getCircuitBreaker();
+        if (!circuitBreaker.tryAcquire()) {
+            throw new CircuitOpenException();
+        }
+        Connection connection;
+        try {
+            connection = dataSource.getConnection();
+        } catch (SQLException exception) {
+            circuitBreaker.recordFailure();
+            throw exception;
+        }
+        //Only the probe passes a half open circuit, a checkout from the pool does not prove that the database answers
+        if (circuitBreaker.getState() == CircuitBreaker.State.HALF_OPEN) {
+            this.probe(connection, circuitBreaker);
+        }
+        //A statement resets the failures in a row only once it succeeded, so failing statements still open the circuit
+        return MeteredConnection.wrap(connection, this.queryMetrics, this.getStorageSetting().getQueryTimeout(), circuitBreaker::recordSuccess, exception -> {
+            if (this.isUnavailable(exception)) {
+                circuitBreaker.recordFailure();
+            }
+        }, closeListener);
+    }
+
+    private void probe(Connection connection, CircuitBreaker circuitBreaker) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(this.getStorageSetting().getQueryTimeout());
+            statement.executeQuery("SELECT 1").close();
+        } catch (SQLException exception) {
+            circuitBreaker.recordFailure();
+            connection.close();
+            throw exception;
+        }
+        circuitBreaker.recordSuccess();
+    }
+
+    /**
+     * @return returns the milliseconds reads are served by the write pool after a write, as the replica may lag behind
+     */
+    private int getReplicaLag() {
+        return this.replicaLag <= 0 ? 1000 : this.replicaLag;
+    }
+
+    /**
+     * @param exception the exception of a statement
+     * @return returns whether the exception was caused by the database being slow or unreachable instead of the statement itself
+     */
+    private boolean isUnavailable(SQLException exception) {
+        if (exception instanceof SQLTimeoutException
+                || exception instanceof SQLTransientConnectionException
+                || exception instanceof SQLNonTransientConnectionException
+                || exception instanceof SQLRecoverableException) {
+            return true;
+        }
+        String sqlState = exception.getSQLState();
+        return sqlState != null && sqlState.startsWith("08");
+    }
+
+    /**
+     * @return returns the setting used to connect, the default one before {@link DatabaseProvider#connect(StorageSetting)}
+     * @since 2.0
+     */
+    public StorageSetting getStorageSetting() {
+        return this.storageSetting == null ? StorageSetting.getDefault() : this.storageSetting;
+    }
+
+    /**
+     * @return returns the circuit breaker guarding every connection of {@link DatabaseProvider#getConnection()}
+     * @since 2.0
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        CircuitBreaker circuitBreaker = this.circuitBreaker;
+        if (circuitBreaker != null) {
+            return circuitBreaker;
+        }
+        //The provider is read from the config without its constructor, so the transient fields are created on first use
+        synchronized (this) {
+            if (this.circuitBreaker == null) {
+                StorageSetting storageSetting = this.getStorageSetting();
+                this.circuitBreaker = new CircuitBreaker(storageSetting.getFailureThreshold(), storageSetting.getOpenDuration());
+            }
+            return this.circuitBreaker;
+        }
+    }
+
+    /**
+     * @return returns the metrics of the executed statements, null before {@link DatabaseProvider#connect()}
+     * @since 2.0
+     */
+    public QueryMetrics getQueryMetrics() {
+        return this.queryMetrics;
+    }
+
+    /**
+     * @return returns the detector of the connections obtained on the thread of the server
+     * @since 2.0
+     */
+    public BlockingCallDetector getBlockingCallDetector() {
+        BlockingCallDetector blockingCallDetector = this.blockingCallDetector;
+        if (blockingCallDetector != null) {
+            return blockingCallDetector;
+        }
+        synchronized (this) {
+            if (this.blockingCallDetector == null) {
+                this.blockingCallDetector = new BlockingCallDetector();
+            }
+            return this.blockingCallDetector;
+        }
+    }
+
+    /**
+     * @return returns the metrics of the connection pool, null before {@link DatabaseProvider#connect()}
+     * @since 2.0
+     */
+    public PoolMetrics getPoolMetrics() {
+        return this.poolMetrics;
+    }
+
     public void setLogger(Logger logger) {
         this.logger = logger;
     }
@@ -34,11 +34,25 @@ public class LanguageConfig {
     @SerializedName("mySQL")
     private final DatabaseProvider databaseProvider;
     private final LanguageSetting languageSetting;
+    @SerializedName("metrics")
+    private final MetricsSetting metricsSetting;
+    @SerializedName("storage")
+    private final StorageSetting storageSetting;
     private transient Logger logger;
 
     public LanguageConfig(DatabaseProvider databaseProvider, LanguageSetting languageSetting) {
+        this(databaseProvider, languageSetting, MetricsSetting.getDefault());
+    }
+
+    public LanguageConfig(DatabaseProvider databaseProvider, LanguageSetting languageSetting, MetricsSetting metricsSetting) {
+        this(databaseProvider, languageSetting, metricsSetting, StorageSetting.getDefault());
+    }
+
+    public LanguageConfig(DatabaseProvider databaseProvider, LanguageSetting languageSetting, MetricsSetting metricsSetting, StorageSetting storageSetting) {
         this.databaseProvider = databaseProvider;
         this.languageSetting = languageSetting;
+        this.metricsSetting = metricsSetting;
+        this.storageSetting = storageSetting;
     }
 
     public DatabaseProvider getDatabaseProvider() {
@@ -49,6 +63,20 @@ public class LanguageConfig {
         return this.languageSetting;
     }
 
+    /**
+     * @return returns the metrics setting, the default one if the config was created before it existed
+     */
+    public MetricsSetting getMetricsSetting() {
+        return this.metricsSetting == null ? MetricsSetting.getDefault() : this.metricsSetting;
+    }
+
+    /**
+     * @return returns the storage setting, the default one if the config was created before it existed
+     */
+    public StorageSetting getStorageSetting() {
+        return this.storageSetting == null ? StorageSetting.getDefault() : this.storageSetting;
+    }
+
     public Logger getLogger() {
         return this.logger;
     }
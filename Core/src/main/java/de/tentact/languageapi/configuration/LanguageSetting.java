@@ -35,17 +35,41 @@ public class LanguageSetting {
     @SerializedName("notify")
     private final boolean isNotify;
     private final boolean debugLogging;
+    private final boolean downsampleHexColors;
+    private final boolean miniMessage;
+    private final boolean implicitDefaultLanguage;
+    @SerializedName("prune")
+    private final PruneSetting pruneSetting;
+    private final boolean clientLocaleLanguage;
 
     public LanguageSetting(String defaultLanguage, int cacheTime, boolean isNotify, boolean debugLogging) {
         this(defaultLanguage, cacheTime, "&eLanguageAPI x &7", isNotify, debugLogging);
     }
 
     public LanguageSetting(String defaultLanguage, int cachedTime, String defaultPrefix, boolean isNotify, boolean debugLogging) {
+        this(defaultLanguage, cachedTime, defaultPrefix, isNotify, debugLogging, false, false, false, PruneSetting.getDefault(), false);
+    }
+
+    /**
+     * @param downsampleHexColors     whether hex colors are replaced by the nearest legacy color
+     * @param miniMessage             whether the translations are in the MiniMessage format
+     * @param implicitDefaultLanguage whether players without a row in the database have the default language
+     * @param pruneSetting            the setting of the deletion of inactive players
+     * @param clientLocaleLanguage    whether online players have the language of their client locale
+     * @since 2.0
+     */
+    public LanguageSetting(String defaultLanguage, int cachedTime, String defaultPrefix, boolean isNotify, boolean debugLogging, boolean downsampleHexColors,
+                           boolean miniMessage, boolean implicitDefaultLanguage, PruneSetting pruneSetting, boolean clientLocaleLanguage) {
         this.defaultLanguage = defaultLanguage;
         this.cachedTime = cachedTime;
         this.defaultPrefix = defaultPrefix;
         this.isNotify = isNotify;
         this.debugLogging = debugLogging;
+        this.downsampleHexColors = downsampleHexColors;
+        this.miniMessage = miniMessage;
+        this.implicitDefaultLanguage = implicitDefaultLanguage;
+        this.pruneSetting = pruneSetting;
+        this.clientLocaleLanguage = clientLocaleLanguage;
     }
 
     public String getDefaultLanguage() {
@@ -67,4 +91,36 @@ public class LanguageSetting {
     public boolean isDebugLogging() {
         return this.debugLogging;
     }
+
+    public boolean isDownsampleHexColors() {
+        return this.downsampleHexColors;
+    }
+
+    public boolean isMiniMessage() {
+        return this.miniMessage;
+    }
+
+    /**
+     * @return whether players without a row in the database have the default language, so only players who chose another language are stored
+     * @since 2.0
+     */
+    public boolean isImplicitDefaultLanguage() {
+        return this.implicitDefaultLanguage;
+    }
+
+    /**
+     * @return returns the setting of the deletion of inactive players, the default one if the config was created before it existed
+     * @since 2.0
+     */
+    public PruneSetting getPruneSetting() {
+        return this.pruneSetting == null ? PruneSetting.getDefault() : this.pruneSetting;
+    }
+
+    /**
+     * @return whether online players have the language of their client locale, so only languages chosen by the players are stored
+     * @since 2.0
+     */
+    public boolean isClientLocaleLanguage() {
+        return this.clientLocaleLanguage;
+    }
 }
@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.configuration;
+
+import de.tentact.languageapi.metrics.BlockingCallMode;
+
+public class MetricsSetting {
+
+    private final boolean jmx;
+    private final int prometheusInterval;
+    private final String prometheusFile;
+    private final boolean startupTimeline;
+    private final BlockingCallMode blockingCalls;
+
+    public MetricsSetting(boolean jmx, int prometheusInterval, String prometheusFile) {
+        this(jmx, prometheusInterval, prometheusFile, false);
+    }
+
+    public MetricsSetting(boolean jmx, int prometheusInterval, String prometheusFile, boolean startupTimeline) {
+        this(jmx, prometheusInterval, prometheusFile, startupTimeline, BlockingCallMode.OFF);
+    }
+
+    /**
+     * @param jmx                whether to register the MBeans of the caches, the executor, the database and the pool
+     * @param prometheusInterval the seconds between writing the metrics in the Prometheus text format, 0 to not write them
+     * @param prometheusFile     the file to write the metrics to, read by the textfile collector of the node_exporter
+     * @param startupTimeline    whether to log the duration of every startup stage once the plugin was enabled
+     * @param blockingCalls      what to do with database calls on the thread of the server
+     */
+    public MetricsSetting(boolean jmx, int prometheusInterval, String prometheusFile, boolean startupTimeline, BlockingCallMode blockingCalls) {
+        this.jmx = jmx;
+        this.prometheusInterval = prometheusInterval;
+        this.prometheusFile = prometheusFile;
+        this.startupTimeline = startupTimeline;
+        this.blockingCalls = blockingCalls;
+    }
+
+    public static MetricsSetting getDefault() {
+        return new MetricsSetting(true, 0, "plugins/LanguageAPI/metrics.prom", false, BlockingCallMode.OFF);
+    }
+
+    public boolean isJmx() {
+        return this.jmx;
+    }
+
+    public int getPrometheusInterval() {
+        return this.prometheusInterval;
+    }
+
+    public String getPrometheusFile() {
+        return this.prometheusFile == null || this.prometheusFile.isEmpty() ? getDefault().prometheusFile : this.prometheusFile;
+    }
+
+    public boolean isStartupTimeline() {
+        return this.startupTimeline;
+    }
+
+    public BlockingCallMode getBlockingCalls() {
+        return this.blockingCalls == null ? BlockingCallMode.OFF : this.blockingCalls;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.configuration;
+
+public class PoolSetting {
+
+    private final int maximumPoolSize;
+    private final int minimumIdle;
+    private final int connectionTimeout;
+
+    /**
+     * @param maximumPoolSize   the maximum connections of the pool
+     * @param minimumIdle       the idle connections to keep open, the maximum pool size if below 0
+     * @param connectionTimeout the milliseconds to wait for a connection of the pool, the one of the {@link StorageSetting} if 0
+     */
+    public PoolSetting(int maximumPoolSize, int minimumIdle, int connectionTimeout) {
+        this.maximumPoolSize = maximumPoolSize;
+        this.minimumIdle = minimumIdle;
+        this.connectionTimeout = connectionTimeout;
+    }
+
+    /**
+     * @return returns the default setting of the pool serving the translations and player languages
+     */
+    public static PoolSetting getDefaultRead() {
+        return new PoolSetting(10, -1, 0);
+    }
+
+    /**
+     * @return returns the default setting of the pool executing the writes, bulk writes may wait longer for a connection
+     */
+    public static PoolSetting getDefaultWrite() {
+        return new PoolSetting(4, 1, 10_000);
+    }
+
+    public int getMaximumPoolSize() {
+        return Math.max(1, this.maximumPoolSize);
+    }
+
+    public int getMinimumIdle() {
+        return this.minimumIdle < 0 ? this.getMaximumPoolSize() : Math.min(this.minimumIdle, this.getMaximumPoolSize());
+    }
+
+    /**
+     * @param storageSetting the storage setting to use the connection timeout of, if the pool has none
+     * @return returns the milliseconds to wait for a connection of the pool, at least 250
+     */
+    public int getConnectionTimeout(StorageSetting storageSetting) {
+        return this.connectionTimeout <= 0 ? storageSetting.getConnectionTimeout() : Math.max(250, this.connectionTimeout);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.configuration;
+
+public class PruneSetting {
+
+    private final int inactiveDays;
+    private final int batchSize;
+    private final int batchPause;
+    private final int hour;
+    private final int interval;
+
+    /**
+     * @param inactiveDays the days since the last quit after which a player is deleted, 0 to never delete players
+     * @param batchSize    the players to delete in one statement
+     * @param batchPause   the milliseconds to wait between two batches
+     * @param hour         the hour of the day to start the first run at (ex. outside of the peak hours), -1 to start right away
+     * @param interval     the hours between two runs
+     */
+    public PruneSetting(int inactiveDays, int batchSize, int batchPause, int hour, int interval) {
+        this.inactiveDays = inactiveDays;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.hour = hour;
+        this.interval = interval;
+    }
+
+    public static PruneSetting getDefault() {
+        return new PruneSetting(0, 500, 250, 4, 24);
+    }
+
+    public boolean isEnabled() {
+        return this.inactiveDays > 0;
+    }
+
+    public int getInactiveDays() {
+        return this.inactiveDays;
+    }
+
+    public int getBatchSize() {
+        return Math.max(1, this.batchSize);
+    }
+
+    public int getBatchPause() {
+        return Math.max(0, this.batchPause);
+    }
+
+    public int getHour() {
+        return this.hour < 0 || this.hour > 23 ? -1 : this.hour;
+    }
+
+    public int getInterval() {
+        return Math.max(1, this.interval);
+    }
+}
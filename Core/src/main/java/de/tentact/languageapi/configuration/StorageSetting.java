@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.configuration;
+
+public class StorageSetting {
+
+    private final int connectionTimeout;
+    private final int queryTimeout;
+    private final int failureThreshold;
+    private final int openDuration;
+    private final int writeQueueSize;
+
+    /**
+     * @param connectionTimeout the milliseconds to wait for a connection of the pool, at least 250
+     * @param queryTimeout      the seconds a statement may take, 0 to wait forever
+     * @param failureThreshold  the connection failures in a row, which stop calling the database
+     * @param openDuration      the seconds to wait before the database is called again after it failed
+     * @param writeQueueSize    the writes to keep while the database is unavailable, further writes are dropped
+     */
+    public StorageSetting(int connectionTimeout, int queryTimeout, int failureThreshold, int openDuration, int writeQueueSize) {
+        this.connectionTimeout = connectionTimeout;
+        this.queryTimeout = queryTimeout;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.writeQueueSize = writeQueueSize;
+    }
+
+    public static StorageSetting getDefault() {
+        return new StorageSetting(2000, 3, 5, 10, 10_000);
+    }
+
+    public int getConnectionTimeout() {
+        return Math.max(250, this.connectionTimeout);
+    }
+
+    public int getQueryTimeout() {
+        return Math.max(0, this.queryTimeout);
+    }
+
+    public int getFailureThreshold() {
+        return this.failureThreshold;
+    }
+
+    public int getOpenDuration() {
+        return this.openDuration;
+    }
+
+    public int getWriteQueueSize() {
+        return this.writeQueueSize;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.event;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Calls the listeners without locking, the subscriptions are copied on write as they rarely change.
+ * A failing listener is printed and does not stop the other listeners
+ *
+ * @since 2.0
+ */
+public class DefaultLanguageEventBus implements LanguageEventBus {
+
+    private final List<Subscription<?>> subscriptions = new CopyOnWriteArrayList<>();
+    private final Executor asyncExecutor;
+
+    public DefaultLanguageEventBus(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    @Override
+    public <T extends LanguageEvent> void subscribe(@NotNull Class<T> eventClass, @NotNull Consumer<? super T> listener, boolean async) {
+        this.subscriptions.add(new Subscription<>(eventClass, listener, async));
+    }
+
+    @Override
+    public void unsubscribe(@NotNull Consumer<?> listener) {
+        this.subscriptions.removeIf(subscription -> subscription.listener == listener);
+    }
+
+    @Override
+    public void post(@NotNull LanguageEvent event) {
+        for (Subscription<?> subscription : this.subscriptions) {
+            if (!subscription.eventClass.isInstance(event)) {
+                continue;
+            }
+            if (subscription.async) {
+                this.asyncExecutor.execute(() -> subscription.call(event));
+            } else {
+                subscription.call(event);
+            }
+        }
+    }
+
+    private static class Subscription<T extends LanguageEvent> {
+
+        private final Class<T> eventClass;
+        private final Consumer<? super T> listener;
+        private final boolean async;
+
+        private Subscription(Class<T> eventClass, Consumer<? super T> listener, boolean async) {
+            this.eventClass = eventClass;
+            this.listener = listener;
+            this.async = async;
+        }
+
+        private void call(LanguageEvent event) {
+            try {
+                this.listener.accept(this.eventClass.cast(event));
+            } catch (RuntimeException exception) {
+                exception.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.i18n;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A translation in the MiniMessage format, parsed once into a {@link Component}.
+ * The parameter slots are kept as marker characters in the parsed tree, so rendering only resolves them without parsing again.
+ * Instances are immutable and can be shared between threads.
+ *
+ * @since 2.0
+ */
+public final class ComponentTemplate {
+
+    /*
+    Markers are single code points of the supplementary private use area, so styling tags like gradients keep them in one piece
+     */
+    private static final int FIRST_MARKER = 0x100000;
+    private static final int LAST_MARKER = 0x10FFFD;
+    private static final LegacyComponentSerializer HEX_SERIALIZER = LegacyComponentSerializer.builder()
+            .character(LegacyComponentSerializer.SECTION_CHAR)
+            .hexColors()
+            .useUnusualXRepeatedCharacterHexFormat()
+            .build();
+    private static final LegacyComponentSerializer LEGACY_SERIALIZER = LegacyComponentSerializer.legacySection();
+
+    private final Component component;
+    private final MessageTemplate messageTemplate;
+    private final int slotCount;
+
+    private ComponentTemplate(Component component, MessageTemplate messageTemplate, int slotCount) {
+        this.component = component;
+        this.messageTemplate = messageTemplate;
+        this.slotCount = slotCount;
+    }
+
+    /**
+     * Parses a message in the MiniMessage format
+     *
+     * @param message         the translated message
+     * @param parameters      the parameters registered for the translationkey
+     * @param languageFormats the formats of the language of the message
+     * @return returns the parsed template
+     */
+    @NotNull
+    public static ComponentTemplate parse(@NotNull String message, @NotNull Collection<String> parameters, @NotNull LanguageFormats languageFormats) {
+        MessageTemplate messageTemplate = MessageTemplate.compile(message, parameters, languageFormats);
+        int slotCount = Math.min(messageTemplate.getSlotCount(), LAST_MARKER - FIRST_MARKER + 1);
+        String[] markers = new String[messageTemplate.getSlotCount()];
+        for (int i = 0; i < markers.length; i++) {
+            markers[i] = i < slotCount ? new String(Character.toChars(FIRST_MARKER + i)) : messageTemplate.getSlotSource(i);
+        }
+        Component component = MiniMessage.miniMessage().deserialize(messageTemplate.renderWithSlotMarkers(markers));
+        return new ComponentTemplate(component, messageTemplate, slotCount);
+    }
+
+    /**
+     * Deserializes a message in the section sign format, used for translations which are not in the MiniMessage format
+     *
+     * @param message the message to deserialize
+     * @return returns the deserialized component
+     */
+    @NotNull
+    public static Component deserializeLegacy(@NotNull String message) {
+        return HEX_SERIALIZER.deserialize(message);
+    }
+
+    /**
+     * @return returns the parsed component with the parameters as text
+     */
+    @NotNull
+    public Component render() {
+        return this.render(new Object[0]);
+    }
+
+    /**
+     * Renders the template with named arguments, values which are a {@link ComponentLike} are inserted as they are
+     *
+     * @param parameterValuePairs alternating parameter names and values (ex. "%PLAYER%", name, "%COINS%", coins)
+     * @return returns the rendered component
+     */
+    @NotNull
+    public Component render(@NotNull Object... parameterValuePairs) {
+        if (this.slotCount == 0) {
+            return this.component;
+        }
+        return this.replaceMarkers(this.component, parameterValuePairs);
+    }
+
+    /**
+     * Serializes the parsed component into the section sign format, the parameter slots stay as they are
+     *
+     * @param downsampleHexColors whether hex colors should be replaced by the nearest legacy color
+     * @return returns the serialized message
+     */
+    @NotNull
+    public String serialize(boolean downsampleHexColors) {
+        String serialized = (downsampleHexColors ? LEGACY_SERIALIZER : HEX_SERIALIZER).serialize(this.component);
+        for (int i = 0; i < this.slotCount; i++) {
+            serialized = serialized.replace(new String(Character.toChars(FIRST_MARKER + i)), this.messageTemplate.getSlotSource(i));
+        }
+        return serialized;
+    }
+
+    private Component replaceMarkers(Component component, Object[] parameterValuePairs) {
+        List<Component> children = component.children();
+        List<Component> replacedChildren = null;
+        for (int i = 0; i < children.size(); i++) {
+            Component child = children.get(i);
+            Component replacedChild = this.replaceMarkers(child, parameterValuePairs);
+            if (replacedChild != child) {
+                if (replacedChildren == null) {
+                    replacedChildren = new ArrayList<>(children);
+                }
+                replacedChildren.set(i, replacedChild);
+            }
+        }
+        if (component instanceof TextComponent && this.containsMarker(((TextComponent) component).content())) {
+            return this.splitContent((TextComponent) component, replacedChildren == null ? children : replacedChildren, parameterValuePairs);
+        }
+        return replacedChildren == null ? component : component.children(replacedChildren);
+    }
+
+    private Component splitContent(TextComponent component, List<Component> children, Object[] parameterValuePairs) {
+        //The parts become children, so they inherit the style of the text they were in
+        String content = component.content();
+        List<Component> parts = new ArrayList<>(children.size() + 3);
+        int literalStart = 0;
+        int position = 0;
+        while (position < content.length()) {
+            int codePoint = content.codePointAt(position);
+            int slot = codePoint - FIRST_MARKER;
+            int next = position + Character.charCount(codePoint);
+            if (slot >= 0 && slot < this.slotCount) {
+                if (position > literalStart) {
+                    parts.add(Component.text(content.substring(literalStart, position)));
+                }
+                parts.add(this.valueOf(slot, parameterValuePairs));
+                literalStart = next;
+            }
+            position = next;
+        }
+        if (literalStart < content.length()) {
+            parts.add(Component.text(content.substring(literalStart)));
+        }
+        parts.addAll(children);
+        return Component.text().style(component.style()).append(parts).build();
+    }
+
+    private Component valueOf(int slot, Object[] parameterValuePairs) {
+        //Later pairs win, like in MessageTemplate#renderNamed
+        String parameter = this.messageTemplate.getSlotParameter(slot);
+        for (int i = parameterValuePairs.length - 2; i >= 0; i -= 2) {
+            if (parameter.equals(parameterValuePairs[i]) && parameterValuePairs[i + 1] instanceof ComponentLike) {
+                return ((ComponentLike) parameterValuePairs[i + 1]).asComponent();
+            }
+        }
+        return Component.text(this.messageTemplate.renderSlot(slot, parameterValuePairs));
+    }
+
+    private boolean containsMarker(String content) {
+        for (int i = 0; i < content.length(); i++) {
+            if (Character.isHighSurrogate(content.charAt(i)) && content.codePointAt(i) >= FIRST_MARKER) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.i18n;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.text.NumberFormat;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The formatters of a language, created once per language and shared by all of its templates.
+ * {@link NumberFormat} is not thread-safe, so every thread gets its own copy, {@link DateTimeFormatter}s are immutable and shared.
+ *
+ * @since 2.0
+ */
+public final class LanguageFormats {
+
+    private static final Pattern LANGUAGE_PATTERN = Pattern.compile("^([a-zA-Z]{2,3})(?:[-_]?([a-zA-Z]{2}))?$");
+    private static final Map<String, String> ISO_LANGUAGES = new HashMap<>();
+    private static final Set<String> ISO_COUNTRIES = new HashSet<>(Arrays.asList(Locale.getISOCountries()));
+    private static final Map<String, LanguageFormats> LANGUAGE_FORMATS = new ConcurrentHashMap<>();
+
+    /**
+     * The formats used if no language is known
+     */
+    public static final LanguageFormats ROOT = new LanguageFormats(Locale.ROOT);
+
+    static {
+        //Both the two letter and the three letter codes of a language, ex. de and deu
+        for (String language : Locale.getISOLanguages()) {
+            ISO_LANGUAGES.put(language, language);
+            ISO_LANGUAGES.putIfAbsent(new Locale(language).getISO3Language(), language);
+        }
+    }
+
+    private final Locale locale;
+    private final PluralRule pluralRule;
+    private final ThreadLocal<NumberFormat> numberFormat;
+    private final ThreadLocal<NumberFormat> integerFormat;
+    private final ThreadLocal<NumberFormat> percentFormat;
+    private final Map<String, DateTimeFormatter> dateTimeFormatters = new ConcurrentHashMap<>();
+
+    private LanguageFormats(Locale locale) {
+        this.locale = locale;
+        this.pluralRule = PluralRule.forLocale(locale);
+        NumberFormat numberFormat = NumberFormat.getNumberInstance(locale);
+        NumberFormat integerFormat = NumberFormat.getIntegerInstance(locale);
+        NumberFormat percentFormat = NumberFormat.getPercentInstance(locale);
+        this.numberFormat = ThreadLocal.withInitial(() -> (NumberFormat) numberFormat.clone());
+        this.integerFormat = ThreadLocal.withInitial(() -> (NumberFormat) integerFormat.clone());
+        this.percentFormat = ThreadLocal.withInitial(() -> (NumberFormat) percentFormat.clone());
+    }
+
+    /**
+     * @param language the language to get the formats of (ex. deDE, en_US, fr)
+     * @return returns the cached formats of the language
+     */
+    @NotNull
+    public static LanguageFormats of(@NotNull String language) {
+        return LANGUAGE_FORMATS.computeIfAbsent(language.toLowerCase(), key -> new LanguageFormats(toLocale(language)));
+    }
+
+    /**
+     * Derives the {@link Locale} from the name of a language
+     *
+     * Codes are only used if they are ISO codes, so a name like czech is not read as cze_CH
+     *
+     * @param language the name of the language (ex. deDE, en_US, fr or english)
+     * @return returns the locale of the language, {@link Locale#ROOT} if the name is unknown
+     */
+    @NotNull
+    public static Locale toLocale(@NotNull String language) {
+        Matcher matcher = LANGUAGE_PATTERN.matcher(language);
+        if (matcher.matches()) {
+            String languageCode = ISO_LANGUAGES.get(matcher.group(1).toLowerCase());
+            String countryCode = matcher.group(2) == null ? null : matcher.group(2).toUpperCase();
+            if (languageCode != null && (countryCode == null || ISO_COUNTRIES.contains(countryCode))) {
+                return countryCode == null ? new Locale(languageCode) : new Locale(languageCode, countryCode);
+            }
+        }
+        for (Locale locale : Locale.getAvailableLocales()) {
+            if (locale.getCountry().isEmpty() && locale.getDisplayLanguage(Locale.ENGLISH).equalsIgnoreCase(language)) {
+                return locale;
+            }
+        }
+        return Locale.ROOT;
+    }
+
+    @NotNull
+    public Locale getLocale() {
+        return this.locale;
+    }
+
+    @NotNull
+    public PluralRule getPluralRule() {
+        return this.pluralRule;
+    }
+
+    /**
+     * Formats a number with the number format of the language, values which are no {@link Number} are returned as they are
+     *
+     * @param value the number to format
+     * @param style the style of the format, "integer", "percent" or empty
+     * @return returns the formatted number
+     */
+    @NotNull
+    public String formatNumber(Object value, @NotNull String style) {
+        if (!(value instanceof Number)) {
+            return String.valueOf(value);
+        }
+        NumberFormat format;
+        switch (style) {
+            case "integer":
+                format = this.integerFormat.get();
+                break;
+            case "percent":
+                format = this.percentFormat.get();
+                break;
+            default:
+                format = this.numberFormat.get();
+        }
+        return format.format(value);
+    }
+
+    /**
+     * Gets a formatter for dates and times, created once per type and style
+     *
+     * @param type  "date", "time" or "datetime"
+     * @param style "short", "medium", "long", "full", a pattern (ex. dd.MM.yyyy) or empty for medium
+     * @return returns the formatter in the zone of the server
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    @NotNull
+    public DateTimeFormatter getDateTimeFormatter(@NotNull String type, @NotNull String style) {
+        return this.dateTimeFormatters.computeIfAbsent(type + ',' + style, key -> {
+            DateTimeFormatter formatter;
+            FormatStyle formatStyle = this.toFormatStyle(style);
+            if (formatStyle == null) {
+                formatter = DateTimeFormatter.ofPattern(style, this.locale);
+            } else if (type.equals("time")) {
+                formatter = DateTimeFormatter.ofLocalizedTime(formatStyle);
+            } else if (type.equals("datetime")) {
+                formatter = DateTimeFormatter.ofLocalizedDateTime(formatStyle);
+            } else {
+                formatter = DateTimeFormatter.ofLocalizedDate(formatStyle);
+            }
+            return formatter.withLocale(this.locale).withZone(ZoneId.systemDefault());
+        });
+    }
+
+    /**
+     * Formats a date or time, supported are {@link TemporalAccessor}, {@link Date} and epoch milliseconds
+     *
+     * @param value     the date or time to format
+     * @param formatter the formatter to use
+     * @return returns the formatted value, values of other types are returned as they are
+     */
+    @NotNull
+    public String formatTemporal(Object value, @NotNull DateTimeFormatter formatter) {
+        TemporalAccessor temporal;
+        if (value instanceof TemporalAccessor) {
+            temporal = (TemporalAccessor) value;
+        } else if (value instanceof Date) {
+            temporal = ((Date) value).toInstant();
+        } else if (value instanceof Long) {
+            temporal = Instant.ofEpochMilli((Long) value);
+        } else {
+            return String.valueOf(value);
+        }
+        try {
+            return formatter.format(temporal);
+        } catch (RuntimeException exception) {
+            //ex. a LocalDate formatted with a time style
+            return String.valueOf(value);
+        }
+    }
+
+    private FormatStyle toFormatStyle(String style) {
+        switch (style) {
+            case "":
+            case "medium":
+                return FormatStyle.MEDIUM;
+            case "short":
+                return FormatStyle.SHORT;
+            case "long":
+                return FormatStyle.LONG;
+            case "full":
+                return FormatStyle.FULL;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.i18n;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of the available languages with their fallback chains, created again whenever the languages change.
+ * A chain starts with the language itself, continues with the main variant of its language (ex. deAT to deDE) and ends with the default language.
+ * The index also maps client locales (ex. de_at, de) to the languages, so a locale is resolved with a single map lookup.
+ *
+ * @since 2.0
+ */
+public final class LanguageIndex {
+
+    private final String[] languages;
+    private final Map<String, Integer> ids;
+    private final int[][] fallbackChains;
+    private final Map<String, Integer> locales;
+    private final int defaultLanguageId;
+    private final long creationTime;
+
+    private LanguageIndex(String[] languages, Map<String, Integer> ids, int[][] fallbackChains, Map<String, Integer> locales, int defaultLanguageId) {
+        this.languages = languages;
+        this.ids = ids;
+        this.fallbackChains = fallbackChains;
+        this.locales = locales;
+        this.defaultLanguageId = defaultLanguageId;
+        this.creationTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Creates the index and computes the fallback chains of all languages
+     *
+     * @param languages       the available languages
+     * @param defaultLanguage the default language, which ends every chain
+     * @return returns the created index
+     */
+    @NotNull
+    public static LanguageIndex create(@NotNull List<String> languages, @NotNull String defaultLanguage) {
+        String[] languageArray = languages.toArray(new String[0]);
+        Map<String, Integer> ids = new HashMap<>(languageArray.length * 2);
+        for (int i = 0; i < languageArray.length; i++) {
+            ids.putIfAbsent(languageArray[i].toLowerCase(), i);
+        }
+        int defaultLanguageId = ids.getOrDefault(defaultLanguage.toLowerCase(), -1);
+
+        int[] parents = new int[languageArray.length];
+        for (int i = 0; i < languageArray.length; i++) {
+            parents[i] = i == defaultLanguageId ? -1 : findParent(languageArray, i, defaultLanguageId);
+        }
+        int[][] fallbackChains = new int[languageArray.length][];
+        for (int i = 0; i < languageArray.length; i++) {
+            List<Integer> chain = new ArrayList<>(3);
+            for (int id = i; id != -1 && !chain.contains(id); id = parents[id]) {
+                chain.add(id);
+            }
+            fallbackChains[i] = chain.stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new LanguageIndex(languageArray, ids, fallbackChains, createLocales(languageArray, parents), defaultLanguageId);
+    }
+
+    /**
+     * @param language the language to get the id of
+     * @return returns the id of the language, -1 if the language is not available
+     */
+    public int getId(@NotNull String language) {
+        Integer id = this.ids.get(language.toLowerCase());
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Resolves the language of a client locale, a locale without an exact language uses the main variant of its language (ex. de_CH to deDE)
+     *
+     * @param locale the locale of the client (ex. en_us, en_US or en-US)
+     * @return returns the id of the language, -1 if no language matches the locale
+     * @since 2.0
+     */
+    public int getLocaleId(@NotNull String locale) {
+        Integer id = this.locales.get(locale);
+        if (id != null) {
+            return id;
+        }
+        String normalizedLocale = normalizeLocale(locale);
+        id = this.locales.get(normalizedLocale);
+        if (id == null && normalizedLocale.indexOf('_') != -1) {
+            id = this.locales.get(normalizedLocale.substring(0, normalizedLocale.indexOf('_')));
+        }
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @return returns the id of the default language, -1 if the default language is not available
+     */
+    public int getDefaultLanguageId() {
+        return this.defaultLanguageId;
+    }
+
+    /**
+     * @param id the id of the language
+     * @return returns the name of the language
+     */
+    @NotNull
+    public String getLanguage(int id) {
+        return this.languages[id];
+    }
+
+    /**
+     * @param id the id of the language
+     * @return returns the ids of the languages to look a translation up in, starting with the language itself
+     */
+    @NotNull
+    public int[] getFallbackChain(int id) {
+        return this.fallbackChains[id];
+    }
+
+    /**
+     * @return returns all available languages
+     */
+    @NotNull
+    public List<String> getLanguages() {
+        List<String> languages = new ArrayList<>(this.languages.length);
+        Collections.addAll(languages, this.languages);
+        return languages;
+    }
+
+    /**
+     * @return returns the time in millis when this index was created
+     */
+    public long getCreationTime() {
+        return this.creationTime;
+    }
+
+    private static Map<String, Integer> createLocales(String[] languages, int[] parents) {
+        Map<String, Integer> locales = new HashMap<>(languages.length * 4);
+        for (int i = 0; i < languages.length; i++) {
+            Locale locale = LanguageFormats.toLocale(languages[i]);
+            if (locale.getLanguage().isEmpty()) {
+                continue;
+            }
+            locales.putIfAbsent(normalizeLocale(locale.toString()), i);
+        }
+        //A locale of a language without an exact match uses the same variant as the fallback chains
+        for (int i = 0; i < languages.length; i++) {
+            Locale locale = LanguageFormats.toLocale(languages[i]);
+            if (locale.getLanguage().isEmpty() || locales.containsKey(locale.getLanguage())) {
+                continue;
+            }
+            int parent = parents[i];
+            boolean sameLanguage = parent != -1 && LanguageFormats.toLocale(languages[parent]).getLanguage().equals(locale.getLanguage());
+            locales.put(locale.getLanguage(), sameLanguage ? parent : i);
+        }
+        return locales;
+    }
+
+    private static String normalizeLocale(String locale) {
+        //Keeps the language and the country (ex. zh_CN_#Hans to zh_cn)
+        StringBuilder builder = new StringBuilder(5);
+        int segments = 0;
+        for (int i = 0; i < locale.length(); i++) {
+            char character = locale.charAt(i);
+            if (character == '_' || character == '-') {
+                if (++segments == 2) {
+                    break;
+                }
+                builder.append('_');
+                continue;
+            }
+            builder.append(Character.toLowerCase(character));
+        }
+        return builder.toString();
+    }
+
+    private static int findParent(String[] languages, int id, int defaultLanguageId) {
+        Locale locale = LanguageFormats.toLocale(languages[id]);
+        if (locale.getLanguage().isEmpty() || locale.getCountry().isEmpty()) {
+            return defaultLanguageId;
+        }
+        //The main variant of a language is the one without country or with the country of the same name (ex. deDE, frFR)
+        for (int i = 0; i < languages.length; i++) {
+            Locale candidate = LanguageFormats.toLocale(languages[i]);
+            if (i == id || !candidate.getLanguage().equals(locale.getLanguage())) {
+                continue;
+            }
+            if (i == defaultLanguageId || candidate.getCountry().isEmpty() || candidate.getCountry().equalsIgnoreCase(candidate.getLanguage())) {
+                return i;
+            }
+        }
+        return defaultLanguageId;
+    }
+}
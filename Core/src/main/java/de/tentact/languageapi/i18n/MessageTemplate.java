@@ -0,0 +1,520 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.i18n;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A translation compiled into literal segments and parameter slots, so that rendering is a single pass over the message.
+ * Besides plain parameters (ex. %COINS%) a slot can format its value with the formats of the language:
+ * <ul>
+ *     <li>{%COINS%,number} or {%COINS%,number,integer} or {%COINS%,number,percent}</li>
+ *     <li>{%DATE%,date}, {%DATE%,time} or {%DATE%,datetime} with the style short, medium, long, full or a pattern (ex. {%DATE%,date,dd.MM.yyyy})</li>
+ *     <li>{%COINS%,plural,=0{no coins} one{# coin} other{# coins}} where # is the formatted number</li>
+ * </ul>
+ * Instances are immutable and can be shared between threads.
+ *
+ * @since 2.0
+ */
+public final class MessageTemplate {
+
+    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("%[A-Za-z0-9_.-]+%");
+    private static final int NUMBER_SIGN_SLOT = -1;
+    private static final int MAX_POOLED_CAPACITY = 8192;
+    private static final ThreadLocal<StringBuilder> BUILDER_POOL = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private final String message;
+    private final String[] parameters;
+    private final String[] literals;
+    private final int[] slots;
+    private final SlotFormat[] formats;
+    private final String[] sources;
+
+    private MessageTemplate(String message, String[] parameters, String[] literals, int[] slots, SlotFormat[] formats, String[] sources) {
+        this.message = message;
+        this.parameters = parameters;
+        this.literals = literals;
+        this.slots = slots;
+        this.formats = formats;
+        this.sources = sources;
+    }
+
+    /**
+     * Compiles a message into a {@link MessageTemplate} with the formats of {@link LanguageFormats#ROOT}
+     *
+     * @param message    the translated message
+     * @param parameters the parameters registered for the translationkey, their order defines the positional order
+     * @return returns the compiled template
+     */
+    @NotNull
+    public static MessageTemplate compile(@NotNull String message, @NotNull Collection<String> parameters) {
+        return compile(message, parameters, LanguageFormats.ROOT);
+    }
+
+    /**
+     * Compiles a message into a {@link MessageTemplate}
+     *
+     * @param message         the translated message
+     * @param parameters      the parameters registered for the translationkey, their order defines the positional order
+     * @param languageFormats the formats of the language of the message
+     * @return returns the compiled template
+     */
+    @NotNull
+    public static MessageTemplate compile(@NotNull String message, @NotNull Collection<String> parameters, @NotNull LanguageFormats languageFormats) {
+        List<String> templateParameters = new ArrayList<>(parameters.size());
+        for (String parameter : parameters) {
+            if (parameter != null && !parameter.isEmpty() && !templateParameters.contains(parameter)) {
+                templateParameters.add(parameter);
+            }
+        }
+        Matcher matcher = PLACEHOLDER_PATTERN.matcher(message);
+        while (matcher.find()) {
+            if (!templateParameters.contains(matcher.group())) {
+                templateParameters.add(matcher.group());
+            }
+        }
+        if (templateParameters.isEmpty()) {
+            return new MessageTemplate(message, new String[0], new String[]{message}, new int[0], new SlotFormat[0], new String[0]);
+        }
+        return new Compiler(templateParameters.toArray(new String[0]), languageFormats).compile(message, false);
+    }
+
+    /**
+     * @return returns the message without any parameter replaced
+     */
+    @NotNull
+    public String render() {
+        return this.message;
+    }
+
+    /**
+     * Renders the template with positional arguments
+     *
+     * @param arguments the values in the order of {@link MessageTemplate#getParameters()}, missing values leave the parameter untouched
+     * @return returns the rendered message
+     */
+    @NotNull
+    public String render(@NotNull Object... arguments) {
+        if (this.slots.length == 0 || arguments.length == 0) {
+            return this.message;
+        }
+        StringBuilder builder = acquireBuilder();
+        try {
+            this.appendTo(builder, arguments, false, null);
+            return builder.toString();
+        } finally {
+            releaseBuilder(builder);
+        }
+    }
+
+    /**
+     * Renders the template with named arguments
+     *
+     * @param parameterValuePairs alternating parameter names and values (ex. "%PLAYER%", name, "%COINS%", coins)
+     * @return returns the rendered message
+     */
+    @NotNull
+    public String renderNamed(@NotNull Object... parameterValuePairs) {
+        if (parameterValuePairs.length < 2) {
+            return this.message;
+        }
+        String rendered = this.message;
+        if (this.slots.length != 0) {
+            StringBuilder builder = acquireBuilder();
+            try {
+                this.appendTo(builder, parameterValuePairs, true, null);
+                rendered = builder.toString();
+            } finally {
+                releaseBuilder(builder);
+            }
+        }
+        //Replacements for parameters the template does not know of keep the old replace semantics
+        for (int i = 0; i + 1 < parameterValuePairs.length; i += 2) {
+            String parameter = String.valueOf(parameterValuePairs[i]);
+            if (this.indexOf(parameter) == -1 && rendered.contains(parameter)) {
+                rendered = rendered.replace(parameter, String.valueOf(parameterValuePairs[i + 1]));
+            }
+        }
+        return rendered;
+    }
+
+    /**
+     * @param parameter the parameter to look up
+     * @return returns the positional index of the parameter, -1 if the template has no such parameter
+     */
+    public int indexOf(@NotNull String parameter) {
+        for (int i = 0; i < this.parameters.length; i++) {
+            if (this.parameters[i].equals(parameter)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return returns the parameters of this template in positional order
+     */
+    @NotNull
+    public List<String> getParameters() {
+        return Arrays.asList(this.parameters.clone());
+    }
+
+    int getSlotCount() {
+        return this.slots.length;
+    }
+
+    String getSlotParameter(int slot) {
+        return this.parameters[this.slots[slot]];
+    }
+
+    String getSlotSource(int slot) {
+        return this.sources[slot];
+    }
+
+    String renderWithSlotMarkers(String[] markers) {
+        StringBuilder builder = new StringBuilder(this.message.length());
+        for (int i = 0; i < this.slots.length; i++) {
+            builder.append(this.literals[i]).append(markers[i]);
+        }
+        return builder.append(this.literals[this.slots.length]).toString();
+    }
+
+    String renderSlot(int slot, Object[] parameterValuePairs) {
+        int valueIndex = findValue(this.parameters[this.slots[slot]], parameterValuePairs);
+        if (valueIndex == -1) {
+            return this.sources[slot];
+        }
+        if (this.formats[slot] == null) {
+            return String.valueOf(parameterValuePairs[valueIndex]);
+        }
+        StringBuilder builder = new StringBuilder();
+        this.formats[slot].appendTo(builder, parameterValuePairs[valueIndex], parameterValuePairs, true);
+        return builder.toString();
+    }
+
+    private void appendTo(StringBuilder builder, Object[] arguments, boolean named, Object numberSignValue) {
+        for (int i = 0; i < this.slots.length; i++) {
+            builder.append(this.literals[i]);
+            int parameterIndex = this.slots[i];
+            if (parameterIndex == NUMBER_SIGN_SLOT) {
+                this.formats[i].appendTo(builder, numberSignValue, arguments, named);
+                continue;
+            }
+            int valueIndex = named ? findValue(this.parameters[parameterIndex], arguments) : (parameterIndex < arguments.length ? parameterIndex : -1);
+            if (valueIndex == -1) {
+                builder.append(this.sources[i]);
+            } else if (this.formats[i] == null) {
+                builder.append(arguments[valueIndex]);
+            } else {
+                this.formats[i].appendTo(builder, arguments[valueIndex], arguments, named);
+            }
+        }
+        builder.append(this.literals[this.slots.length]);
+    }
+
+    private static int findValue(String parameter, Object[] parameterValuePairs) {
+        //Later pairs win, like consecutive replace calls would
+        for (int i = parameterValuePairs.length - 2; i >= 0; i -= 2) {
+            if (parameter.equals(parameterValuePairs[i])) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static StringBuilder acquireBuilder() {
+        StringBuilder builder = BUILDER_POOL.get();
+        if (builder == null) {
+            //The pooled builder is in use further up the stack (ex. an argument rendering another template)
+            return new StringBuilder(256);
+        }
+        BUILDER_POOL.set(null);
+        return builder;
+    }
+
+    private static void releaseBuilder(StringBuilder builder) {
+        if (builder.capacity() > MAX_POOLED_CAPACITY) {
+            BUILDER_POOL.set(new StringBuilder(256));
+            return;
+        }
+        builder.setLength(0);
+        BUILDER_POOL.set(builder);
+    }
+
+    /**
+     * Splits a message into literals and slots, the plural branches are compiled into nested templates sharing the parameters
+     */
+    private static final class Compiler {
+
+        private final String[] parameters;
+        private final Integer[] matchOrder;
+        private final LanguageFormats languageFormats;
+
+        private Compiler(String[] parameters, LanguageFormats languageFormats) {
+            this.parameters = parameters;
+            this.languageFormats = languageFormats;
+            //Longer parameters first, so %KEY% never wins against %KEYS%
+            this.matchOrder = new Integer[parameters.length];
+            for (int i = 0; i < this.matchOrder.length; i++) {
+                this.matchOrder[i] = i;
+            }
+            Arrays.sort(this.matchOrder, Comparator.comparingInt((Integer index) -> parameters[index].length()).reversed());
+        }
+
+        private MessageTemplate compile(String message, boolean pluralBranch) {
+            List<String> literals = new ArrayList<>();
+            List<Integer> slots = new ArrayList<>();
+            List<SlotFormat> formats = new ArrayList<>();
+            List<String> sources = new ArrayList<>();
+            int literalStart = 0;
+            int position = 0;
+            while (position < message.length()) {
+                int end = -1;
+                if (pluralBranch && message.charAt(position) == '#') {
+                    slots.add(NUMBER_SIGN_SLOT);
+                    formats.add(new NumberSlotFormat(this.languageFormats, ""));
+                    end = position + 1;
+                } else if (message.charAt(position) == '{') {
+                    end = this.compileFormat(message, position, slots, formats);
+                } else {
+                    int matchedParameter = this.matchParameter(message, position);
+                    if (matchedParameter != -1) {
+                        slots.add(matchedParameter);
+                        formats.add(null);
+                        end = position + this.parameters[matchedParameter].length();
+                    }
+                }
+                if (end == -1) {
+                    position++;
+                    continue;
+                }
+                literals.add(message.substring(literalStart, position));
+                sources.add(message.substring(position, end));
+                position = end;
+                literalStart = position;
+            }
+            literals.add(message.substring(literalStart));
+
+            int[] slotArray = new int[slots.size()];
+            for (int i = 0; i < slotArray.length; i++) {
+                slotArray[i] = slots.get(i);
+            }
+            return new MessageTemplate(message,
+                    this.parameters,
+                    literals.toArray(new String[0]),
+                    slotArray,
+                    formats.toArray(new SlotFormat[0]),
+                    sources.toArray(new String[0]));
+        }
+
+        private int matchParameter(String message, int position) {
+            for (int index : this.matchOrder) {
+                if (message.startsWith(this.parameters[index], position)) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * @return returns the end of the format block, -1 if there is no valid format block at the position
+         */
+        private int compileFormat(String message, int start, List<Integer> slots, List<SlotFormat> formats) {
+            int parameterIndex = this.matchParameter(message, start + 1);
+            if (parameterIndex == -1) {
+                return -1;
+            }
+            int typeStart = start + 1 + this.parameters[parameterIndex].length();
+            if (typeStart >= message.length() || message.charAt(typeStart) != ',') {
+                return -1;
+            }
+            int end = findClosingBrace(message, start);
+            if (end == -1) {
+                return -1;
+            }
+            String body = message.substring(typeStart + 1, end);
+            int styleStart = body.indexOf(',');
+            String type = (styleStart == -1 ? body : body.substring(0, styleStart)).trim();
+            String style = styleStart == -1 ? "" : body.substring(styleStart + 1).trim();
+
+            SlotFormat format;
+            switch (type) {
+                case "number":
+                    format = new NumberSlotFormat(this.languageFormats, style);
+                    break;
+                case "date":
+                case "time":
+                case "datetime":
+                    try {
+                        format = new TemporalSlotFormat(this.languageFormats, this.languageFormats.getDateTimeFormatter(type, style));
+                    } catch (IllegalArgumentException exception) {
+                        return -1;
+                    }
+                    break;
+                case "plural":
+                    format = this.compilePlural(style);
+                    break;
+                default:
+                    format = null;
+            }
+            if (format == null) {
+                return -1;
+            }
+            slots.add(parameterIndex);
+            formats.add(format);
+            return end + 1;
+        }
+
+        private SlotFormat compilePlural(String branches) {
+            Map<String, MessageTemplate> categories = new HashMap<>();
+            Map<Double, MessageTemplate> exactValues = new HashMap<>();
+            int position = 0;
+            while (position < branches.length()) {
+                int branchStart = branches.indexOf('{', position);
+                if (branchStart == -1) {
+                    break;
+                }
+                int branchEnd = findClosingBrace(branches, branchStart);
+                if (branchEnd == -1) {
+                    return null;
+                }
+                String selector = branches.substring(position, branchStart).trim();
+                MessageTemplate branch = this.compile(branches.substring(branchStart + 1, branchEnd), true);
+                if (selector.startsWith("=")) {
+                    try {
+                        exactValues.put(Double.parseDouble(selector.substring(1)), branch);
+                    } catch (NumberFormatException exception) {
+                        return null;
+                    }
+                } else {
+                    categories.put(selector, branch);
+                }
+                position = branchEnd + 1;
+            }
+            if (!categories.containsKey(PluralRule.OTHER)) {
+                return null;
+            }
+            return new PluralSlotFormat(this.languageFormats, categories, exactValues);
+        }
+
+        private static int findClosingBrace(String message, int start) {
+            int depth = 0;
+            for (int i = start; i < message.length(); i++) {
+                char current = message.charAt(i);
+                if (current == '{') {
+                    depth++;
+                } else if (current == '}' && --depth == 0) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private interface SlotFormat {
+
+        void appendTo(StringBuilder builder, Object value, Object[] arguments, boolean named);
+    }
+
+    private static final class NumberSlotFormat implements SlotFormat {
+
+        private final LanguageFormats languageFormats;
+        private final String style;
+
+        private NumberSlotFormat(LanguageFormats languageFormats, String style) {
+            this.languageFormats = languageFormats;
+            this.style = style;
+        }
+
+        @Override
+        public void appendTo(StringBuilder builder, Object value, Object[] arguments, boolean named) {
+            builder.append(this.languageFormats.formatNumber(value, this.style));
+        }
+    }
+
+    private static final class TemporalSlotFormat implements SlotFormat {
+
+        private final LanguageFormats languageFormats;
+        private final DateTimeFormatter formatter;
+
+        private TemporalSlotFormat(LanguageFormats languageFormats, DateTimeFormatter formatter) {
+            this.languageFormats = languageFormats;
+            this.formatter = formatter;
+        }
+
+        @Override
+        public void appendTo(StringBuilder builder, Object value, Object[] arguments, boolean named) {
+            builder.append(this.languageFormats.formatTemporal(value, this.formatter));
+        }
+    }
+
+    private static final class PluralSlotFormat implements SlotFormat {
+
+        private final LanguageFormats languageFormats;
+        private final Map<String, MessageTemplate> categories;
+        private final Map<Double, MessageTemplate> exactValues;
+
+        private PluralSlotFormat(LanguageFormats languageFormats, Map<String, MessageTemplate> categories, Map<Double, MessageTemplate> exactValues) {
+            this.languageFormats = languageFormats;
+            this.categories = categories;
+            this.exactValues = exactValues;
+        }
+
+        @Override
+        public void appendTo(StringBuilder builder, Object value, Object[] arguments, boolean named) {
+            double number;
+            if (value instanceof Number) {
+                number = ((Number) value).doubleValue();
+            } else {
+                try {
+                    number = Double.parseDouble(String.valueOf(value));
+                } catch (NumberFormatException exception) {
+                    this.categories.get(PluralRule.OTHER).appendTo(builder, arguments, named, value);
+                    return;
+                }
+            }
+            MessageTemplate branch = this.exactValues.get(number);
+            if (branch == null) {
+                branch = this.categories.get(this.languageFormats.getPluralRule().select(number));
+            }
+            if (branch == null) {
+                branch = this.categories.get(PluralRule.OTHER);
+            }
+            branch.appendTo(builder, arguments, named, value);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.i18n;
+
+import com.google.common.collect.ImmutableMap;
+import de.tentact.languageapi.configuration.DatabaseProvider;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Holds the parameters of every translationkey in memory, so parameter checks never query the database.
+ * The registry is changed by the same write path as the Parameter table, which also increases the parameter version in the languagemeta table.
+ * Other servers compare that version in the background and load the registry again once it changed.
+ *
+ * @since 2.0
+ */
+public final class ParameterRegistry {
+
+    public static final String META_NAME = "parameter";
+    private static final String[] NO_PARAMETER = new String[0];
+    private static final long VERSION_CHECK_INTERVAL = TimeUnit.SECONDS.toMillis(10);
+
+    private final DatabaseProvider databaseProvider;
+    private final Executor executor;
+    private final AtomicBoolean checking = new AtomicBoolean();
+    private volatile Map<String, String[]> parameters;
+    private volatile long version = -1;
+    private volatile long lastCheck;
+
+    /**
+     * @param databaseProvider the database to load the parameters from
+     * @param executor         the executor to compare the version on
+     */
+    public ParameterRegistry(DatabaseProvider databaseProvider, Executor executor) {
+        this.databaseProvider = databaseProvider;
+        this.executor = executor;
+    }
+
+    /**
+     * @param translationKey the translationkey to get the parameters of
+     * @return returns the parameters in their positional order, an empty list if the translationkey has none
+     */
+    @NotNull
+    public List<String> getParameter(@NotNull String translationKey) {
+        return new ArrayList<>(Arrays.asList(this.getParameterArray(translationKey)));
+    }
+
+    /**
+     * @param translationKey the translationkey to check
+     * @return whether the translationkey has at least one parameter
+     */
+    public boolean hasParameter(@NotNull String translationKey) {
+        return this.getParameterArray(translationKey).length != 0;
+    }
+
+    /**
+     * @param translationKey the translationkey to check
+     * @param parameter      the parameter to look for, the case is ignored
+     * @return whether the translationkey has the parameter
+     */
+    public boolean isParameter(@NotNull String translationKey, @NotNull String parameter) {
+        for (String s : this.getParameterArray(translationKey)) {
+            if (s.equalsIgnoreCase(parameter)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String[] getParameterArray(String translationKey) {
+        Map<String, String[]> parameters = this.parameters;
+        if (parameters == null) {
+            parameters = this.load();
+        } else {
+            this.checkVersion();
+        }
+        return parameters.getOrDefault(translationKey.toLowerCase(), NO_PARAMETER);
+    }
+
+    /**
+     * Adds the parameter after it was written to the database
+     *
+     * @param translationKey the translationkey of the parameter
+     * @param parameter      the parameter to add
+     */
+    public synchronized void add(@NotNull String translationKey, @NotNull String parameter) {
+        if (this.isParameter(translationKey, parameter)) {
+            return;
+        }
+        Map<String, String[]> parameters = new HashMap<>(this.parameters);
+        String[] current = parameters.getOrDefault(translationKey.toLowerCase(), NO_PARAMETER);
+        String[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = parameter;
+        parameters.put(translationKey.toLowerCase(), updated);
+        this.parameters = ImmutableMap.copyOf(parameters);
+    }
+
+    /**
+     * Removes the parameter after it was deleted from the database
+     *
+     * @param translationKey the translationkey of the parameter
+     * @param parameter      the parameter to remove
+     */
+    public synchronized void remove(@NotNull String translationKey, @NotNull String parameter) {
+        if (!this.isParameter(translationKey, parameter)) {
+            return;
+        }
+        Map<String, String[]> parameters = new HashMap<>(this.parameters);
+        String[] updated = Arrays.stream(parameters.get(translationKey.toLowerCase()))
+                .filter(s -> !s.equalsIgnoreCase(parameter))
+                .toArray(String[]::new);
+        if (updated.length == 0) {
+            parameters.remove(translationKey.toLowerCase());
+        } else {
+            parameters.put(translationKey.toLowerCase(), updated);
+        }
+        this.parameters = ImmutableMap.copyOf(parameters);
+    }
+
+    /**
+     * Removes every parameter of the translationkey after they were deleted from the database
+     *
+     * @param translationKey the translationkey to remove the parameters of
+     */
+    public synchronized void removeAll(@NotNull String translationKey) {
+        if (!this.hasParameter(translationKey)) {
+            return;
+        }
+        Map<String, String[]> parameters = new HashMap<>(this.parameters);
+        parameters.remove(translationKey.toLowerCase());
+        this.parameters = ImmutableMap.copyOf(parameters);
+    }
+
+    /**
+     * Increases the parameter version, so the other servers load their registry again. Has to be called after every write to the Parameter table.
+     * The own registry takes the new version if it knew the previous one, so its own writes do not load it again
+     *
+     * @param connection the connection the parameters were written with
+     * @throws SQLException if the version could not be updated
+     */
+    public void increaseVersion(@NotNull Connection connection) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement("UPDATE languagemeta SET version=version+1 WHERE name=?;")) {
+            preparedStatement.setString(1, META_NAME);
+            preparedStatement.execute();
+        }
+        long version = this.readVersion(connection);
+        synchronized (this) {
+            //Another server changed the parameters in between, so the next check still loads them
+            if (this.version != -1 && this.version == version - 1) {
+                this.version = version;
+            }
+        }
+    }
+
+    /**
+     * Loads every parameter from the database on the calling thread. If they could not be loaded, the previous parameters are kept
+     *
+     * @return returns the loaded parameters
+     */
+    @NotNull
+    public synchronized Map<String, String[]> load() {
+        Map<String, List<String>> loadedParameters = new HashMap<>();
+        long version;
+        try (Connection connection = this.databaseProvider.getReadConnection()) {
+            version = this.readVersion(connection);
+            try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT translationkey, parameter FROM Parameter ORDER BY id;");
+                 ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    loadedParameters.computeIfAbsent(resultSet.getString("translationkey").toLowerCase(), key -> new ArrayList<>())
+                            .add(resultSet.getString("parameter"));
+                }
+            }
+        } catch (SQLException throwable) {
+            throwable.printStackTrace();
+            this.lastCheck = System.currentTimeMillis();
+            if (this.parameters == null) {
+                //Nothing to keep, the version stays unknown, so the next check loads them again
+                this.parameters = ImmutableMap.of();
+            }
+            return this.parameters;
+        }
+        ImmutableMap.Builder<String, String[]> parameters = ImmutableMap.builder();
+        loadedParameters.forEach((translationKey, parameter) -> parameters.put(translationKey, parameter.toArray(NO_PARAMETER)));
+
+        this.parameters = parameters.build();
+        this.version = version;
+        this.lastCheck = System.currentTimeMillis();
+        return this.parameters;
+    }
+
+    private void checkVersion() {
+        if (System.currentTimeMillis() - this.lastCheck < VERSION_CHECK_INTERVAL || !this.checking.compareAndSet(false, true)) {
+            return;
+        }
+        this.executor.execute(() -> {
+            try (Connection connection = this.databaseProvider.getReadConnection()) {
+                if (this.readVersion(connection) != this.version) {
+                    this.load();
+                }
+            } catch (SQLException throwable) {
+                throwable.printStackTrace();
+            } finally {
+                this.lastCheck = System.currentTimeMillis();
+                this.checking.set(false);
+            }
+        });
+    }
+
+    private long readVersion(Connection connection) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT version FROM languagemeta WHERE name=?;")) {
+            preparedStatement.setString(1, META_NAME);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong("version") : -1;
+            }
+        }
+    }
+}
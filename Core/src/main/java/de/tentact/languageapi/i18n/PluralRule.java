@@ -0,0 +1,186 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.i18n;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+
+/**
+ * Plural rules for the cardinal numbers of the common languages, a subset of the CLDR plural rules.
+ * Numbers with a fraction are always of the category "other".
+ *
+ * @since 2.0
+ */
+public enum PluralRule {
+
+    /**
+     * No plural forms (ex. japanese, chinese, korean)
+     */
+    NONE {
+        @Override
+        protected String selectInteger(long number) {
+            return OTHER;
+        }
+    },
+    /**
+     * "one" for 1, "other" for everything else (ex. english, german, dutch, spanish, italian)
+     */
+    ONE_OTHER {
+        @Override
+        protected String selectInteger(long number) {
+            return number == 1 ? ONE : OTHER;
+        }
+    },
+    /**
+     * "one" for 0 and 1, "other" for everything else (ex. french, portuguese)
+     */
+    ZERO_ONE_OTHER {
+        @Override
+        protected String selectInteger(long number) {
+            return number == 0 || number == 1 ? ONE : OTHER;
+        }
+    },
+    /**
+     * "one" for 1, 21, 31..., "few" for 2-4, 22-24..., "many" for everything else (ex. russian, ukrainian)
+     */
+    EAST_SLAVIC {
+        @Override
+        protected String selectInteger(long number) {
+            long mod10 = number % 10;
+            long mod100 = number % 100;
+            if (mod10 == 1 && mod100 != 11) {
+                return ONE;
+            }
+            if (mod10 >= 2 && mod10 <= 4 && (mod100 < 12 || mod100 > 14)) {
+                return FEW;
+            }
+            return MANY;
+        }
+    },
+    /**
+     * "one" for 1, 21, 31..., "few" for 2-4, 22-24..., "other" for everything else (ex. croatian, serbian, bosnian)
+     */
+    SOUTH_SLAVIC {
+        @Override
+        protected String selectInteger(long number) {
+            long mod10 = number % 10;
+            long mod100 = number % 100;
+            if (mod10 == 1 && mod100 != 11) {
+                return ONE;
+            }
+            if (mod10 >= 2 && mod10 <= 4 && (mod100 < 12 || mod100 > 14)) {
+                return FEW;
+            }
+            return OTHER;
+        }
+    },
+    /**
+     * "one" for 1, "few" for 2-4, 22-24..., "many" for everything else
+     */
+    POLISH {
+        @Override
+        protected String selectInteger(long number) {
+            if (number == 1) {
+                return ONE;
+            }
+            long mod10 = number % 10;
+            long mod100 = number % 100;
+            if (mod10 >= 2 && mod10 <= 4 && (mod100 < 12 || mod100 > 14)) {
+                return FEW;
+            }
+            return MANY;
+        }
+    },
+    /**
+     * "one" for 1, "few" for 2-4, "other" for everything else (ex. czech, slovak)
+     */
+    CZECH {
+        @Override
+        protected String selectInteger(long number) {
+            if (number == 1) {
+                return ONE;
+            }
+            return number >= 2 && number <= 4 ? FEW : OTHER;
+        }
+    };
+
+    public static final String ONE = "one";
+    public static final String FEW = "few";
+    public static final String MANY = "many";
+    public static final String OTHER = "other";
+
+    /**
+     * @param number the number to get the category of
+     * @return returns the plural category of the number
+     */
+    @NotNull
+    public String select(double number) {
+        double absolute = Math.abs(number);
+        if (absolute != Math.rint(absolute) || Double.isInfinite(absolute)) {
+            return OTHER;
+        }
+        return this.selectInteger((long) absolute);
+    }
+
+    protected abstract String selectInteger(long number);
+
+    /**
+     * @param locale the locale to get the plural rule for
+     * @return returns the plural rule of the language of the locale, {@link PluralRule#ONE_OTHER} if the language is unknown
+     */
+    @NotNull
+    public static PluralRule forLocale(@NotNull Locale locale) {
+        switch (locale.getLanguage()) {
+            case "ja":
+            case "zh":
+            case "ko":
+            case "vi":
+            case "th":
+            case "id":
+            case "ms":
+                return NONE;
+            case "fr":
+            case "pt":
+                return ZERO_ONE_OTHER;
+            case "ru":
+            case "uk":
+            case "be":
+                return EAST_SLAVIC;
+            case "hr":
+            case "sr":
+            case "bs":
+                return SOUTH_SLAVIC;
+            case "pl":
+                return POLISH;
+            case "cs":
+            case "sk":
+                return CZECH;
+            default:
+                return ONE_OTHER;
+        }
+    }
+}
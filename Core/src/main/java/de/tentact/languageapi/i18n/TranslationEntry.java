@@ -0,0 +1,160 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.i18n;
+
+import de.tentact.languageapi.util.ColorFormatter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * A cached translation in one language, holding the stored text next to its formatted forms.
+ * Languages falling back to another language share the entry of that language, which keeps the formats of its source language.
+ * The formatting is done once when the entry is created, the template is compiled on first use.
+ *
+ * @since 2.0
+ */
+public final class TranslationEntry {
+
+    private final String raw;
+    private final String formatted;
+    private final String legacy;
+    private final ComponentTemplate componentTemplate;
+    private final LanguageFormats languageFormats;
+    private final boolean missing;
+    private volatile MessageTemplate template;
+
+    private TranslationEntry(String raw, String formatted, String legacy, ComponentTemplate componentTemplate, LanguageFormats languageFormats, boolean missing) {
+        this.raw = raw;
+        this.formatted = formatted;
+        this.legacy = legacy;
+        this.componentTemplate = componentTemplate;
+        this.languageFormats = languageFormats;
+        this.missing = missing;
+    }
+
+    /**
+     * @param raw             the translation as it is stored in the database
+     * @param languageFormats the formats of the language of the translation
+     * @return returns the entry with the formatted forms of the translation
+     */
+    @NotNull
+    public static TranslationEntry of(@NotNull String raw, @NotNull LanguageFormats languageFormats) {
+        String formatted = ColorFormatter.format(raw, false);
+        //Without hex colors both forms are the same, so the string is shared
+        String legacy = raw.indexOf('#') == -1 ? formatted : ColorFormatter.format(raw, true);
+        return new TranslationEntry(raw, formatted, legacy, null, languageFormats, false);
+    }
+
+    /**
+     * @param translationKey the translationkey which was not found in any language of the fallback chain
+     * @return returns the entry which uses the translationkey as translation
+     */
+    @NotNull
+    public static TranslationEntry missing(@NotNull String translationKey) {
+        return new TranslationEntry(translationKey, translationKey, translationKey, null, LanguageFormats.ROOT, true);
+    }
+
+    /**
+     * @param raw             the translation in the MiniMessage format as it is stored in the database
+     * @param parameters      the parameters of the translationkey
+     * @param languageFormats the formats of the language of the translation
+     * @return returns the entry with the parsed component and its serialized forms
+     */
+    @NotNull
+    public static TranslationEntry ofMiniMessage(@NotNull String raw, @NotNull Collection<String> parameters, @NotNull LanguageFormats languageFormats) {
+        ComponentTemplate componentTemplate = ComponentTemplate.parse(raw, parameters, languageFormats);
+        return new TranslationEntry(raw, componentTemplate.serialize(false), componentTemplate.serialize(true), componentTemplate, languageFormats, false);
+    }
+
+    /**
+     * @return returns the translation as it is stored in the database
+     */
+    @NotNull
+    public String getRaw() {
+        return this.raw;
+    }
+
+    /**
+     * @return returns the translation with color codes and hex colors translated
+     */
+    @NotNull
+    public String getFormatted() {
+        return this.formatted;
+    }
+
+    /**
+     * @return returns the translation with hex colors downsampled to the nearest legacy color
+     */
+    @NotNull
+    public String getLegacy() {
+        return this.legacy;
+    }
+
+    /**
+     * @param downsampleHexColors whether the legacy form should be used
+     * @return returns the formatted or legacy form of the translation
+     */
+    @NotNull
+    public String getMessage(boolean downsampleHexColors) {
+        return downsampleHexColors ? this.legacy : this.formatted;
+    }
+
+    /**
+     * @return whether the translationkey was not found in any language of the fallback chain
+     */
+    public boolean isMissing() {
+        return this.missing;
+    }
+
+    /**
+     * @return returns the parsed component, null if the translation is not in the MiniMessage format
+     */
+    @Nullable
+    public ComponentTemplate getComponentTemplate() {
+        return this.componentTemplate;
+    }
+
+    /**
+     * Gets the template of the translation, compiles it if it was not compiled before
+     *
+     * @param downsampleHexColors whether the legacy form should be compiled
+     * @param parameters          supplies the parameters of the translationkey, only called when compiling
+     * @return returns the compiled template
+     */
+    @NotNull
+    public MessageTemplate getTemplate(boolean downsampleHexColors, @NotNull Supplier<? extends Collection<String>> parameters) {
+        MessageTemplate template = this.template;
+        if (template == null) {
+            //Compiling twice in a race is harmless, both results are equal
+            template = MessageTemplate.compile(this.getMessage(downsampleHexColors), parameters.get(), this.languageFormats);
+            this.template = template;
+        }
+        return template;
+    }
+}
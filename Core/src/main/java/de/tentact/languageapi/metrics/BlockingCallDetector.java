@@ -0,0 +1,217 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.metrics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Detects database calls on the thread of the server (ex. the Bukkit main thread or a netty event loop) and records who made them.
+ * The caller is taken from the stack of the call: the first frame outside of the LanguageAPI, the JDK and the database libraries
+ *
+ * @since 2.0
+ */
+public final class BlockingCallDetector {
+
+    private static final String NETTY_THREAD = "io.netty.util.concurrent.FastThreadLocalThread";
+    private static final String LANGUAGEAPI_PACKAGE = "de.tentact.languageapi.";
+    private static final String[] IGNORED_PACKAGES = {
+            "java.", "javax.", "sun.", "jdk.", "com.sun.", "com.google.common.", "com.zaxxer.hikari.", "org.mariadb.", "com.mysql.", "org.h2."
+    };
+
+    private final Map<String, LongAdder> callers = new ConcurrentHashMap<>();
+    private final Map<String, String> plugins = new ConcurrentHashMap<>();
+    private final LongAdder blockingCalls = new LongAdder();
+    private final LongAdder staleServed = new LongAdder();
+    private volatile BlockingCallMode mode = BlockingCallMode.OFF;
+    private volatile BooleanSupplier blockingThread = () -> false;
+    private volatile Function<String, String> pluginResolver = className -> null;
+
+    /**
+     * @return returns whether the current thread is a netty event loop, used by the proxies
+     */
+    public static boolean isNettyThread() {
+        for (Class<?> threadClass = Thread.currentThread().getClass(); threadClass != null; threadClass = threadClass.getSuperclass()) {
+            if (threadClass.getName().equals(NETTY_THREAD)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param mode the new mode of the detector
+     */
+    public void setMode(@NotNull BlockingCallMode mode) {
+        this.mode = mode;
+    }
+
+    @NotNull
+    public BlockingCallMode getMode() {
+        return this.mode;
+    }
+
+    /**
+     * @param blockingThread returns whether the current thread must not block (ex. Bukkit#isPrimaryThread)
+     */
+    public void setBlockingThread(@NotNull BooleanSupplier blockingThread) {
+        this.blockingThread = blockingThread;
+    }
+
+    /**
+     * @param pluginResolver resolves the name of the plugin a class belongs to, returns null if no plugin was found
+     */
+    public void setPluginResolver(@NotNull Function<String, String> pluginResolver) {
+        this.pluginResolver = pluginResolver;
+        this.plugins.clear();
+    }
+
+    /**
+     * @return returns whether the detector is enabled and the current thread must not block
+     */
+    public boolean isBlockingThread() {
+        return this.mode != BlockingCallMode.OFF && this.blockingThread.getAsBoolean();
+    }
+
+    /**
+     * @return returns whether a stale cached value should be served instead of querying the database on the current thread
+     */
+    public boolean shouldServeStale() {
+        return this.mode == BlockingCallMode.SERVE_STALE && this.blockingThread.getAsBoolean();
+    }
+
+    /**
+     * Records the caller, if the current thread must not block. Called before every database call
+     */
+    public void check() {
+        if (!this.isBlockingThread()) {
+            return;
+        }
+        this.blockingCalls.increment();
+        this.callers.computeIfAbsent(this.findCaller(new Throwable().getStackTrace()), caller -> new LongAdder()).increment();
+    }
+
+    public void recordStaleServed() {
+        this.staleServed.increment();
+    }
+
+    private String findCaller(StackTraceElement[] stackTrace) {
+        StackTraceElement entry = null;
+        for (StackTraceElement element : stackTrace) {
+            String className = element.getClassName();
+            if (className.startsWith(LANGUAGEAPI_PACKAGE)) {
+                entry = element;
+                continue;
+            }
+            if (this.isIgnored(className)) {
+                continue;
+            }
+            //The outermost frame of the LanguageAPI shows the method, which was called by the plugin
+            String plugin = this.resolvePlugin(className);
+            return (plugin == null ? "unknown" : plugin) + " " + this.format(element)
+                    + (entry == null ? "" : " -> " + entry.getClassName().substring(entry.getClassName().lastIndexOf('.') + 1) + "#" + entry.getMethodName());
+        }
+        return entry == null ? "unknown" : "LanguageAPI " + this.format(entry);
+    }
+
+    private boolean isIgnored(String className) {
+        for (String ignoredPackage : IGNORED_PACKAGES) {
+            if (className.startsWith(ignoredPackage)) {
+                return true;
+            }
+        }
+        return className.contains("$Proxy");
+    }
+
+    @Nullable
+    private String resolvePlugin(String className) {
+        String plugin = this.plugins.computeIfAbsent(className, name -> {
+            String resolved = this.pluginResolver.apply(name);
+            return resolved == null ? "" : resolved;
+        });
+        return plugin.isEmpty() ? null : plugin;
+    }
+
+    private String format(StackTraceElement element) {
+        return element.getClassName() + "#" + element.getMethodName() + ":" + element.getLineNumber();
+    }
+
+    public long getBlockingCalls() {
+        return this.blockingCalls.sum();
+    }
+
+    public long getStaleServed() {
+        return this.staleServed.sum();
+    }
+
+    /**
+     * @param limit the maximum amount of callers
+     * @return returns the callers with the most database calls on the server thread, sorted descending
+     */
+    @NotNull
+    public List<Map.Entry<String, Long>> getTopCallers(int limit) {
+        List<Map.Entry<String, Long>> topCallers = new ArrayList<>();
+        this.callers.forEach((caller, calls) -> topCallers.add(new AbstractMap.SimpleImmutableEntry<>(caller, calls.sum())));
+        topCallers.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+        return topCallers.size() > limit ? topCallers.subList(0, limit) : topCallers;
+    }
+
+    /**
+     * Forgets every recorded caller
+     */
+    public void reset() {
+        this.callers.clear();
+        this.blockingCalls.reset();
+        this.staleServed.reset();
+    }
+
+    /**
+     * @param limit the maximum amount of callers
+     * @return returns the report of the ranked callers, colored with '&amp;' color codes
+     */
+    @NotNull
+    public List<String> toLines(int limit) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "&eLanguageAPI blocking calls &7(mode &e%s&7): &e%d &7calls, &e%d &7stale values served",
+                this.mode, this.getBlockingCalls(), this.getStaleServed()));
+        List<Map.Entry<String, Long>> topCallers = this.getTopCallers(limit);
+        for (int i = 0; i < topCallers.size(); i++) {
+            lines.add(String.format(Locale.ROOT, "&7%d. &e%d &7- %s", i + 1, topCallers.get(i).getValue(), topCallers.get(i).getKey()));
+        }
+        return lines;
+    }
+}
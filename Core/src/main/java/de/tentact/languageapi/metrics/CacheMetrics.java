@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.metrics;
+
+import com.google.common.cache.RemovalListener;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts the hits, misses and evictions of a cache
+ *
+ * @since 2.0
+ */
+public class CacheMetrics implements CacheMetricsMXBean {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile LongSupplier sizeSupplier = () -> 0L;
+
+    public void recordHit() {
+        this.hits.increment();
+    }
+
+    public void recordMiss() {
+        this.misses.increment();
+    }
+
+    /**
+     * @param <K> the key type of the cache
+     * @param <V> the value type of the cache
+     * @return returns a listener counting every entry which expired or was removed because of the size of the cache
+     */
+    public <K, V> RemovalListener<K, V> evictionListener() {
+        return notification -> {
+            if (notification.wasEvicted()) {
+                this.evictions.increment();
+            }
+        };
+    }
+
+    /**
+     * @param sizeSupplier the supplier of the current amount of entries of the cache
+     */
+    public void setSizeSupplier(LongSupplier sizeSupplier) {
+        this.sizeSupplier = sizeSupplier;
+    }
+
+    @Override
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * @return returns the ratio of hits to all requests, 0 if there was no request
+     */
+    @Override
+    public double getHitRate() {
+        long hits = this.getHits();
+        long requests = hits + this.getMisses();
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public long getSize() {
+        return this.sizeSupplier.getAsLong();
+    }
+}
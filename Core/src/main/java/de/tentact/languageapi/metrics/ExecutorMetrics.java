@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.metrics;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.IntSupplier;
+
+/**
+ * Exposes the state of the executor running the async tasks
+ *
+ * @since 2.0
+ */
+public class ExecutorMetrics implements ExecutorMetricsMXBean {
+
+    private final ThreadPoolExecutor executor;
+    private final IntSupplier queuedTasks;
+
+    /**
+     * @param executor    the executor running the async tasks
+     * @param queuedTasks the amount of tasks waiting to be handed to the executor, its own queue hands every task straight to a thread
+     */
+    public ExecutorMetrics(ThreadPoolExecutor executor, IntSupplier queuedTasks) {
+        this.executor = executor;
+        this.queuedTasks = queuedTasks;
+    }
+
+    @Override
+    public int getActiveThreads() {
+        return this.executor.getActiveCount();
+    }
+
+    @Override
+    public int getPoolSize() {
+        return this.executor.getPoolSize();
+    }
+
+    @Override
+    public int getLargestPoolSize() {
+        return this.executor.getLargestPoolSize();
+    }
+
+    @Override
+    public int getQueuedTasks() {
+        return this.executor.getQueue().size() + this.queuedTasks.getAsInt();
+    }
+
+    @Override
+    public long getCompletedTasks() {
+        return this.executor.getCompletedTaskCount();
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.metrics;
+
+import de.tentact.languageapi.TaskPriority;
+import de.tentact.languageapi.scheduler.TaskScheduler;
+import de.tentact.languageapi.storage.CircuitBreaker;
+import de.tentact.languageapi.storage.WriteQueue;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A snapshot of the caches, the database and the async executor, shown by the stats commands
+ *
+ * @since 2.0
+ */
+public class LanguageStatistics {
+
+    private final CacheMetrics translationCache;
+    private final long translationCacheSize;
+    private final CacheMetrics playerLanguageCache;
+    private final long playerLanguageCacheSize;
+    private final long[] queries;
+    private final double[] queriesPerSecond;
+    private final long p50Micros, p99Micros;
+    private final int activeThreads, poolSize, queuedTasks;
+    private final int activeConnections, idleConnections, totalConnections, awaitingConnection;
+    private final CircuitBreaker.State circuitState;
+    private final long rejectedCalls, droppedWrites;
+    private final int queuedWrites;
+    private final int[] queuedTaskClasses;
+    private final long[] queueWaitP99Micros;
+
+    private LanguageStatistics(CacheMetrics translationCache, CacheMetrics playerLanguageCache, QueryMetrics queryMetrics,
+                               ExecutorMetrics executorMetrics, PoolMetrics poolMetrics, CircuitBreaker circuitBreaker, WriteQueue writeQueue,
+                               TaskScheduler taskScheduler) {
+        this.translationCache = translationCache;
+        this.translationCacheSize = translationCache.getSize();
+        this.playerLanguageCache = playerLanguageCache;
+        this.playerLanguageCacheSize = playerLanguageCache == null ? 0 : playerLanguageCache.getSize();
+
+        QueryType[] queryTypes = QueryType.getValues();
+        this.queries = new long[queryTypes.length];
+        for (QueryType queryType : queryTypes) {
+            this.queries[queryType.ordinal()] = queryMetrics.getQueries(queryType);
+        }
+        this.queriesPerSecond = queryMetrics.sampleQueriesPerSecond();
+        this.p50Micros = queryMetrics.getLatencyP50Micros();
+        this.p99Micros = queryMetrics.getLatencyP99Micros();
+
+        this.activeThreads = executorMetrics.getActiveThreads();
+        this.poolSize = executorMetrics.getPoolSize();
+        this.queuedTasks = executorMetrics.getQueuedTasks();
+
+        this.activeConnections = poolMetrics.getActiveConnections();
+        this.idleConnections = poolMetrics.getIdleConnections();
+        this.totalConnections = poolMetrics.getTotalConnections();
+        this.awaitingConnection = poolMetrics.getThreadsAwaitingConnection();
+
+        this.circuitState = circuitBreaker.getState();
+        this.rejectedCalls = circuitBreaker.getRejectedCalls();
+        this.queuedWrites = writeQueue.getQueuedWrites();
+        this.droppedWrites = writeQueue.getDroppedWrites();
+
+        TaskPriority[] priorities = TaskPriority.values();
+        this.queuedTaskClasses = new int[priorities.length];
+        this.queueWaitP99Micros = new long[priorities.length];
+        for (TaskPriority priority : priorities) {
+            TaskMetrics taskMetrics = taskScheduler.getMetrics(priority);
+            this.queuedTaskClasses[priority.ordinal()] = taskMetrics.getQueuedTasks();
+            this.queueWaitP99Micros[priority.ordinal()] = taskMetrics.getQueueWaitP99Micros();
+        }
+    }
+
+    /**
+     * Collects the current statistics, the statements per second are calculated since the last collection
+     *
+     * @param translationCache    the metrics of the translation cache
+     * @param playerLanguageCache the metrics of the player language cache, null if the platform does not cache the languages
+     * @param queryMetrics        the metrics of the executed statements
+     * @param executorMetrics     the metrics of the executor running the async tasks
+     * @param poolMetrics         the metrics of the pool of the database connections
+     * @param circuitBreaker      the circuit breaker of the database
+     * @param writeQueue          the queue of the writes waiting for the database
+     * @param taskScheduler       the scheduler running the async tasks by their priority
+     * @return returns the collected statistics
+     */
+    public static LanguageStatistics collect(CacheMetrics translationCache, @Nullable CacheMetrics playerLanguageCache, QueryMetrics queryMetrics,
+                                             ExecutorMetrics executorMetrics, PoolMetrics poolMetrics, CircuitBreaker circuitBreaker, WriteQueue writeQueue,
+                                             TaskScheduler taskScheduler) {
+        return new LanguageStatistics(translationCache, playerLanguageCache, queryMetrics, executorMetrics, poolMetrics, circuitBreaker, writeQueue, taskScheduler);
+    }
+
+    public CacheMetrics getTranslationCache() {
+        return this.translationCache;
+    }
+
+    @Nullable
+    public CacheMetrics getPlayerLanguageCache() {
+        return this.playerLanguageCache;
+    }
+
+    public long getQueries(QueryType queryType) {
+        return this.queries[queryType.ordinal()];
+    }
+
+    public double getQueriesPerSecond(QueryType queryType) {
+        return this.queriesPerSecond[queryType.ordinal()];
+    }
+
+    public long getP50Micros() {
+        return this.p50Micros;
+    }
+
+    public long getP99Micros() {
+        return this.p99Micros;
+    }
+
+    public int getActiveThreads() {
+        return this.activeThreads;
+    }
+
+    public int getQueuedTasks() {
+        return this.queuedTasks;
+    }
+
+    public int getActiveConnections() {
+        return this.activeConnections;
+    }
+
+    public int getTotalConnections() {
+        return this.totalConnections;
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return this.circuitState;
+    }
+
+    public int getQueuedWrites() {
+        return this.queuedWrites;
+    }
+
+    public int getQueuedTasks(TaskPriority priority) {
+        return this.queuedTaskClasses[priority.ordinal()];
+    }
+
+    public long getQueueWaitP99Micros(TaskPriority priority) {
+        return this.queueWaitP99Micros[priority.ordinal()];
+    }
+
+    /**
+     * @return returns the statistics as lines with legacy color codes (ex. &7), ready to be sent to a player or the console
+     */
+    public List<String> toLines() {
+        List<String> lines = new ArrayList<>();
+        lines.add("&eLanguageAPI statistics");
+        lines.add(this.formatCache("Translation cache", this.translationCache, this.translationCacheSize));
+        if (this.playerLanguageCache != null) {
+            lines.add(this.formatCache("Player language cache", this.playerLanguageCache, this.playerLanguageCacheSize));
+        }
+        StringBuilder queryLine = new StringBuilder("&7Queries/s:");
+        for (QueryType queryType : QueryType.getValues()) {
+            queryLine.append(" &e").append(queryType.name()).append(' ')
+                    .append(String.format(Locale.ROOT, "%.2f", this.getQueriesPerSecond(queryType)))
+                    .append(" &7(").append(this.getQueries(queryType)).append(')');
+        }
+        lines.add(queryLine.toString());
+        lines.add(String.format(Locale.ROOT, "&7Query latency: &ep50 %.2fms &7| &ep99 %.2fms",
+                this.p50Micros / 1000D, this.p99Micros / 1000D));
+        lines.add(String.format(Locale.ROOT, "&7Async executor: &e%d &7active, &e%d &7threads, &e%d &7queued",
+                this.activeThreads, this.poolSize, this.queuedTasks));
+        StringBuilder taskLine = new StringBuilder("&7Task queues:");
+        for (TaskPriority priority : TaskPriority.values()) {
+            taskLine.append(String.format(Locale.ROOT, " &e%s %d &7(p99 wait %.2fms)", priority.name(),
+                    this.getQueuedTasks(priority), this.getQueueWaitP99Micros(priority) / 1000D));
+        }
+        lines.add(taskLine.toString());
+        lines.add(String.format(Locale.ROOT, "&7Database pool: &e%d&7/&e%d &7active, &e%d &7idle, &e%d &7waiting",
+                this.activeConnections, this.totalConnections, this.idleConnections, this.awaitingConnection));
+        lines.add(String.format(Locale.ROOT, "&7Storage: circuit &e%s&7, &e%d &7rejected calls, &e%d &7queued writes, &e%d &7dropped writes",
+                this.circuitState, this.rejectedCalls, this.queuedWrites, this.droppedWrites));
+        return lines;
+    }
+
+    private String formatCache(String name, CacheMetrics cacheMetrics, long size) {
+        return String.format(Locale.ROOT, "&7%s: &e%d &7entries, &e%d &7hits, &e%d &7misses, &e%d &7evictions (&e%.1f%%&7)",
+                name, size, cacheMetrics.getHits(), cacheMetrics.getMisses(), cacheMetrics.getEvictions(), cacheMetrics.getHitRate() * 100);
+    }
+}
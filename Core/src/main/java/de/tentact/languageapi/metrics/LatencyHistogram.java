@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of latencies in microseconds with four buckets per power of two, so a percentile is off by at most 25%.
+ * Recording a value is a single {@link LongAdder#increment()} and does not allocate
+ *
+ * @since 2.0
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder sum = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @param nanos the latency to record in nanoseconds
+     */
+    public void record(long nanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(Math.max(0, nanos));
+        this.buckets[bucketOf(micros)].increment();
+        this.sum.add(micros);
+    }
+
+    /**
+     * @return returns the sum of all recorded latencies in microseconds
+     */
+    public long getSumMicros() {
+        return this.sum.sum();
+    }
+
+    /**
+     * @return returns the amount of recorded latencies
+     */
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : this.buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * @param percentile the percentile between 0 and 1 (ex. 0.99)
+     * @return returns the upper bound of the bucket containing the percentile in microseconds, 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = this.buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBoundOf(i);
+            }
+        }
+        return upperBoundOf(BUCKETS - 1);
+    }
+
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int highestBit = Long.SIZE - 1 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) (micros >>> (highestBit - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (highestBit - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket + 1;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowerBound = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowerBound + (1L << shift);
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Consumer;
+
+/**
+ * Wraps a {@link Connection}, so every statement created by it records its execution in {@link QueryMetrics}
+ *
+ * @since 2.0
+ */
+public final class MeteredConnection {
+
+    private MeteredConnection() {
+    }
+
+    /**
+     * @param connection   the connection to wrap
+     * @param queryMetrics the metrics to record the executed statements in
+     * @return returns a connection recording every executed statement, closing it closes the wrapped connection
+     */
+    public static Connection wrap(Connection connection, QueryMetrics queryMetrics) {
+        return wrap(connection, queryMetrics, 0, exception -> {
+        }, () -> {
+        });
+    }
+
+    /**
+     * @param connection      the connection to wrap
+     * @param queryMetrics    the metrics to record the executed statements in
+     * @param queryTimeout    the seconds every created statement may take, 0 to wait forever
+     * @param failureListener the listener to call with every exception of an execution
+     * @param closeListener   the listener to call after the connection was closed
+     * @return returns a connection recording every executed statement, closing it closes the wrapped connection
+     */
+    public static Connection wrap(Connection connection, QueryMetrics queryMetrics, int queryTimeout,
+                                  Consumer<SQLException> failureListener, Runnable closeListener) {
+        return wrap(connection, queryMetrics, queryTimeout, () -> {
+        }, failureListener, closeListener);
+    }
+
+    /**
+     * @param connection      the connection to wrap
+     * @param queryMetrics    the metrics to record the executed statements in
+     * @param queryTimeout    the seconds every created statement may take, 0 to wait forever
+     * @param successListener the listener to call after every successful execution
+     * @param failureListener the listener to call with every exception of an execution
+     * @param closeListener   the listener to call after the connection was closed
+     * @return returns a connection recording every executed statement, closing it closes the wrapped connection
+     */
+    public static Connection wrap(Connection connection, QueryMetrics queryMetrics, int queryTimeout, Runnable successListener,
+                                  Consumer<SQLException> failureListener, Runnable closeListener) {
+        return (Connection) Proxy.newProxyInstance(
+                MeteredConnection.class.getClassLoader(),
+                new Class[]{Connection.class},
+                new ConnectionHandler(connection, queryMetrics, queryTimeout, successListener, failureListener, closeListener)
+        );
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+        private final QueryMetrics queryMetrics;
+        private final int queryTimeout;
+        private final Runnable successListener;
+        private final Consumer<SQLException> failureListener;
+        private final Runnable closeListener;
+
+        private ConnectionHandler(Connection connection, QueryMetrics queryMetrics, int queryTimeout, Runnable successListener,
+                                  Consumer<SQLException> failureListener, Runnable closeListener) {
+            this.connection = connection;
+            this.queryMetrics = queryMetrics;
+            this.queryTimeout = queryTimeout;
+            this.successListener = successListener;
+            this.failureListener = failureListener;
+            this.closeListener = closeListener;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = MeteredConnection.invoke(this.connection, method, args);
+            if (method.getName().equals("close")) {
+                this.closeListener.run();
+            }
+            if (!(result instanceof Statement)) {
+                return result;
+            }
+            if (this.queryTimeout > 0) {
+                ((Statement) result).setQueryTimeout(this.queryTimeout);
+            }
+            //Prepared statements know their sql upfront, plain statements get it passed on execution
+            QueryType queryType = args != null && args.length > 0 && args[0] instanceof String ? QueryType.of((String) args[0]) : null;
+            Class<?> statementType = result instanceof CallableStatement ? CallableStatement.class
+                    : result instanceof PreparedStatement ? PreparedStatement.class
+                    : Statement.class;
+            return Proxy.newProxyInstance(
+                    MeteredConnection.class.getClassLoader(),
+                    new Class[]{statementType},
+                    new StatementHandler((Statement) result, queryType, this.queryMetrics, this.successListener, this.failureListener)
+            );
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final QueryType queryType;
+        private final QueryMetrics queryMetrics;
+        private final Runnable successListener;
+        private final Consumer<SQLException> failureListener;
+
+        private StatementHandler(Statement statement, QueryType queryType, QueryMetrics queryMetrics, Runnable successListener,
+                                 Consumer<SQLException> failureListener) {
+            this.statement = statement;
+            this.queryType = queryType;
+            this.queryMetrics = queryMetrics;
+            this.successListener = successListener;
+            this.failureListener = failureListener;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return MeteredConnection.invoke(this.statement, method, args);
+            }
+            QueryType queryType = this.queryType;
+            if (queryType == null) {
+                queryType = args != null && args.length > 0 && args[0] instanceof String ? QueryType.of((String) args[0]) : QueryType.OTHER;
+            }
+            long start = System.nanoTime();
+            try {
+                Object result = MeteredConnection.invoke(this.statement, method, args);
+                this.successListener.run();
+                return result;
+            } catch (SQLException exception) {
+                this.failureListener.accept(exception);
+                throw exception;
+            } finally {
+                this.queryMetrics.record(queryType, System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.metrics;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import de.tentact.languageapi.TaskPriority;
+import de.tentact.languageapi.configuration.MetricsSetting;
+import de.tentact.languageapi.scheduler.TaskScheduler;
+import de.tentact.languageapi.storage.CircuitBreaker;
+import de.tentact.languageapi.storage.WriteQueue;
+import org.jetbrains.annotations.Nullable;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Registers the metrics as MBeans and writes them periodically in the Prometheus text format,
+ * so they can be scraped by the textfile collector of the node_exporter without a listener in the plugin
+ *
+ * @since 2.0
+ */
+public class MetricsExporter {
+
+    private static final String DOMAIN = "de.tentact.languageapi";
+
+    private final MetricsSetting metricsSetting;
+    private final CacheMetrics translationCache;
+    private final CacheMetrics playerLanguageCache;
+    private final QueryMetrics queryMetrics;
+    private final ExecutorMetrics executorMetrics;
+    private final PoolMetrics poolMetrics;
+    private final CircuitBreaker circuitBreaker;
+    private final WriteQueue writeQueue;
+    private final TaskScheduler taskScheduler;
+    private final List<ObjectName> registeredNames = new ArrayList<>();
+    private ScheduledExecutorService scheduler;
+
+    public MetricsExporter(MetricsSetting metricsSetting, CacheMetrics translationCache, @Nullable CacheMetrics playerLanguageCache,
+                           QueryMetrics queryMetrics, ExecutorMetrics executorMetrics, PoolMetrics poolMetrics,
+                           CircuitBreaker circuitBreaker, WriteQueue writeQueue, TaskScheduler taskScheduler) {
+        this.metricsSetting = metricsSetting;
+        this.translationCache = translationCache;
+        this.playerLanguageCache = playerLanguageCache;
+        this.queryMetrics = queryMetrics;
+        this.executorMetrics = executorMetrics;
+        this.poolMetrics = poolMetrics;
+        this.circuitBreaker = circuitBreaker;
+        this.writeQueue = writeQueue;
+        this.taskScheduler = taskScheduler;
+    }
+
+    /**
+     * Registers the MBeans and starts writing the Prometheus file, depending on the {@link MetricsSetting}
+     */
+    public synchronized void start() {
+        if (this.metricsSetting.isJmx()) {
+            this.register("type=Cache,name=translations", this.translationCache);
+            if (this.playerLanguageCache != null) {
+                this.register("type=Cache,name=playerLanguages", this.playerLanguageCache);
+            }
+            this.register("type=Storage", this.queryMetrics);
+            this.register("type=Executor", this.executorMetrics);
+            this.register("type=Pool", this.poolMetrics);
+            this.register("type=CircuitBreaker", this.circuitBreaker);
+            for (TaskPriority priority : TaskPriority.values()) {
+                this.register("type=Tasks,name=" + priority.name().toLowerCase(Locale.ROOT), this.taskScheduler.getMetrics(priority));
+            }
+        }
+        int interval = this.metricsSetting.getPrometheusInterval();
+        if (interval > 0 && this.scheduler == null) {
+            Path file = Paths.get(this.metricsSetting.getPrometheusFile());
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                    new ThreadFactoryBuilder().setNameFormat("LanguageAPI-Metrics").setDaemon(true).build()
+            );
+            this.scheduler.scheduleAtFixedRate(() -> this.writePrometheusFile(file), 0, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Unregisters the MBeans and stops writing the Prometheus file
+     */
+    public synchronized void stop() {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName objectName : this.registeredNames) {
+            try {
+                if (mBeanServer.isRegistered(objectName)) {
+                    mBeanServer.unregisterMBean(objectName);
+                }
+            } catch (JMException exception) {
+                exception.printStackTrace();
+            }
+        }
+        this.registeredNames.clear();
+        if (this.scheduler != null) {
+            this.scheduler.shutdown();
+            this.scheduler = null;
+        }
+    }
+
+    private void register(String properties, Object mBean) {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":" + properties);
+            //A reload of the plugin leaves the beans of the previous instance behind
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+            mBeanServer.registerMBean(mBean, objectName);
+            this.registeredNames.add(objectName);
+        } catch (JMException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    private void writePrometheusFile(Path file) {
+        //The collector may read at any time, so the file is replaced at once instead of being written in place
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(temporaryFile, this.toPrometheusText().getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException exception) {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    /**
+     * @return returns all metrics in the Prometheus text exposition format
+     */
+    public String toPrometheusText() {
+        StringBuilder builder = new StringBuilder();
+
+        this.header(builder, "languageapi_cache_hits_total", "counter", "Lookups answered by the cache");
+        this.cacheSamples(builder, "languageapi_cache_hits_total", CacheMetrics::getHits);
+        this.header(builder, "languageapi_cache_misses_total", "counter", "Lookups not answered by the cache");
+        this.cacheSamples(builder, "languageapi_cache_misses_total", CacheMetrics::getMisses);
+        this.header(builder, "languageapi_cache_evictions_total", "counter", "Entries which expired or were evicted");
+        this.cacheSamples(builder, "languageapi_cache_evictions_total", CacheMetrics::getEvictions);
+        this.header(builder, "languageapi_cache_size", "gauge", "Entries in the cache");
+        this.cacheSamples(builder, "languageapi_cache_size", CacheMetrics::getSize);
+
+        this.header(builder, "languageapi_queries_total", "counter", "Executed sql statements by type");
+        for (QueryType queryType : QueryType.getValues()) {
+            this.sample(builder, "languageapi_queries_total", "type=\"" + queryType.name().toLowerCase(Locale.ROOT) + "\"",
+                    this.queryMetrics.getQueries(queryType));
+        }
+        this.summary(builder, "languageapi_query_latency_seconds", "Execution time of the sql statements", this.queryMetrics.getLatency());
+
+        this.header(builder, "languageapi_executor_active_threads", "gauge", "Threads running an async task");
+        this.sample(builder, "languageapi_executor_active_threads", null, this.executorMetrics.getActiveThreads());
+        this.header(builder, "languageapi_executor_pool_size", "gauge", "Threads of the async executor");
+        this.sample(builder, "languageapi_executor_pool_size", null, this.executorMetrics.getPoolSize());
+        this.header(builder, "languageapi_executor_queued_tasks", "gauge", "Async tasks waiting in the task lanes and write stripes");
+        this.sample(builder, "languageapi_executor_queued_tasks", null, this.executorMetrics.getQueuedTasks());
+        this.header(builder, "languageapi_executor_completed_tasks_total", "counter", "Completed async tasks");
+        this.sample(builder, "languageapi_executor_completed_tasks_total", null, this.executorMetrics.getCompletedTasks());
+
+        this.header(builder, "languageapi_tasks_queued", "gauge", "Async tasks waiting in the queue of their class");
+        this.taskSamples(builder, "languageapi_tasks_queued", TaskMetrics::getQueuedTasks);
+        this.header(builder, "languageapi_tasks_running", "gauge", "Async tasks running by class");
+        this.taskSamples(builder, "languageapi_tasks_running", TaskMetrics::getRunningTasks);
+        this.header(builder, "languageapi_tasks_completed_total", "counter", "Completed async tasks by class");
+        this.taskSamples(builder, "languageapi_tasks_completed_total", TaskMetrics::getCompletedTasks);
+        this.header(builder, "languageapi_tasks_deferrals_total", "counter", "Times a class held back its tasks, because players waited for the database");
+        this.taskSamples(builder, "languageapi_tasks_deferrals_total", TaskMetrics::getDeferrals);
+        this.header(builder, "languageapi_task_queue_wait_seconds", "summary", "Time the async tasks waited before they were run by class");
+        for (TaskPriority priority : TaskPriority.values()) {
+            this.summarySamples(builder, "languageapi_task_queue_wait_seconds", "class=\"" + priority.name().toLowerCase(Locale.ROOT) + "\"",
+                    this.taskScheduler.getMetrics(priority).getQueueWait());
+        }
+
+        this.header(builder, "languageapi_pool_connections", "gauge", "Connections of the database pool by state");
+        this.sample(builder, "languageapi_pool_connections", "state=\"active\"", this.poolMetrics.getActiveConnections());
+        this.sample(builder, "languageapi_pool_connections", "state=\"idle\"", this.poolMetrics.getIdleConnections());
+        this.sample(builder, "languageapi_pool_connections", "state=\"total\"", this.poolMetrics.getTotalConnections());
+        this.sample(builder, "languageapi_pool_connections", "state=\"max\"", this.poolMetrics.getMaxConnections());
+        this.header(builder, "languageapi_pool_pending_threads", "gauge", "Threads waiting for a connection");
+        this.sample(builder, "languageapi_pool_pending_threads", null, this.poolMetrics.getThreadsAwaitingConnection());
+        this.header(builder, "languageapi_pool_connection_timeouts_total", "counter", "Requests which timed out waiting for a connection");
+        this.sample(builder, "languageapi_pool_connection_timeouts_total", null, this.poolMetrics.getConnectionTimeouts());
+        this.summary(builder, "languageapi_pool_acquire_seconds", "Time waited for a connection", this.poolMetrics.getAcquire());
+        this.summary(builder, "languageapi_pool_usage_seconds", "Time a connection was borrowed", this.poolMetrics.getUsage());
+
+        this.header(builder, "languageapi_storage_circuit_state", "gauge", "State of the circuit breaker of the database (0 closed, 1 open, 2 half open)");
+        this.sample(builder, "languageapi_storage_circuit_state", null, this.circuitBreaker.getState().ordinal());
+        this.header(builder, "languageapi_storage_circuit_transitions_total", "counter", "State changes of the circuit breaker");
+        this.sample(builder, "languageapi_storage_circuit_transitions_total", null, this.circuitBreaker.getTransitions());
+        this.header(builder, "languageapi_storage_failures_total", "counter", "Database calls which failed or timed out");
+        this.sample(builder, "languageapi_storage_failures_total", null, this.circuitBreaker.getFailures());
+        this.header(builder, "languageapi_storage_rejected_calls_total", "counter", "Database calls rejected by the open circuit");
+        this.sample(builder, "languageapi_storage_rejected_calls_total", null, this.circuitBreaker.getRejectedCalls());
+        this.header(builder, "languageapi_storage_queued_writes", "gauge", "Writes waiting for the database to be available");
+        this.sample(builder, "languageapi_storage_queued_writes", null, this.writeQueue.getQueuedWrites());
+        this.header(builder, "languageapi_storage_dropped_writes_total", "counter", "Writes dropped, because the write queue was full");
+        this.sample(builder, "languageapi_storage_dropped_writes_total", null, this.writeQueue.getDroppedWrites());
+        return builder.toString();
+    }
+
+    private void cacheSamples(StringBuilder builder, String name, ToLongFunction<CacheMetrics> value) {
+        this.sample(builder, name, "cache=\"translations\"", value.applyAsLong(this.translationCache));
+        if (this.playerLanguageCache != null) {
+            this.sample(builder, name, "cache=\"player_languages\"", value.applyAsLong(this.playerLanguageCache));
+        }
+    }
+
+    private void taskSamples(StringBuilder builder, String name, ToLongFunction<TaskMetrics> value) {
+        for (TaskPriority priority : TaskPriority.values()) {
+            this.sample(builder, name, "class=\"" + priority.name().toLowerCase(Locale.ROOT) + "\"", value.applyAsLong(this.taskScheduler.getMetrics(priority)));
+        }
+    }
+
+    private void summary(StringBuilder builder, String name, String help, LatencyHistogram histogram) {
+        this.header(builder, name, "summary", help);
+        this.summarySamples(builder, name, null, histogram);
+    }
+
+    private void summarySamples(StringBuilder builder, String name, @Nullable String labels, LatencyHistogram histogram) {
+        String prefix = labels == null ? "" : labels + ",";
+        for (String quantile : new String[]{"0.5", "0.99", "0.999"}) {
+            this.sample(builder, name, prefix + "quantile=\"" + quantile + "\"", histogram.getPercentile(Double.parseDouble(quantile)) / 1_000_000D);
+        }
+        this.sample(builder, name + "_sum", labels, histogram.getSumMicros() / 1_000_000D);
+        this.sample(builder, name + "_count", labels, histogram.getCount());
+    }
+
+    private void header(StringBuilder builder, String name, String type, String help) {
+        builder.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private void sample(StringBuilder builder, String name, @Nullable String labels, Object value) {
+        builder.append(name);
+        if (labels != null) {
+            builder.append('{').append(labels).append('}');
+        }
+        builder.append(' ').append(value).append('\n');
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.metrics;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Receives the metrics of the Hikari pools, set as {@link MetricsTrackerFactory} of the read and the write pool.
+ * The connections are summed up over the pools
+ *
+ * @since 2.0
+ */
+public class PoolMetrics implements MetricsTrackerFactory, PoolMetricsMXBean {
+
+    private final LatencyHistogram acquire = new LatencyHistogram();
+    private final LatencyHistogram usage = new LatencyHistogram();
+    private final LatencyHistogram creation = new LatencyHistogram();
+    private final LongAdder timeouts = new LongAdder();
+    private final Map<String, PoolStats> poolStats = new ConcurrentHashMap<>();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        //A reconnect creates the pools with the same names again
+        this.poolStats.put(poolName, poolStats);
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                PoolMetrics.this.creation.record(TimeUnit.MILLISECONDS.toNanos(connectionCreatedMillis));
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                PoolMetrics.this.acquire.record(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                PoolMetrics.this.usage.record(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis));
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                PoolMetrics.this.timeouts.increment();
+            }
+        };
+    }
+
+    public LatencyHistogram getAcquire() {
+        return this.acquire;
+    }
+
+    public LatencyHistogram getUsage() {
+        return this.usage;
+    }
+
+    @Override
+    public int getActiveConnections() {
+        return this.sum(PoolStats::getActiveConnections);
+    }
+
+    @Override
+    public int getIdleConnections() {
+        return this.sum(PoolStats::getIdleConnections);
+    }
+
+    @Override
+    public int getTotalConnections() {
+        return this.sum(PoolStats::getTotalConnections);
+    }
+
+    @Override
+    public int getMaxConnections() {
+        return this.sum(PoolStats::getMaxConnections);
+    }
+
+    @Override
+    public int getThreadsAwaitingConnection() {
+        return this.sum(PoolStats::getPendingThreads);
+    }
+
+    private int sum(ToIntFunction<PoolStats> function) {
+        int sum = 0;
+        for (PoolStats poolStats : this.poolStats.values()) {
+            sum += function.applyAsInt(poolStats);
+        }
+        return sum;
+    }
+
+    @Override
+    public long getConnectionTimeouts() {
+        return this.timeouts.sum();
+    }
+
+    @Override
+    public long getAcquireP50Micros() {
+        return this.acquire.getPercentile(0.5);
+    }
+
+    @Override
+    public long getAcquireP99Micros() {
+        return this.acquire.getPercentile(0.99);
+    }
+
+    @Override
+    public long getUsageP50Micros() {
+        return this.usage.getPercentile(0.5);
+    }
+
+    @Override
+    public long getUsageP99Micros() {
+        return this.usage.getPercentile(0.99);
+    }
+
+    @Override
+    public long getCreationP99Micros() {
+        return this.creation.getPercentile(0.99);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the executed sql statements by their {@link QueryType} and records their latency
+ *
+ * @since 2.0
+ */
+public class QueryMetrics implements QueryMetricsMXBean {
+
+    private final LongAdder[] queries = new LongAdder[QueryType.getValues().length];
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final long[] sampledQueries = new long[this.queries.length];
+    private long sampledTime = System.nanoTime();
+
+    public QueryMetrics() {
+        for (int i = 0; i < this.queries.length; i++) {
+            this.queries[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @param queryType the type of the executed statement
+     * @param nanos     the time the execution took in nanoseconds
+     */
+    public void record(QueryType queryType, long nanos) {
+        this.queries[queryType.ordinal()].increment();
+        this.latency.record(nanos);
+    }
+
+    /**
+     * @param queryType the type to get the count of
+     * @return returns the amount of executed statements of the given type
+     */
+    public long getQueries(QueryType queryType) {
+        return this.queries[queryType.ordinal()].sum();
+    }
+
+    public LatencyHistogram getLatency() {
+        return this.latency;
+    }
+
+    /**
+     * Calculates the statements per second of every {@link QueryType} since the last call of this method,
+     * or since the creation of this object for the first call
+     *
+     * @return returns the statements per second indexed by {@link QueryType#ordinal()}
+     */
+    public synchronized double[] sampleQueriesPerSecond() {
+        long now = System.nanoTime();
+        double seconds = Math.max(1, now - this.sampledTime) / (double) TimeUnit.SECONDS.toNanos(1);
+        double[] queriesPerSecond = new double[this.queries.length];
+        for (int i = 0; i < this.queries.length; i++) {
+            long queries = this.queries[i].sum();
+            queriesPerSecond[i] = (queries - this.sampledQueries[i]) / seconds;
+            this.sampledQueries[i] = queries;
+        }
+        this.sampledTime = now;
+        return queriesPerSecond;
+    }
+
+    @Override
+    public long getSelectQueries() {
+        return this.getQueries(QueryType.SELECT);
+    }
+
+    @Override
+    public long getInsertQueries() {
+        return this.getQueries(QueryType.INSERT);
+    }
+
+    @Override
+    public long getUpdateQueries() {
+        return this.getQueries(QueryType.UPDATE);
+    }
+
+    @Override
+    public long getDeleteQueries() {
+        return this.getQueries(QueryType.DELETE);
+    }
+
+    @Override
+    public long getSchemaQueries() {
+        return this.getQueries(QueryType.SCHEMA);
+    }
+
+    @Override
+    public long getOtherQueries() {
+        return this.getQueries(QueryType.OTHER);
+    }
+
+    @Override
+    public long getLatencyP50Micros() {
+        return this.latency.getPercentile(0.5);
+    }
+
+    @Override
+    public long getLatencyP99Micros() {
+        return this.latency.getPercentile(0.99);
+    }
+
+    @Override
+    public long getLatencyP999Micros() {
+        return this.latency.getPercentile(0.999);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.metrics;
+
+import java.util.Locale;
+
+/**
+ * The type of a sql statement, determined by its first keyword
+ *
+ * @since 2.0
+ */
+public enum QueryType {
+
+    SELECT,
+    INSERT,
+    UPDATE,
+    DELETE,
+    SCHEMA,
+    OTHER;
+
+    private static final QueryType[] VALUES = values();
+
+    /**
+     * @param sql the sql statement
+     * @return returns the type of the statement, {@link QueryType#SCHEMA} for CREATE, DROP, ALTER and TRUNCATE
+     */
+    public static QueryType of(String sql) {
+        if (sql == null) {
+            return OTHER;
+        }
+        int start = 0;
+        while (start < sql.length() && !Character.isLetter(sql.charAt(start))) {
+            start++;
+        }
+        int end = start;
+        while (end < sql.length() && Character.isLetter(sql.charAt(end))) {
+            end++;
+        }
+        switch (sql.substring(start, end).toUpperCase(Locale.ROOT)) {
+            case "SELECT":
+                return SELECT;
+            case "INSERT":
+            case "REPLACE":
+                return INSERT;
+            case "UPDATE":
+                return UPDATE;
+            case "DELETE":
+                return DELETE;
+            case "CREATE":
+            case "DROP":
+            case "ALTER":
+            case "TRUNCATE":
+                return SCHEMA;
+            default:
+                return OTHER;
+        }
+    }
+
+    static QueryType[] getValues() {
+        return VALUES;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the tasks of one {@link de.tentact.languageapi.TaskPriority} and the time they waited before they were run
+ *
+ * @since 2.0
+ */
+public class TaskMetrics implements TaskMetricsMXBean {
+
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder deferrals = new LongAdder();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+
+    public void recordSubmitted() {
+        this.submitted.increment();
+        this.queued.incrementAndGet();
+    }
+
+    /**
+     * @param queueWaitNanos the nanoseconds the task waited since it was submitted
+     */
+    public void recordStarted(long queueWaitNanos) {
+        this.queued.decrementAndGet();
+        this.running.incrementAndGet();
+        this.queueWait.record(queueWaitNanos);
+    }
+
+    public void recordCompleted() {
+        this.running.decrementAndGet();
+        this.completed.increment();
+    }
+
+    public void recordDeferral() {
+        this.deferrals.increment();
+    }
+
+    public LatencyHistogram getQueueWait() {
+        return this.queueWait;
+    }
+
+    @Override
+    public long getSubmittedTasks() {
+        return this.submitted.sum();
+    }
+
+    @Override
+    public long getCompletedTasks() {
+        return this.completed.sum();
+    }
+
+    @Override
+    public int getQueuedTasks() {
+        return this.queued.get();
+    }
+
+    @Override
+    public int getRunningTasks() {
+        return this.running.get();
+    }
+
+    @Override
+    public long getDeferrals() {
+        return this.deferrals.sum();
+    }
+
+    @Override
+    public long getQueueWaitP50Micros() {
+        return this.queueWait.getPercentile(0.5);
+    }
+
+    @Override
+    public long getQueueWaitP99Micros() {
+        return this.queueWait.getPercentile(0.99);
+    }
+}
@@ -29,31 +29,58 @@ import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
-import com.zaxxer.hikari.HikariDataSource;
+import com.google.common.cache.RemovalListener;
 import de.tentact.languageapi.LanguageAPI;
+import de.tentact.languageapi.TaskPriority;
+import de.tentact.languageapi.api.DefaultLanguageAPI;
 import de.tentact.languageapi.configuration.DatabaseProvider;
 import de.tentact.languageapi.configuration.LanguageConfig;
+import de.tentact.languageapi.event.PlayerLanguageChangeEvent;
+import de.tentact.languageapi.i18n.LanguageIndex;
 import de.tentact.languageapi.i18n.Translation;
+import de.tentact.languageapi.metrics.BlockingCallDetector;
+import de.tentact.languageapi.metrics.CacheMetrics;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 public abstract class DefaultPlayerExecutor implements PlayerExecutor {
 
     private final DatabaseProvider databaseProvider;
     private final LanguageAPI languageAPI;
-    private final HikariDataSource dataSource;
     private final LanguageConfig languageConfig;
+    private final PlayerTable playerTable;
+    private final PlayerPruner playerPruner;
+    private final CacheMetrics languageCacheMetrics = new CacheMetrics();
+    private final RemovalListener<UUID, String> languageEvictionListener = this.languageCacheMetrics.evictionListener();
+    private final Cache<UUID, String> staleLanguageCache = CacheBuilder
+            .newBuilder()
+            .maximumSize(10_000)
+            .build();
     private final Cache<UUID, String> languageCache = CacheBuilder
             .newBuilder()
             .expireAfterWrite(5L, TimeUnit.MINUTES)
+            .removalListener((RemovalListener<UUID, String>) notification -> {
+                this.languageEvictionListener.onRemoval(notification);
+                //Expired languages can still be served while the database is unavailable or on the server thread
+                if (notification.wasEvicted()) {
+                    this.staleLanguageCache.put(notification.getKey(), notification.getValue());
+                }
+            })
             .build();
+    //The languages the online players chose themselves, empty if they use the language of their client locale
+    private final Cache<UUID, Optional<String>> overrideCache = CacheBuilder
+            .newBuilder()
+            .expireAfterAccess(30L, TimeUnit.MINUTES)
+            .build();
+    private final Set<UUID> loadingOverrides = ConcurrentHashMap.newKeySet();
     protected final Cache<UUID, LanguagePlayer> playerCache = CacheBuilder
             .newBuilder()
             .expireAfterWrite(5L, TimeUnit.MINUTES)
@@ -71,39 +98,149 @@ public abstract class DefaultPlayerExecutor implements PlayerExecutor {
     public DefaultPlayerExecutor(LanguageAPI languageAPI, LanguageConfig languageConfig) {
         this.languageConfig = languageConfig;
         this.databaseProvider = languageConfig.getDatabaseProvider();
+        this.playerTable = new PlayerTable(this.databaseProvider, languageConfig.getLogger());
+        this.playerPruner = new PlayerPruner(this.databaseProvider, this.playerTable, languageConfig.getLanguageSetting().getPruneSetting(),
+                command -> languageAPI.executeAsync(TaskPriority.MAINTENANCE, command), languageConfig.getLogger());
         this.languageAPI = languageAPI;
-        this.dataSource = this.databaseProvider.getDataSource();
+        this.languageCacheMetrics.setSizeSupplier(this.languageCache::size);
     }
 
     @NotNull
     @Override
     public String getPlayerLanguage(UUID playerId) {
-        if (!this.isRegisteredPlayer(playerId)) {
-            this.registerPlayer(playerId);
+        if (this.isClientLocaleLanguage()) {
+            String localeLanguage = this.getLocaleLanguage(playerId);
+            if (localeLanguage != null) {
+                this.languageCacheMetrics.recordHit();
+                return localeLanguage;
+            }
         }
+        //A cached language was read from or written to the database, so the player is registered
         String cachedLanguage = this.languageCache.getIfPresent(playerId);
         if (cachedLanguage != null) {
             if (this.languageAPI.isLanguage(cachedLanguage)) {
+                this.languageCacheMetrics.recordHit();
                 return cachedLanguage;
             }
             this.languageCache.invalidate(playerId);
         }
-        try (Connection connection = this.databaseProvider.getDataSource().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement("SELECT language FROM playerlanguage WHERE uuid=?;")) {
-            preparedStatement.setString(1, playerId.toString());
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                if (resultSet.next()) {
-                    String language = resultSet.getString("language").toLowerCase();
-                    this.languageCache.put(playerId, language);
-                    return language;
-                }
+        this.languageCacheMetrics.recordMiss();
+
+        if (!this.databaseProvider.getCircuitBreaker().isAvailable()) {
+            //Neither registered nor cached, so the player is not treated as new after the outage
+            String staleLanguage = this.staleLanguageCache.getIfPresent(playerId);
+            return staleLanguage != null && this.languageAPI.isLanguage(staleLanguage) ? staleLanguage : this.languageAPI.getDefaultLanguage();
+        }
+        if (this.getBlockingCallDetector().shouldServeStale()) {
+            String staleLanguage = this.staleLanguageCache.getIfPresent(playerId);
+            if (staleLanguage != null && this.languageAPI.isLanguage(staleLanguage)) {
+                this.getBlockingCallDetector().recordStaleServed();
+                this.languageAPI.executeAsync(() -> this.getPlayerLanguage(playerId));
+                return staleLanguage;
+            }
+        }
+        try {
+            //One lookup, an unregistered player has no language
+            String language = this.playerTable.getLanguage(playerId);
+            if (language != null && (!this.hasImplicitLanguage() || this.languageAPI.isLanguage(language))) {
+                language = language.toLowerCase();
+                this.languageCache.put(playerId, language);
+                return language;
             }
+            if (this.hasImplicitLanguage()) {
+                //No row is the default language, cached like a stored language so the lookup is not repeated
+                String defaultLanguage = this.languageAPI.getDefaultLanguage().toLowerCase();
+                this.languageCache.put(playerId, defaultLanguage);
+                return defaultLanguage;
+            }
+            this.registerPlayer(playerId);
         } catch (SQLException throwable) {
             throwable.printStackTrace();
         }
         return this.languageAPI.getDefaultLanguage();
     }
 
+    /**
+     * Resolves the language of an online player from memory, the language the player chose is loaded in the background once the player joined
+     *
+     * @param playerId the uuid of the player
+     * @return returns the language of the player, null if the player is offline or the client did not send its locale yet
+     */
+    @Nullable
+    private String getLocaleLanguage(UUID playerId) {
+        String locale = this.getClientLocale(playerId);
+        if (locale == null || !(this.languageAPI instanceof DefaultLanguageAPI)) {
+            return null;
+        }
+        Optional<String> override = this.overrideCache.getIfPresent(playerId);
+        if (override == null) {
+            //Not loaded by the join, ex. the player was online before the plugin was enabled
+            this.loadOverride(playerId);
+        } else if (override.isPresent() && this.languageAPI.isLanguage(override.get())) {
+            return override.get();
+        }
+        return this.getLanguageOfLocale(locale);
+    }
+
+    private String getLanguageOfLocale(String locale) {
+        LanguageIndex languageIndex = ((DefaultLanguageAPI) this.languageAPI).getLanguageIndex();
+        int languageId = languageIndex.getLocaleId(locale);
+        if (languageId == -1) {
+            languageId = languageIndex.getDefaultLanguageId();
+        }
+        return languageId == -1 ? this.languageAPI.getDefaultLanguage().toLowerCase() : languageIndex.getLanguage(languageId).toLowerCase();
+    }
+
+    /**
+     * Loads the language the player chose in the background, so the messages of a session are not sent in the language of the client locale
+     *
+     * @param playerId the uuid of the player
+     */
+    private void loadOverride(UUID playerId) {
+        if (!this.databaseProvider.getCircuitBreaker().isAvailable() || !this.loadingOverrides.add(playerId)) {
+            return;
+        }
+        this.languageAPI.executeAsync(TaskPriority.INTERACTIVE, () -> {
+            try {
+                String language = this.playerTable.getLanguage(playerId);
+                //A language set while this lookup ran is newer, so it is kept
+                this.overrideCache.asMap().putIfAbsent(playerId, language == null ? Optional.empty() : Optional.of(language.toLowerCase()));
+            } catch (SQLException throwable) {
+                throwable.printStackTrace();
+            } finally {
+                this.loadingOverrides.remove(playerId);
+            }
+        });
+    }
+
+    /**
+     * Gets the locale the client of an online player uses, the platforms override this to provide the locale
+     *
+     * @param playerId the uuid of the player
+     * @return returns the locale of the client (ex. en_us), null if the player is offline or the locale is unknown
+     * @since 2.0
+     */
+    @Nullable
+    protected String getClientLocale(UUID playerId) {
+        return null;
+    }
+
+    private void executeWrite(UUID playerId, Runnable command) {
+        this.executeWrite(playerId, TaskPriority.INTERACTIVE, command);
+    }
+
+    private void executeWrite(UUID playerId, TaskPriority priority, Runnable command) {
+        if (this.languageAPI instanceof DefaultLanguageAPI) {
+            ((DefaultLanguageAPI) this.languageAPI).executeWrite(playerId, priority, command);
+            return;
+        }
+        this.languageAPI.executeAsync(priority, command);
+    }
+
+    private BlockingCallDetector getBlockingCallDetector() {
+        return this.databaseProvider.getBlockingCallDetector();
+    }
+
     @Override
     public @NotNull CompletableFuture<String> getPlayerLanguageAsync(UUID playerId) {
         return CompletableFuture.supplyAsync(() -> this.getPlayerLanguage(playerId));
@@ -127,34 +264,116 @@ public abstract class DefaultPlayerExecutor implements PlayerExecutor {
 
     @Override
     public void setPlayerLanguage(UUID playerId, String newLanguage) {
-        this.languageAPI.executeAsync(() -> {
+        this.executeWrite(playerId, () -> {
             if (!this.languageAPI.isLanguage(newLanguage)) {
                 throw new IllegalArgumentException("Language " + newLanguage + " was not found!");
             }
-            if (!this.isRegisteredPlayer(playerId)) {
-                try (Connection connection = this.dataSource.getConnection();
-                     PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO playerlanguage (uuid, language) VALUES (?,?);")) {
-                    preparedStatement.setString(1, playerId.toString());
-                    preparedStatement.setString(2, newLanguage.toLowerCase());
-                    preparedStatement.execute();
-                } catch (SQLException throwables) {
-                    throwables.printStackTrace();
+            //Resolved before the upsert, the caches only hold the previous language while the player is online or recently looked up
+            String oldLanguage = this.getPreviousLanguage(playerId);
+            //A single upsert on the write pool, a registration check on the read pool may not see a registration of a lagging replica
+            Optional<String> override;
+            try {
+                if (!this.isStoredLanguage(newLanguage)) {
+                    this.playerTable.delete(playerId);
+                    override = Optional.empty();
+                } else {
+                    this.playerTable.setLanguage(playerId, newLanguage);
+                    override = Optional.of(newLanguage.toLowerCase());
                 }
-                this.languageCache.put(playerId, newLanguage.toLowerCase());
-                return;
-            }
-            try (Connection connection = this.dataSource.getConnection();
-                 PreparedStatement preparedStatement = connection.prepareStatement("UPDATE playerlanguage SET language=? WHERE uuid=?;")) {
-                preparedStatement.setString(1, newLanguage.toLowerCase());
-                preparedStatement.setString(2, playerId.toString());
-                preparedStatement.execute();
             } catch (SQLException throwables) {
+                //Nothing was stored, so neither the caches nor the listeners may see the language
                 throwables.printStackTrace();
+                return;
             }
+            this.overrideCache.put(playerId, override);
             this.languageCache.put(playerId, newLanguage.toLowerCase());
+            if (!newLanguage.equalsIgnoreCase(oldLanguage)) {
+                this.languageAPI.getEventBus().post(new PlayerLanguageChangeEvent(playerId, oldLanguage, newLanguage.toLowerCase()));
+            }
         });
     }
 
+    /**
+     * Resolves the language a player has before it is changed, from the chosen language, the client locale, the cache or the row of the player
+     *
+     * @param playerId the uuid of the player
+     * @return returns the current language of the player, null if the player is not registered and has no implicit language
+     */
+    @Nullable
+    private String getPreviousLanguage(UUID playerId) {
+        String locale = this.isClientLocaleLanguage() && this.languageAPI instanceof DefaultLanguageAPI ? this.getClientLocale(playerId) : null;
+        Optional<String> override = this.overrideCache.getIfPresent(playerId);
+        if (override != null) {
+            return override.isPresent() ? override.get() : this.getLanguageWithoutRow(playerId);
+        }
+        if (locale == null) {
+            String cachedLanguage = this.languageCache.getIfPresent(playerId);
+            if (cachedLanguage != null) {
+                return cachedLanguage;
+            }
+        }
+        String storedLanguage;
+        try {
+            storedLanguage = this.playerTable.getLanguage(playerId);
+        } catch (SQLException throwable) {
+            throwable.printStackTrace();
+            return null;
+        }
+        return storedLanguage != null ? storedLanguage.toLowerCase() : this.getLanguageWithoutRow(playerId);
+    }
+
+    /**
+     * @param playerId the uuid of the player
+     * @return returns the language of a player without a row, null if such a player has no language
+     */
+    @Nullable
+    private String getLanguageWithoutRow(UUID playerId) {
+        if (this.isClientLocaleLanguage() && this.languageAPI instanceof DefaultLanguageAPI) {
+            String locale = this.getClientLocale(playerId);
+            if (locale != null) {
+                return this.getLanguageOfLocale(locale);
+            }
+        }
+        return this.hasImplicitLanguage() ? this.languageAPI.getDefaultLanguage().toLowerCase() : null;
+    }
+
+    /**
+     * Checks whether a player with the language gets a row. With {@link de.tentact.languageapi.configuration.LanguageSetting#isImplicitDefaultLanguage()}
+     * a player without a row has the default language, with the client locale a missing row is the language of the locale, so a chosen default language is stored
+     *
+     * @param language the language of the player
+     * @return whether the language is stored in the players table
+     * @since 2.0
+     */
+    public boolean isStoredLanguage(@NotNull String language) {
+        return !this.isImplicitDefaultLanguage() || this.isClientLocaleLanguage() || !language.equalsIgnoreCase(this.languageAPI.getDefaultLanguage());
+    }
+
+    /**
+     * Updates the cached languages and posts the {@link PlayerLanguageChangeEvent} after the row of a player was changed directly in the database, ex. by an import
+     *
+     * @param playerId       the uuid of the player
+     * @param storedLanguage the language stored before, null if the player had no row
+     * @param newLanguage    the language stored now, null if the row was deleted
+     * @since 2.0
+     */
+    public void handleStoredLanguageChange(UUID playerId, @Nullable String storedLanguage, @Nullable String newLanguage) {
+        Optional<String> override = newLanguage == null ? Optional.empty() : Optional.of(newLanguage.toLowerCase());
+        String oldLanguage = storedLanguage != null ? storedLanguage.toLowerCase() : this.getLanguageWithoutRow(playerId);
+        String language = newLanguage != null ? newLanguage.toLowerCase() : this.getLanguageWithoutRow(playerId);
+        //Only the players looked up recently are cached, the others are read on their next lookup
+        this.overrideCache.asMap().computeIfPresent(playerId, (key, value) -> override);
+        if (language == null) {
+            this.languageCache.invalidate(playerId);
+        } else {
+            this.languageCache.asMap().computeIfPresent(playerId, (key, value) -> language);
+        }
+        this.staleLanguageCache.invalidate(playerId);
+        if (language != null && !language.equals(oldLanguage)) {
+            this.languageAPI.getEventBus().post(new PlayerLanguageChangeEvent(playerId, oldLanguage, language));
+        }
+    }
+
     @Override
     public void registerPlayer(UUID playerId) {
         this.registerPlayer(playerId, this.languageAPI.getDefaultLanguage());
@@ -162,7 +381,15 @@ public abstract class DefaultPlayerExecutor implements PlayerExecutor {
 
     @Override
     public void registerPlayer(UUID playerId, String language) {
-        this.languageAPI.executeAsync(() -> {
+        if (this.isClientLocaleLanguage()) {
+            //Nothing to store, a player without a row has the language of the client locale
+            return;
+        }
+        if (this.isImplicitDefaultLanguage() && this.validateLanguage(language).equalsIgnoreCase(this.languageAPI.getDefaultLanguage())) {
+            //Nothing to store, a player without a row has the default language
+            return;
+        }
+        this.executeWrite(playerId, () -> {
             String validLanguage = this.validateLanguage(language);
 
             if (!this.isRegisteredPlayer(playerId)) {
@@ -177,14 +404,47 @@ public abstract class DefaultPlayerExecutor implements PlayerExecutor {
         });
     }
 
+    /**
+     * Sets the last time the player was seen and loads the language the player chose, called by the platforms once a player joined.
+     * Without it a player returning after the days of the {@link de.tentact.languageapi.configuration.PruneSetting} would be deleted while online
+     *
+     * @param playerId the uuid of the player who joined
+     * @since 2.0
+     */
+    public void handleJoin(UUID playerId) {
+        if (this.isClientLocaleLanguage()) {
+            this.loadOverride(playerId);
+        }
+        this.writeLastSeen(playerId);
+    }
+
+    /**
+     * Sets the last time the player was seen, called by the platforms once a player quits.
+     * Players not seen for the days of the {@link de.tentact.languageapi.configuration.PruneSetting} are deleted by the {@link PlayerPruner}
+     *
+     * @param playerId the uuid of the player who quit
+     * @since 2.0
+     */
+    public void updateLastSeen(UUID playerId) {
+        //The player quit, the chosen language is loaded again on the next join
+        this.overrideCache.invalidate(playerId);
+        this.writeLastSeen(playerId);
+    }
+
+    private void writeLastSeen(UUID playerId) {
+        this.executeWrite(playerId, TaskPriority.MAINTENANCE, () -> {
+            try {
+                this.playerTable.updateLastSeen(playerId);
+            } catch (SQLException throwable) {
+                throwable.printStackTrace();
+            }
+        });
+    }
+
     @Override
     public boolean isRegisteredPlayer(UUID playerId) {
-        try (Connection connection = this.dataSource.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement("SELECT * FROM playerlanguage WHERE uuid=?;")) {
-            preparedStatement.setString(1, playerId.toString());
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                return resultSet.next();
-            }
+        try {
+            return this.playerTable.isRegistered(playerId);
         } catch (SQLException throwable) {
             throwable.printStackTrace();
         }
@@ -211,6 +471,54 @@ public abstract class DefaultPlayerExecutor implements PlayerExecutor {
         return this.offlinePlayerCache.getUnchecked(playerId);
     }
 
+    /**
+     * @return returns the metrics of the player language cache
+     * @since 2.0
+     */
+    public CacheMetrics getLanguageCacheMetrics() {
+        return this.languageCacheMetrics;
+    }
+
+    /**
+     * Removes every cached language, after the languages of many players were changed directly in the database
+     *
+     * @since 2.0
+     */
+    public void invalidateLanguageCache() {
+        this.languageCache.invalidateAll();
+        this.overrideCache.invalidateAll();
+        this.staleLanguageCache.invalidateAll();
+    }
+
+    /**
+     * @return returns the table storing the languages of the players
+     * @since 2.0
+     */
+    public PlayerTable getPlayerTable() {
+        return this.playerTable;
+    }
+
+    /**
+     * @return returns the job deleting inactive players
+     * @since 2.0
+     */
+    public PlayerPruner getPlayerPruner() {
+        return this.playerPruner;
+    }
+
+    private boolean isImplicitDefaultLanguage() {
+        return this.languageConfig.getLanguageSetting().isImplicitDefaultLanguage();
+    }
+
+    private boolean isClientLocaleLanguage() {
+        return this.languageConfig.getLanguageSetting().isClientLocaleLanguage();
+    }
+
+    private boolean hasImplicitLanguage() {
+        //A player without a row is not registered with the default language in these modes
+        return this.isImplicitDefaultLanguage() || this.isClientLocaleLanguage();
+    }
+
     private String validateLanguage(String language) {
         if (!this.languageAPI.isLanguage(language)) {
             return this.languageAPI.getDefaultLanguage();
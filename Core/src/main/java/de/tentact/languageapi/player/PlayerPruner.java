@@ -0,0 +1,177 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.player;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import de.tentact.languageapi.configuration.DatabaseProvider;
+import de.tentact.languageapi.configuration.PruneSetting;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * Deletes the players, which did not join for the days of the {@link PruneSetting}. Every run reads the inactive players by the index on their last seen time,
+ * a batch is deleted by its primary keys and the next batch waits for the configured pause, so the table is never locked for long
+ *
+ * @since 2.0
+ */
+public class PlayerPruner {
+
+    private final DatabaseProvider databaseProvider;
+    private final PlayerTable playerTable;
+    private final PruneSetting pruneSetting;
+    private final Executor executor;
+    private final Logger logger;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("LanguageAPI-Pruner").setDaemon(true).build()
+    );
+    private volatile int lastPrunedPlayers;
+    private volatile long lastDurationMillis;
+
+    /**
+     * @param databaseProvider the database of the players table
+     * @param playerTable      the players table to delete the players from
+     * @param pruneSetting     the setting of the deletion
+     * @param executor         the executor to run the batches on
+     * @param logger           the logger to report the deleted players
+     */
+    public PlayerPruner(DatabaseProvider databaseProvider, PlayerTable playerTable, PruneSetting pruneSetting, Executor executor, Logger logger) {
+        this.databaseProvider = databaseProvider;
+        this.playerTable = playerTable;
+        this.pruneSetting = pruneSetting;
+        this.executor = executor;
+        this.logger = logger;
+    }
+
+    /**
+     * Schedules the runs at the configured hour and interval, does nothing if pruning is disabled
+     */
+    public void start() {
+        if (!this.pruneSetting.isEnabled()) {
+            return;
+        }
+        long interval = TimeUnit.HOURS.toMillis(this.pruneSetting.getInterval());
+        this.scheduler.scheduleAtFixedRate(() -> this.prune().whenComplete((prunedPlayers, throwable) -> {
+            if (throwable != null) {
+                throwable.printStackTrace();
+            }
+        }), this.getInitialDelay(), interval, TimeUnit.MILLISECONDS);
+    }
+
+    private long getInitialDelay() {
+        int hour = this.pruneSetting.getHour();
+        if (hour == -1) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = now.withHour(hour).withMinute(0).withSecond(0).withNano(0);
+        if (!start.isAfter(now)) {
+            start = start.plusDays(1);
+        }
+        return Duration.between(now, start).toMillis();
+    }
+
+    /**
+     * Deletes the inactive players now, a run which is already in progress is not started twice
+     *
+     * @return returns a future completed with the amount of deleted players
+     */
+    @NotNull
+    public CompletableFuture<Integer> prune() {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        if (this.databaseProvider.isNotConnected() || !this.playerTable.isMigrated() || !this.running.compareAndSet(false, true)) {
+            future.complete(0);
+            return future;
+        }
+        Timestamp lastSeenBefore = new Timestamp(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(this.pruneSetting.getInactiveDays()));
+        long start = System.nanoTime();
+        this.pruneBatch(lastSeenBefore, 0, future);
+        return future.whenComplete((prunedPlayers, throwable) -> {
+            this.running.set(false);
+            if (throwable != null) {
+                return;
+            }
+            this.lastPrunedPlayers = prunedPlayers;
+            this.lastDurationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            this.logger.info("Deleted " + prunedPlayers + " players inactive for " + this.pruneSetting.getInactiveDays() + " days in " + this.lastDurationMillis + "ms");
+        });
+    }
+
+    private void pruneBatch(Timestamp lastSeenBefore, int prunedPlayers, CompletableFuture<Integer> future) {
+        this.executor.execute(() -> {
+            List<byte[]> playerIds;
+            int deletedPlayers;
+            try (Connection connection = this.databaseProvider.getConnection()) {
+                playerIds = this.playerTable.findInactive(connection, lastSeenBefore, this.pruneSetting.getBatchSize());
+                deletedPlayers = this.playerTable.deleteInactive(connection, lastSeenBefore, playerIds);
+            } catch (SQLException throwable) {
+                future.completeExceptionally(throwable);
+                return;
+            }
+            //A batch without deletions would be found again, the players joined while it was read
+            if (playerIds.size() < this.pruneSetting.getBatchSize() || deletedPlayers == 0) {
+                future.complete(prunedPlayers + deletedPlayers);
+                return;
+            }
+            this.scheduler.schedule(() -> this.pruneBatch(lastSeenBefore, prunedPlayers + deletedPlayers, future),
+                    this.pruneSetting.getBatchPause(), TimeUnit.MILLISECONDS);
+        });
+    }
+
+    /**
+     * @return returns the amount of players deleted by the last run
+     */
+    public int getLastPrunedPlayers() {
+        return this.lastPrunedPlayers;
+    }
+
+    /**
+     * @return returns the milliseconds the last run took, including the pauses between the batches
+     */
+    public long getLastDurationMillis() {
+        return this.lastDurationMillis;
+    }
+
+    /**
+     * Stops the scheduled runs and the pauses between the batches, called once the plugin is disabled
+     */
+    public void shutdown() {
+        this.scheduler.shutdownNow();
+    }
+}
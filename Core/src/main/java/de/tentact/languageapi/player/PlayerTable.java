@@ -0,0 +1,565 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.player;
+
+import de.tentact.languageapi.configuration.DatabaseProvider;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.logging.Logger;
+
+/**
+ * The languages of the players in the players table, which stores the uuid as BINARY(16) and the language as SMALLINT id of the languageids table.
+ * Players of the former playerlanguage table are copied in batches by {@link PlayerTable#migrate(Executor)},
+ * until the migration is completed a player missing in the players table is looked up in the playerlanguage table
+ *
+ * @since 2.0
+ */
+public final class PlayerTable {
+
+    public static final String MIGRATION_META_NAME = "players-migration";
+    private static final String TABLE_NOT_FOUND = "42S02";
+    private static final int MIGRATION_BATCH_SIZE = 1000;
+
+    private final DatabaseProvider databaseProvider;
+    private final Logger logger;
+    private final Map<String, Short> languageIds = new ConcurrentHashMap<>();
+    private final Map<Short, String> languageNames = new ConcurrentHashMap<>();
+    private final Object languageNamesLock = new Object();
+    private volatile boolean migrated;
+
+    /**
+     * @param databaseProvider the database of the players table
+     * @param logger           the logger to log the progress of the migration
+     */
+    public PlayerTable(DatabaseProvider databaseProvider, Logger logger) {
+        this.databaseProvider = databaseProvider;
+        this.logger = logger;
+    }
+
+    /**
+     * @param playerId the uuid of the player
+     * @return returns the language of the player, null if the player is not registered
+     * @throws SQLException if the database could not be read
+     */
+    @Nullable
+    public String getLanguage(@NotNull UUID playerId) throws SQLException {
+        try (Connection connection = this.databaseProvider.getReadConnection()) {
+            try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT language_id FROM players WHERE uuid=?;")) {
+                preparedStatement.setBytes(1, toBytes(playerId));
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    if (resultSet.next()) {
+                        return this.getLanguageName(connection, resultSet.getShort("language_id"));
+                    }
+                }
+            }
+            return this.migrated ? null : this.getLegacyLanguage(connection, playerId);
+        }
+    }
+
+    /**
+     * @param playerId the uuid of the player
+     * @return whether the player is registered
+     * @throws SQLException if the database could not be read
+     */
+    public boolean isRegistered(@NotNull UUID playerId) throws SQLException {
+        try (Connection connection = this.databaseProvider.getReadConnection()) {
+            try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT 1 FROM players WHERE uuid=?;")) {
+                preparedStatement.setBytes(1, toBytes(playerId));
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    if (resultSet.next()) {
+                        return true;
+                    }
+                }
+            }
+            return !this.migrated && this.getLegacyLanguage(connection, playerId) != null;
+        }
+    }
+
+    /**
+     * Registers the player or changes the language of the player with a single upsert on the write pool
+     *
+     * @param playerId the uuid of the player
+     * @param language the new language of the player
+     * @throws SQLException if the language could not be written
+     */
+    public void setLanguage(@NotNull UUID playerId, @NotNull String language) throws SQLException {
+        try (Connection connection = this.databaseProvider.getConnection()) {
+            short languageId = this.getLanguageId(connection, language);
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            try (PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO players (uuid, language_id, last_seen) VALUES (?,?,?) " +
+                    "ON DUPLICATE KEY UPDATE language_id=?, last_seen=?;")) {
+                preparedStatement.setBytes(1, toBytes(playerId));
+                preparedStatement.setShort(2, languageId);
+                preparedStatement.setTimestamp(3, now);
+                preparedStatement.setShort(4, languageId);
+                preparedStatement.setTimestamp(5, now);
+                preparedStatement.execute();
+            }
+        }
+    }
+
+    /**
+     * Sets the last time the player was seen to now, an unregistered player is not inserted
+     *
+     * @param playerId the uuid of the player
+     * @throws SQLException if the player could not be updated
+     */
+    public void updateLastSeen(@NotNull UUID playerId) throws SQLException {
+        try (Connection connection = this.databaseProvider.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement("UPDATE players SET last_seen=? WHERE uuid=?;")) {
+            preparedStatement.setTimestamp(1, new Timestamp(System.currentTimeMillis()));
+            preparedStatement.setBytes(2, toBytes(playerId));
+            preparedStatement.execute();
+        }
+    }
+
+    /**
+     * Finds the players seen longest ago, which were not seen since the given time. The index on the last seen time is read
+     * in its order, so only inactive players are read. Deleted players and players who joined since do not match again,
+     * so the next batch is found by the same query
+     *
+     * @param connection     the connection to read the players with
+     * @param lastSeenBefore the time the players were last seen before
+     * @param limit          the maximum amount of players to find
+     * @return returns the uuids of the players as stored in the players table
+     * @throws SQLException if the players could not be read
+     */
+    @NotNull
+    public List<byte[]> findInactive(@NotNull Connection connection, @NotNull Timestamp lastSeenBefore, int limit) throws SQLException {
+        List<byte[]> playerIds = new ArrayList<>(limit);
+        try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT uuid FROM players WHERE last_seen < ? ORDER BY last_seen LIMIT ?;")) {
+            preparedStatement.setTimestamp(1, lastSeenBefore);
+            preparedStatement.setInt(2, limit);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    playerIds.add(resultSet.getBytes("uuid"));
+                }
+            }
+        }
+        return playerIds;
+    }
+
+    /**
+     * Deletes the players found by {@link PlayerTable#findInactive(Connection, Timestamp, int)}. The last seen time is checked again,
+     * so a player who joined in the meantime is kept
+     *
+     * @param connection     the connection of the write pool to delete the players with
+     * @param lastSeenBefore the time the players were last seen before
+     * @param playerIds      the uuids of the players as stored in the players table
+     * @return returns the amount of deleted players
+     * @throws SQLException if the players could not be deleted
+     */
+    public int deleteInactive(@NotNull Connection connection, @NotNull Timestamp lastSeenBefore, @NotNull List<byte[]> playerIds) throws SQLException {
+        if (playerIds.isEmpty()) {
+            return 0;
+        }
+        StringBuilder placeholders = new StringBuilder("?");
+        for (int i = 1; i < playerIds.size(); i++) {
+            placeholders.append(",?");
+        }
+        try (PreparedStatement preparedStatement = connection.prepareStatement("DELETE FROM players WHERE uuid IN (" + placeholders + ") AND last_seen < ?;")) {
+            int index = 1;
+            for (byte[] playerId : playerIds) {
+                preparedStatement.setBytes(index++, playerId);
+            }
+            preparedStatement.setTimestamp(index, lastSeenBefore);
+            return preparedStatement.executeUpdate();
+        }
+    }
+
+    /**
+     * Removes the player, so the player has the default language again if {@link de.tentact.languageapi.configuration.LanguageSetting#isImplicitDefaultLanguage()} is enabled
+     *
+     * @param playerId the uuid of the player
+     * @throws SQLException if the player could not be removed
+     */
+    public void delete(@NotNull UUID playerId) throws SQLException {
+        try (Connection connection = this.databaseProvider.getConnection()) {
+            try (PreparedStatement preparedStatement = connection.prepareStatement("DELETE FROM players WHERE uuid=?;")) {
+                preparedStatement.setBytes(1, toBytes(playerId));
+                preparedStatement.execute();
+            }
+            if (!this.migrated) {
+                //Otherwise the former language is read again until the migration completed
+                try (PreparedStatement preparedStatement = connection.prepareStatement("DELETE FROM playerlanguage WHERE uuid=?;")) {
+                    preparedStatement.setString(1, playerId.toString());
+                    preparedStatement.execute();
+                } catch (SQLException throwable) {
+                    if (!TABLE_NOT_FOUND.equals(throwable.getSQLState())) {
+                        throw throwable;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Registers the players in one batch, players which are already registered keep their language
+     *
+     * @param connection the connection of the write pool to insert the players with
+     * @param languages  the languages by the uuid of the players
+     * @throws SQLException if the players could not be inserted
+     */
+    public void registerAll(@NotNull Connection connection, @NotNull Map<UUID, String> languages) throws SQLException {
+        if (languages.isEmpty()) {
+            return;
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        try (PreparedStatement preparedStatement = connection.prepareStatement("INSERT IGNORE INTO players (uuid, language_id, last_seen) VALUES (?,?,?);")) {
+            for (Map.Entry<UUID, String> entry : languages.entrySet()) {
+                preparedStatement.setBytes(1, toBytes(entry.getKey()));
+                preparedStatement.setShort(2, this.getLanguageId(connection, entry.getValue()));
+                preparedStatement.setTimestamp(3, now);
+                preparedStatement.addBatch();
+            }
+            preparedStatement.executeBatch();
+        }
+    }
+
+    /**
+     * Sets the language of the players in one batch, the last seen time of registered players is kept
+     *
+     * @param connection the connection of the write pool to write the players with
+     * @param languages  the languages by the uuid of the players
+     * @throws SQLException if the players could not be written
+     */
+    public void setAll(@NotNull Connection connection, @NotNull Map<UUID, String> languages) throws SQLException {
+        if (languages.isEmpty()) {
+            return;
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        try (PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO players (uuid, language_id, last_seen) VALUES (?,?,?) " +
+                "ON DUPLICATE KEY UPDATE language_id=VALUES(language_id);")) {
+            for (Map.Entry<UUID, String> entry : languages.entrySet()) {
+                preparedStatement.setBytes(1, toBytes(entry.getKey()));
+                preparedStatement.setShort(2, this.getLanguageId(connection, entry.getValue()));
+                preparedStatement.setTimestamp(3, now);
+                preparedStatement.addBatch();
+            }
+            preparedStatement.executeBatch();
+        }
+    }
+
+    /**
+     * Reads the languages of the given players in one query, unregistered players are not contained
+     *
+     * @param connection the connection to read the players with
+     * @param playerIds  the uuids of the players
+     * @return returns the languages by the uuid of the registered players
+     * @throws SQLException if the players could not be read
+     */
+    @NotNull
+    public Map<UUID, String> findLanguages(@NotNull Connection connection, @NotNull Collection<UUID> playerIds) throws SQLException {
+        Map<UUID, String> languages = new HashMap<>();
+        if (playerIds.isEmpty()) {
+            return languages;
+        }
+        try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT uuid, language_id FROM players WHERE uuid IN ("
+                + String.join(",", Collections.nCopies(playerIds.size(), "?")) + ");")) {
+            int index = 1;
+            for (UUID playerId : playerIds) {
+                preparedStatement.setBytes(index++, toBytes(playerId));
+            }
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    languages.put(fromBytes(resultSet.getBytes("uuid")), this.getLanguageName(connection, resultSet.getShort("language_id")));
+                }
+            }
+        }
+        return languages;
+    }
+
+    /**
+     * Removes the players in one statement, used by imports once the players table is migrated
+     *
+     * @param connection the connection of the write pool to delete the players with
+     * @param playerIds  the uuids of the players
+     * @throws SQLException if the players could not be deleted
+     */
+    public void deleteAll(@NotNull Connection connection, @NotNull Collection<UUID> playerIds) throws SQLException {
+        if (playerIds.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement preparedStatement = connection.prepareStatement("DELETE FROM players WHERE uuid IN ("
+                + String.join(",", Collections.nCopies(playerIds.size(), "?")) + ");")) {
+            int index = 1;
+            for (UUID playerId : playerIds) {
+                preparedStatement.setBytes(index++, toBytes(playerId));
+            }
+            preparedStatement.execute();
+        }
+    }
+
+    /**
+     * Reads the next players in the order of their uuid
+     *
+     * @param connection the connection to read the players with
+     * @param after      the uuid of the last player of the previous batch, null to start at the first player
+     * @param limit      the maximum amount of players to read
+     * @return returns the languages by the uuid of the players in the order of the uuid
+     * @throws SQLException if the players could not be read
+     */
+    @NotNull
+    public LinkedHashMap<UUID, String> findAll(@NotNull Connection connection, @Nullable UUID after, int limit) throws SQLException {
+        LinkedHashMap<UUID, String> languages = new LinkedHashMap<>();
+        try (PreparedStatement preparedStatement = connection.prepareStatement(after == null
+                ? "SELECT uuid, language_id FROM players ORDER BY uuid LIMIT ?;"
+                : "SELECT uuid, language_id FROM players WHERE uuid > ? ORDER BY uuid LIMIT ?;")) {
+            int index = 1;
+            if (after != null) {
+                preparedStatement.setBytes(index++, toBytes(after));
+            }
+            preparedStatement.setInt(index, limit);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    languages.put(fromBytes(resultSet.getBytes("uuid")), this.getLanguageName(connection, resultSet.getShort("language_id")));
+                }
+            }
+        }
+        return languages;
+    }
+
+    /**
+     * Copies the players of the playerlanguage table in batches, every batch is run as its own task on the executor.
+     * Players written in the meantime are not overwritten, so the migration can run while players join
+     *
+     * @param executor the executor to run the batches on
+     * @return returns a future completed with the amount of copied players
+     */
+    @NotNull
+    public CompletableFuture<Integer> migrate(@NotNull Executor executor) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                if (this.isMigrationCompleted()) {
+                    this.migrated = true;
+                    future.complete(0);
+                    return;
+                }
+            } catch (SQLException throwable) {
+                future.completeExceptionally(throwable);
+                return;
+            }
+            this.logger.info("Migrating the players of the playerlanguage table to the players table");
+            this.migrateBatch(executor, "", 0, future);
+        });
+        return future;
+    }
+
+    private void migrateBatch(Executor executor, String lastPlayerId, int migratedPlayers, CompletableFuture<Integer> future) {
+        executor.execute(() -> {
+            Map<UUID, String> languages = new LinkedHashMap<>();
+            String nextPlayerId = lastPlayerId;
+            int readPlayers = 0;
+            try (Connection connection = this.databaseProvider.getConnection()) {
+                try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT uuid, language FROM playerlanguage WHERE uuid > ? ORDER BY uuid LIMIT ?;")) {
+                    preparedStatement.setString(1, lastPlayerId);
+                    preparedStatement.setInt(2, MIGRATION_BATCH_SIZE);
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        while (resultSet.next()) {
+                            readPlayers++;
+                            nextPlayerId = resultSet.getString("uuid");
+                            String language = resultSet.getString("language");
+                            try {
+                                if (language != null) {
+                                    languages.put(UUID.fromString(nextPlayerId), language.toLowerCase());
+                                }
+                            } catch (IllegalArgumentException exception) {
+                                this.logger.warning("Skipping the player " + nextPlayerId + ", the uuid is invalid");
+                            }
+                        }
+                    }
+                } catch (SQLException throwable) {
+                    if (!TABLE_NOT_FOUND.equals(throwable.getSQLState())) {
+                        throw throwable;
+                    }
+                    //No former table, nothing to migrate
+                }
+                this.registerAll(connection, languages);
+                if (readPlayers < MIGRATION_BATCH_SIZE) {
+                    this.completeMigration(connection);
+                    if (migratedPlayers + languages.size() > 0) {
+                        this.logger.info("Migrated " + (migratedPlayers + languages.size()) + " players, the playerlanguage table is no longer used and can be dropped");
+                    }
+                    future.complete(migratedPlayers + languages.size());
+                    return;
+                }
+            } catch (SQLException throwable) {
+                future.completeExceptionally(throwable);
+                return;
+            }
+            this.migrateBatch(executor, nextPlayerId, migratedPlayers + languages.size(), future);
+        });
+    }
+
+    private boolean isMigrationCompleted() throws SQLException {
+        try (Connection connection = this.databaseProvider.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement("SELECT version FROM languagemeta WHERE name=?;")) {
+            preparedStatement.setString(1, MIGRATION_META_NAME);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() && resultSet.getLong("version") > 0;
+            }
+        }
+    }
+
+    private void completeMigration(Connection connection) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement("UPDATE languagemeta SET version=1 WHERE name=?;")) {
+            preparedStatement.setString(1, MIGRATION_META_NAME);
+            preparedStatement.execute();
+        }
+        this.migrated = true;
+    }
+
+    @Nullable
+    private String getLegacyLanguage(Connection connection, UUID playerId) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT language FROM playerlanguage WHERE uuid=?;")) {
+            preparedStatement.setString(1, playerId.toString());
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? resultSet.getString("language") : null;
+            }
+        } catch (SQLException throwable) {
+            if (TABLE_NOT_FOUND.equals(throwable.getSQLState())) {
+                this.migrated = true;
+                return null;
+            }
+            throw throwable;
+        }
+    }
+
+    private short getLanguageId(Connection connection, String language) throws SQLException {
+        String lowerCaseLanguage = language.toLowerCase();
+        Short languageId = this.languageIds.get(lowerCaseLanguage);
+        if (languageId != null) {
+            return languageId;
+        }
+        //Ids are never deleted, so the players of a deleted language keep a valid id
+        try (PreparedStatement preparedStatement = connection.prepareStatement("INSERT IGNORE INTO languageids (language) VALUES (?);")) {
+            preparedStatement.setString(1, lowerCaseLanguage);
+            preparedStatement.execute();
+        }
+        try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT id FROM languageids WHERE language=?;")) {
+            preparedStatement.setString(1, lowerCaseLanguage);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (!resultSet.next()) {
+                    throw new SQLException("The language " + language + " has no id");
+                }
+                languageId = resultSet.getShort("id");
+            }
+        }
+        this.languageIds.put(lowerCaseLanguage, languageId);
+        this.languageNames.put(languageId, lowerCaseLanguage);
+        return languageId;
+    }
+
+    /**
+     * Loads the ids of the languageids table, so players are resolved without a reload while the server is running
+     */
+    public void loadLanguageIds() {
+        if (this.databaseProvider.isNotConnected()) {
+            return;
+        }
+        try (Connection connection = this.databaseProvider.getReadConnection()) {
+            synchronized (this.languageNamesLock) {
+                this.reloadLanguageIds(connection);
+            }
+        } catch (SQLException throwables) {
+            throwables.printStackTrace();
+        }
+    }
+
+    @Nullable
+    private String getLanguageName(Connection connection, short languageId) throws SQLException {
+        String language = this.languageNames.get(languageId);
+        if (language != null) {
+            return language;
+        }
+        //Added by another server, a replica replicates the id before the rows referencing it, so the connection of the row sees it
+        synchronized (this.languageNamesLock) {
+            language = this.languageNames.get(languageId);
+            if (language == null) {
+                this.reloadLanguageIds(connection);
+                language = this.languageNames.get(languageId);
+            }
+        }
+        return language;
+    }
+
+    private void reloadLanguageIds(Connection connection) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT id, language FROM languageids;");
+             ResultSet resultSet = preparedStatement.executeQuery()) {
+            while (resultSet.next()) {
+                this.languageIds.put(resultSet.getString("language"), resultSet.getShort("id"));
+                this.languageNames.put(resultSet.getShort("id"), resultSet.getString("language"));
+            }
+        }
+    }
+
+    /**
+     * @return whether every player of the playerlanguage table was copied
+     */
+    public boolean isMigrated() {
+        return this.migrated;
+    }
+
+    /**
+     * @param playerId the uuid to convert
+     * @return returns the 16 bytes of the uuid, as stored in the players table
+     */
+    public static byte[] toBytes(@NotNull UUID playerId) {
+        return ByteBuffer.allocate(16)
+                .putLong(playerId.getMostSignificantBits())
+                .putLong(playerId.getLeastSignificantBits())
+                .array();
+    }
+
+    /**
+     * @param bytes the 16 bytes of the uuid
+     * @return returns the uuid
+     */
+    @NotNull
+    public static UUID fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.scheduler;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the tasks of the same key one after another in the order they were submitted, while tasks of different keys
+ * run in parallel. The keys are striped by their hash onto a fixed amount of serial lanes, every lane hands one task
+ * at a time to the executor given with the task
+ *
+ * @since 2.0
+ */
+public class StripedExecutor {
+
+    private final Stripe[] stripes;
+    private final Object multipleKeysLock = new Object();
+
+    /**
+     * @param stripes the amount of serial lanes, rounded up to a power of two
+     */
+    public StripedExecutor(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * @param key      the key the task is ordered by (ex. the translationkey or the uuid of a player)
+     * @param executor the executor to run the task on, once the previous tasks of the key are completed
+     * @param command  the task to run
+     */
+    public void execute(@NotNull Object key, @NotNull Executor executor, @NotNull Runnable command) {
+        this.enqueue(this.stripe(key), new Entry(executor, command, false));
+    }
+
+    /**
+     * @param key      the key the tasks are ordered by
+     * @param executor the executor to run the tasks on
+     * @return returns an executor running every task in order of the given key
+     */
+    @NotNull
+    public Executor executor(@NotNull Object key, @NotNull Executor executor) {
+        return command -> this.execute(key, executor, command);
+    }
+
+    /**
+     * Runs a task after the previous tasks of every given key, the following tasks of the keys wait until it is completed
+     *
+     * @param keys     the keys the task is ordered by
+     * @param executor the executor to run the task on, once the previous tasks of the keys are completed
+     * @param command  the task to run
+     */
+    public void execute(@NotNull Collection<?> keys, @NotNull Executor executor, @NotNull Runnable command) {
+        Set<Stripe> stripes = new LinkedHashSet<>();
+        for (Object key : keys) {
+            stripes.add(this.stripe(key));
+        }
+        if (stripes.isEmpty()) {
+            executor.execute(command);
+            return;
+        }
+        List<Stripe> parkedStripes = new ArrayList<>(stripes);
+        AtomicInteger pendingStripes = new AtomicInteger(parkedStripes.size());
+        Runnable gate = () -> {
+            if (pendingStripes.decrementAndGet() != 0) {
+                return;
+            }
+            //Every lane is parked at the task, so it runs after the previous tasks and before the following tasks of every key
+            try {
+                executor.execute(() -> {
+                    try {
+                        command.run();
+                    } catch (RuntimeException exception) {
+                        exception.printStackTrace();
+                    } finally {
+                        parkedStripes.forEach(this::runNext);
+                    }
+                });
+            } catch (RejectedExecutionException exception) {
+                exception.printStackTrace();
+                parkedStripes.forEach(this::runNext);
+            }
+        };
+        //Tasks of multiple keys are enqueued in the same order on every lane, otherwise two of them could wait for each other
+        synchronized (this.multipleKeysLock) {
+            for (Stripe stripe : parkedStripes) {
+                this.enqueue(stripe, new Entry(null, gate, true));
+            }
+        }
+    }
+
+    /**
+     * @param keys     the keys the tasks are ordered by
+     * @param executor the executor to run the tasks on
+     * @return returns an executor running every task in order of the given keys
+     */
+    @NotNull
+    public Executor executor(@NotNull Collection<?> keys, @NotNull Executor executor) {
+        return command -> this.execute(keys, executor, command);
+    }
+
+    /**
+     * A barrier for every task submitted before, tasks submitted afterwards are not waited for
+     *
+     * @return returns a future completed once the previous tasks of every key are completed
+     */
+    @NotNull
+    public CompletableFuture<Void> flush() {
+        CompletableFuture<?>[] futures = new CompletableFuture[this.stripes.length];
+        for (int i = 0; i < this.stripes.length; i++) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            this.enqueue(this.stripes[i], new Entry(null, () -> future.complete(null), false));
+            futures[i] = future;
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * @return returns the amount of tasks waiting for a previous task of their key
+     */
+    public int getQueuedTasks() {
+        int queued = 0;
+        for (Stripe stripe : this.stripes) {
+            synchronized (stripe) {
+                queued += stripe.queue.size();
+            }
+        }
+        return queued;
+    }
+
+    private Stripe stripe(Object key) {
+        int hash = key.hashCode();
+        //Spread the higher bits, the hashes of similar keys often only differ there
+        hash ^= (hash >>> 16);
+        return this.stripes[hash & (this.stripes.length - 1)];
+    }
+
+    private void enqueue(Stripe stripe, Entry entry) {
+        synchronized (stripe) {
+            stripe.queue.add(entry);
+            if (stripe.running) {
+                return;
+            }
+            stripe.running = true;
+        }
+        this.runNext(stripe);
+    }
+
+    private void runNext(Stripe stripe) {
+        while (true) {
+            Entry entry;
+            synchronized (stripe) {
+                entry = stripe.queue.poll();
+                if (entry == null) {
+                    stripe.running = false;
+                    return;
+                }
+            }
+            if (entry.executor == null) {
+                //A flush barrier or the gate of a task of multiple keys, every previous task of the lane is completed
+                entry.command.run();
+                if (entry.parking) {
+                    //Continued by the task of multiple keys once it is completed
+                    return;
+                }
+                continue;
+            }
+            try {
+                entry.executor.execute(() -> {
+                    try {
+                        entry.command.run();
+                    } catch (RuntimeException exception) {
+                        exception.printStackTrace();
+                    } finally {
+                        this.runNext(stripe);
+                    }
+                });
+                return;
+            } catch (RejectedExecutionException exception) {
+                exception.printStackTrace();
+            }
+        }
+    }
+
+    private static final class Stripe {
+
+        private final Queue<Entry> queue = new ArrayDeque<>();
+        private boolean running;
+    }
+
+    private static final class Entry {
+
+        private final Executor executor;
+        private final Runnable command;
+        private final boolean parking;
+
+        private Entry(@Nullable Executor executor, Runnable command, boolean parking) {
+            this.executor = executor;
+            this.command = command;
+            this.parking = parking;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.scheduler;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import de.tentact.languageapi.TaskPriority;
+import de.tentact.languageapi.metrics.TaskMetrics;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+
+/**
+ * Runs the async tasks by their {@link TaskPriority}. Interactive tasks are handed to the executor at once,
+ * admin and maintenance tasks wait in a queue per class, which runs a limited amount of them at a time
+ * and holds them back while threads wait for a connection of the database
+ *
+ * @since 2.0
+ */
+public class TaskScheduler {
+
+    private static final long DEFER_MILLIS = 50;
+    private static final long MAX_DEFER_MILLIS = 1000;
+
+    private final Executor executor;
+    private final IntSupplier waitingForConnection;
+    private final Map<TaskPriority, Lane> lanes = new EnumMap<>(TaskPriority.class);
+    private final ScheduledExecutorService deferrer = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("LanguageAPI-Scheduler").setDaemon(true).build()
+    );
+
+    /**
+     * @param executor             the executor to run the tasks on
+     * @param waitingForConnection the amount of threads waiting for a connection of the database
+     */
+    public TaskScheduler(Executor executor, IntSupplier waitingForConnection) {
+        this.executor = executor;
+        this.waitingForConnection = waitingForConnection;
+        for (TaskPriority priority : TaskPriority.values()) {
+            this.lanes.put(priority, new Lane(priority == TaskPriority.INTERACTIVE ? Integer.MAX_VALUE : 1));
+        }
+    }
+
+    /**
+     * @param priority    the class of the tasks, interactive tasks are never limited
+     * @param concurrency the amount of tasks of the class to run at a time
+     */
+    public void setConcurrency(@NotNull TaskPriority priority, int concurrency) {
+        if (priority == TaskPriority.INTERACTIVE) {
+            return;
+        }
+        Lane lane = this.lanes.get(priority);
+        synchronized (lane) {
+            lane.concurrency = Math.max(1, concurrency);
+        }
+        this.dispatch(lane);
+    }
+
+    /**
+     * @param priority the class of the task
+     * @param command  the task to run
+     */
+    public void execute(@NotNull TaskPriority priority, @NotNull Runnable command) {
+        Lane lane = this.lanes.get(priority);
+        Task task = new Task(command, System.nanoTime());
+        lane.metrics.recordSubmitted();
+        if (priority == TaskPriority.INTERACTIVE) {
+            this.executor.execute(() -> this.run(lane, task));
+            return;
+        }
+        synchronized (lane) {
+            lane.queue.add(task);
+        }
+        this.dispatch(lane);
+    }
+
+    /**
+     * @param priority the class of the tasks
+     * @return returns an executor running every task with the given priority
+     */
+    @NotNull
+    public Executor executor(@NotNull TaskPriority priority) {
+        return command -> this.execute(priority, command);
+    }
+
+    /**
+     * Splits a bulk job into chunks, every chunk is queued as its own task once the previous one completed.
+     * Other tasks of the class are run between the chunks and the job yields while threads wait for the database
+     *
+     * @param priority  the class of the job
+     * @param items     the items to process
+     * @param chunkSize the amount of items per chunk
+     * @param consumer  the consumer processing a chunk
+     * @param <T>       the type of the items
+     * @return returns a future completed after the last chunk, completed exceptionally if a chunk failed
+     */
+    @NotNull
+    public <T> CompletableFuture<Void> executeChunked(@NotNull TaskPriority priority, @NotNull List<T> items, int chunkSize, @NotNull Consumer<List<T>> consumer) {
+        List<T> snapshot = new ArrayList<>(items);
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        this.executeChunk(priority, snapshot, 0, Math.max(1, chunkSize), consumer, future);
+        return future;
+    }
+
+    private <T> void executeChunk(TaskPriority priority, List<T> items, int from, int chunkSize, Consumer<List<T>> consumer, CompletableFuture<Void> future) {
+        if (from >= items.size()) {
+            future.complete(null);
+            return;
+        }
+        this.execute(priority, () -> {
+            int to = Math.min(items.size(), from + chunkSize);
+            try {
+                consumer.accept(items.subList(from, to));
+            } catch (Throwable throwable) {
+                future.completeExceptionally(throwable);
+                return;
+            }
+            this.executeChunk(priority, items, to, chunkSize, consumer, future);
+        });
+    }
+
+    private void dispatch(Lane lane) {
+        List<Task> tasks = new ArrayList<>();
+        boolean deferred = false;
+        synchronized (lane) {
+            while (lane.running < lane.concurrency && !lane.queue.isEmpty()) {
+                long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lane.queue.peek().submitted);
+                //Players waiting for a connection go first, but a task is not held back forever
+                if (this.waitingForConnection.getAsInt() > 0 && waitedMillis < MAX_DEFER_MILLIS) {
+                    deferred = !lane.deferred;
+                    lane.deferred = true;
+                    break;
+                }
+                lane.running++;
+                tasks.add(lane.queue.poll());
+            }
+        }
+        if (deferred) {
+            lane.metrics.recordDeferral();
+            this.deferrer.schedule(() -> {
+                synchronized (lane) {
+                    lane.deferred = false;
+                }
+                this.dispatch(lane);
+            }, DEFER_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        for (Task task : tasks) {
+            this.executor.execute(() -> {
+                try {
+                    this.run(lane, task);
+                } finally {
+                    synchronized (lane) {
+                        lane.running--;
+                    }
+                    this.dispatch(lane);
+                }
+            });
+        }
+    }
+
+    private void run(Lane lane, Task task) {
+        lane.metrics.recordStarted(System.nanoTime() - task.submitted);
+        try {
+            task.command.run();
+        } finally {
+            lane.metrics.recordCompleted();
+        }
+    }
+
+    /**
+     * @param priority the class of the tasks
+     * @return returns the metrics of the tasks of the class
+     */
+    @NotNull
+    public TaskMetrics getMetrics(@NotNull TaskPriority priority) {
+        return this.lanes.get(priority).metrics;
+    }
+
+    /**
+     * Stops the deferred tasks, the running tasks of the lanes are finished by the executor
+     */
+    public void shutdown() {
+        this.deferrer.shutdownNow();
+    }
+
+    private static final class Lane {
+
+        private final Queue<Task> queue = new ArrayDeque<>();
+        private final TaskMetrics metrics = new TaskMetrics();
+        private int concurrency;
+        private int running;
+        private boolean deferred;
+
+        private Lane(int concurrency) {
+            this.concurrency = concurrency;
+        }
+    }
+
+    private static final class Task {
+
+        private final Runnable command;
+        private final long submitted;
+
+        private Task(Runnable command, long submitted) {
+            this.command = command;
+            this.submitted = submitted;
+        }
+    }
+}
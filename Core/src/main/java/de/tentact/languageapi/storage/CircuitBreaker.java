@@ -0,0 +1,185 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.storage;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stops calling the database after too many connection failures in a row, so callers fail fast instead of waiting for the timeouts.
+ * After the open duration a single call is let through to probe the database, its result closes or opens the circuit again
+ *
+ * @since 2.0
+ */
+public class CircuitBreaker implements CircuitBreakerMXBean {
+
+    private final int failureThreshold;
+    private final long openDuration;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final LongAdder transitions = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rejectedCalls = new LongAdder();
+    private volatile State state = State.CLOSED;
+    private volatile int consecutiveFailures;
+    private long openedAt;
+
+    /**
+     * @param failureThreshold the failures in a row, which open the circuit
+     * @param openDuration     the seconds the circuit stays open before it is probed
+     */
+    public CircuitBreaker(int failureThreshold, int openDuration) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDuration = TimeUnit.SECONDS.toMillis(Math.max(1, openDuration));
+    }
+
+    /**
+     * @param listener the listener to notify on every transition, it is called on the thread of the transition and must not block
+     */
+    public void addListener(@NotNull Listener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * @return returns whether a call would be let through, without claiming the probe of an open circuit
+     */
+    public synchronized boolean isAvailable() {
+        switch (this.state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                return System.currentTimeMillis() - this.openedAt >= this.openDuration;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return returns whether the call may use the database, the first call after the open duration becomes the probe
+     */
+    public synchronized boolean tryAcquire() {
+        if (this.state == State.CLOSED) {
+            return true;
+        }
+        if (this.state == State.OPEN && System.currentTimeMillis() - this.openedAt >= this.openDuration) {
+            this.transition(State.HALF_OPEN);
+            return true;
+        }
+        this.rejectedCalls.increment();
+        return false;
+    }
+
+    /**
+     * Records a successful statement, a successful probe closes the circuit
+     */
+    public void recordSuccess() {
+        //Called for every statement, so the common case does not lock
+        if (this.state == State.CLOSED && this.consecutiveFailures == 0) {
+            return;
+        }
+        synchronized (this) {
+            this.consecutiveFailures = 0;
+            if (this.state != State.CLOSED) {
+                this.transition(State.CLOSED);
+            }
+        }
+    }
+
+    public synchronized void recordFailure() {
+        this.failures.increment();
+        if (this.state == State.HALF_OPEN || (this.state == State.CLOSED && ++this.consecutiveFailures >= this.failureThreshold)) {
+            this.transition(State.OPEN);
+        }
+    }
+
+    private void transition(State state) {
+        State previous = this.state;
+        this.state = state;
+        if (state == State.OPEN) {
+            this.openedAt = System.currentTimeMillis();
+        }
+        this.consecutiveFailures = 0;
+        this.transitions.increment();
+        for (Listener listener : this.listeners) {
+            listener.onStateChange(previous, state);
+        }
+    }
+
+    @NotNull
+    public State getState() {
+        return this.state;
+    }
+
+    @Override
+    public String getStateName() {
+        return this.state.name();
+    }
+
+    @Override
+    public long getTransitions() {
+        return this.transitions.sum();
+    }
+
+    @Override
+    public long getFailures() {
+        return this.failures.sum();
+    }
+
+    @Override
+    public long getRejectedCalls() {
+        return this.rejectedCalls.sum();
+    }
+
+    public enum State {
+
+        /**
+         * Every call uses the database
+         */
+        CLOSED,
+        /**
+         * No call uses the database until the open duration passed
+         */
+        OPEN,
+        /**
+         * A single call probes the database
+         */
+        HALF_OPEN
+
+    }
+
+    public interface Listener {
+
+        /**
+         * @param previous the state before the transition
+         * @param current  the state after the transition
+         */
+        void onStateChange(@NotNull State previous, @NotNull State current);
+
+    }
+}
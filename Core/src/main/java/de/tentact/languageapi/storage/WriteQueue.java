@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.storage;
+
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executes the writes to the database async, while the {@link CircuitBreaker} is not closed they are queued
+ * and handed to their executors in order once it closes again, so the executors keep the order of the writes of a key
+ *
+ * @since 2.0
+ */
+public class WriteQueue {
+
+    private final CircuitBreaker circuitBreaker;
+    private final int capacity;
+    private final Queue<QueuedWrite> queuedWrites = new ArrayDeque<>();
+    private final List<CompletableFuture<Void>> drainFutures = new ArrayList<>();
+    private final LongAdder droppedWrites = new LongAdder();
+    private volatile boolean queued;
+
+    /**
+     * @param circuitBreaker the circuit breaker of the database
+     * @param capacity       the writes to keep while the circuit is not closed, further writes are dropped
+     */
+    public WriteQueue(CircuitBreaker circuitBreaker, int capacity) {
+        this.circuitBreaker = circuitBreaker;
+        this.capacity = Math.max(1, capacity);
+        circuitBreaker.addListener((previous, current) -> {
+            if (current == CircuitBreaker.State.CLOSED) {
+                this.drain();
+            }
+        });
+    }
+
+    /**
+     * @param command  the task writing to the database
+     * @param executor the executor to run the task on, queued tasks are run on it once the circuit is closed again
+     */
+    public void execute(Runnable command, Executor executor) {
+        if (this.isClosed() && !this.queued) {
+            executor.execute(command);
+            return;
+        }
+        synchronized (this) {
+            //Queued writes go first, so a later write of the same row is not overwritten by an earlier one
+            if (this.isClosed() && this.queuedWrites.isEmpty()) {
+                executor.execute(command);
+                return;
+            }
+            if (this.queuedWrites.size() >= this.capacity) {
+                this.droppedWrites.increment();
+                return;
+            }
+            this.queuedWrites.add(new QueuedWrite(command, executor));
+            this.queued = true;
+        }
+        //The circuit may have closed while the task was queued
+        if (this.isClosed()) {
+            this.drain();
+        }
+    }
+
+    /**
+     * @return returns a future completed once every queued write was handed to its executor, it waits as long as the circuit is not closed
+     */
+    public synchronized CompletableFuture<Void> awaitDrained() {
+        if (this.queuedWrites.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        this.drainFutures.add(future);
+        return future;
+    }
+
+    private synchronized void drain() {
+        //Handing the writes over under the lock, so a new write of the same key can not overtake a queued one
+        QueuedWrite queuedWrite;
+        while (this.isClosed() && (queuedWrite = this.queuedWrites.poll()) != null) {
+            try {
+                queuedWrite.executor.execute(queuedWrite.command);
+            } catch (RuntimeException exception) {
+                exception.printStackTrace();
+            }
+        }
+        if (this.queuedWrites.isEmpty()) {
+            this.queued = false;
+            this.drainFutures.forEach(future -> future.complete(null));
+            this.drainFutures.clear();
+        }
+    }
+
+    private boolean isClosed() {
+        return this.circuitBreaker.getState() == CircuitBreaker.State.CLOSED;
+    }
+
+    /**
+     * @return returns the amount of writes waiting for the circuit to close
+     */
+    public synchronized int getQueuedWrites() {
+        return this.queuedWrites.size();
+    }
+
+    /**
+     * @return returns the amount of writes dropped, because the queue was full
+     */
+    public long getDroppedWrites() {
+        return this.droppedWrites.sum();
+    }
+
+    private static class QueuedWrite {
+
+        private final Runnable command;
+        private final Executor executor;
+
+        private QueuedWrite(Runnable command, Executor executor) {
+            this.command = command;
+            this.executor = executor;
+        }
+    }
+}
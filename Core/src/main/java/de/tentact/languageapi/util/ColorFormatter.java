@@ -0,0 +1,175 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.util;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Translates '&' color codes, '&#RRGGBB' and '&x&R&R&G&G&B&B' hex colors into the section sign format of minecraft.
+ * Meant to run once per stored translation, not on every send.
+ */
+public final class ColorFormatter {
+
+    private static final char COLOR_CHAR = '§';
+    private static final char ALTERNATE_COLOR_CHAR = '&';
+    private static final int HEX_LENGTH = 6;
+
+    /*
+    Lookup table of the legacy codes, indexed by the char (ex. 'A' and 'a' both map to 'a'), 0 if the char is no code
+     */
+    private static final char[] LEGACY_CODES = new char[128];
+
+    /*
+    The 16 legacy colors in the order of their codes 0-9 and a-f
+     */
+    private static final int[] LEGACY_COLORS = {
+            0x000000, 0x0000AA, 0x00AA00, 0x00AAAA, 0xAA0000, 0xAA00AA, 0xFFAA00, 0xAAAAAA,
+            0x555555, 0x5555FF, 0x55FF55, 0x55FFFF, 0xFF5555, 0xFF55FF, 0xFFFF55, 0xFFFFFF
+    };
+    private static final char[] LEGACY_COLOR_CODES = "0123456789abcdef".toCharArray();
+
+    static {
+        for (char code : "0123456789abcdefklmnorxABCDEFKLMNORX".toCharArray()) {
+            LEGACY_CODES[code] = Character.toLowerCase(code);
+        }
+    }
+
+    private ColorFormatter() {
+    }
+
+    /**
+     * Formats the given text, hex colors are kept in the '§x§R§R§G§G§B§B' format
+     *
+     * @param text the text to format
+     * @return returns the formatted text
+     */
+    @NotNull
+    public static String format(@NotNull String text) {
+        return format(text, false);
+    }
+
+    /**
+     * Formats the given text
+     *
+     * @param text       the text to format
+     * @param downsample whether hex colors should be replaced by the nearest legacy color, for clients without hex support
+     * @return returns the formatted text
+     */
+    @NotNull
+    public static String format(@NotNull String text, boolean downsample) {
+        int length = text.length();
+        if (text.indexOf(ALTERNATE_COLOR_CHAR) == -1) {
+            return text;
+        }
+        StringBuilder builder = new StringBuilder(length + 16);
+        for (int i = 0; i < length; i++) {
+            char current = text.charAt(i);
+            if (current != ALTERNATE_COLOR_CHAR || i + 1 >= length) {
+                builder.append(current);
+                continue;
+            }
+            char next = text.charAt(i + 1);
+            if (next == '#' && isHexColor(text, i + 2)) {
+                int rgb = Integer.parseInt(text.substring(i + 2, i + 2 + HEX_LENGTH), 16);
+                if (downsample) {
+                    builder.append(COLOR_CHAR).append(nearestLegacyColor(rgb));
+                } else {
+                    builder.append(COLOR_CHAR).append('x');
+                    for (int j = i + 2; j < i + 2 + HEX_LENGTH; j++) {
+                        builder.append(COLOR_CHAR).append(Character.toLowerCase(text.charAt(j)));
+                    }
+                }
+                i += 1 + HEX_LENGTH;
+                continue;
+            }
+            if (downsample && (next == 'x' || next == 'X') && isLegacyHexColor(text, i + 2)) {
+                StringBuilder hex = new StringBuilder(HEX_LENGTH);
+                for (int j = i + 3; j < i + 2 + HEX_LENGTH * 2; j += 2) {
+                    hex.append(text.charAt(j));
+                }
+                builder.append(COLOR_CHAR).append(nearestLegacyColor(Integer.parseInt(hex.toString(), 16)));
+                i += 1 + HEX_LENGTH * 2;
+                continue;
+            }
+            char code = next < LEGACY_CODES.length ? LEGACY_CODES[next] : 0;
+            if (code != 0) {
+                builder.append(COLOR_CHAR).append(code);
+                i++;
+                continue;
+            }
+            builder.append(current);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @param rgb the color as rgb value
+     * @return returns the code of the legacy color which is the nearest to the given color
+     */
+    public static char nearestLegacyColor(int rgb) {
+        int red = (rgb >> 16) & 0xFF;
+        int green = (rgb >> 8) & 0xFF;
+        int blue = rgb & 0xFF;
+        int nearest = 0;
+        int nearestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < LEGACY_COLORS.length; i++) {
+            int redDistance = red - ((LEGACY_COLORS[i] >> 16) & 0xFF);
+            int greenDistance = green - ((LEGACY_COLORS[i] >> 8) & 0xFF);
+            int blueDistance = blue - (LEGACY_COLORS[i] & 0xFF);
+            int distance = redDistance * redDistance + greenDistance * greenDistance + blueDistance * blueDistance;
+            if (distance < nearestDistance) {
+                nearestDistance = distance;
+                nearest = i;
+            }
+        }
+        return LEGACY_COLOR_CODES[nearest];
+    }
+
+    private static boolean isHexColor(String text, int start) {
+        if (start + HEX_LENGTH > text.length()) {
+            return false;
+        }
+        for (int i = start; i < start + HEX_LENGTH; i++) {
+            if (Character.digit(text.charAt(i), 16) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLegacyHexColor(String text, int start) {
+        if (start + HEX_LENGTH * 2 > text.length()) {
+            return false;
+        }
+        for (int i = start; i < start + HEX_LENGTH * 2; i += 2) {
+            char colorChar = text.charAt(i);
+            if ((colorChar != ALTERNATE_COLOR_CHAR && colorChar != COLOR_CHAR) || Character.digit(text.charAt(i + 1), 16) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Records the duration of the startup stages, which may run on different threads
+ *
+ * @since 2.0
+ */
+public class StartupTimeline {
+
+    private final long startNanos = System.nanoTime();
+    private final Queue<Stage> stages = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Runs the task on the calling thread and records it as stage
+     *
+     * @param name the name of the stage
+     * @param task the task of the stage
+     */
+    public void run(String name, Runnable task) {
+        this.call(name, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the task on the calling thread and records it as stage
+     *
+     * @param name the name of the stage
+     * @param task the task of the stage
+     * @param <T>  the result type of the task
+     * @return returns the result of the task
+     */
+    public <T> T call(String name, Supplier<T> task) {
+        long start = System.nanoTime();
+        try {
+            return task.get();
+        } finally {
+            this.stages.add(new Stage(name, Thread.currentThread().getName(), start, System.nanoTime()));
+        }
+    }
+
+    /**
+     * Logs every recorded stage with its start offset, duration and thread
+     *
+     * @param logger the logger to log the timeline to
+     */
+    public void log(Logger logger) {
+        List<Stage> stages = new ArrayList<>(this.stages);
+        stages.sort(Comparator.comparingLong(stage -> stage.start));
+        long end = this.startNanos;
+        for (Stage stage : stages) {
+            end = Math.max(end, stage.end);
+        }
+        logger.info("Startup timeline, enabled after " + TimeUnit.NANOSECONDS.toMillis(end - this.startNanos) + "ms:");
+        for (Stage stage : stages) {
+            logger.info(String.format("  +%5dms %6dms  %-32s %s",
+                    TimeUnit.NANOSECONDS.toMillis(stage.start - this.startNanos),
+                    TimeUnit.NANOSECONDS.toMillis(stage.end - stage.start),
+                    stage.name,
+                    stage.thread));
+        }
+    }
+
+    private static final class Stage {
+
+        private final String name;
+        private final String thread;
+        private final long start;
+        private final long end;
+
+        private Stage(String name, String thread, long start, long end) {
+            this.name = name;
+            this.thread = thread;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.api;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DefaultPlayerFileHandlerTest {
+
+    private static final UUID FIRST_PLAYER = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+    private static final UUID SECOND_PLAYER = UUID.fromString("853c80ef-3c37-49fd-aa49-938b674adae6");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void csvReaderSkipsHeaderCommentsAndBlankLines() throws IOException {
+        String csv = "uuid,language\n# exported players\n\n" + FIRST_PLAYER + ", deDE \n  " + SECOND_PLAYER + ",enUS\n";
+        try (DefaultPlayerFileHandler.PlayerReader reader = new DefaultPlayerFileHandler.CsvPlayerReader(this.toInputStream(csv))) {
+            assertTrue(reader.next());
+            assertEquals(FIRST_PLAYER, reader.getPlayerId());
+            assertEquals("deDE", reader.getLanguage());
+            assertTrue(reader.next());
+            assertEquals(SECOND_PLAYER, reader.getPlayerId());
+            assertEquals("enUS", reader.getLanguage());
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void csvReaderReadsInvalidLinesWithoutPlayer() throws IOException {
+        String csv = "no-uuid,deDE\n" + FIRST_PLAYER + "\n";
+        try (DefaultPlayerFileHandler.PlayerReader reader = new DefaultPlayerFileHandler.CsvPlayerReader(this.toInputStream(csv))) {
+            assertTrue(reader.next());
+            assertNull(reader.getPlayerId());
+            assertEquals("deDE", reader.getLanguage());
+            assertTrue(reader.next());
+            assertNull(reader.getPlayerId());
+            assertNull(reader.getLanguage());
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void csvWriterIsReadByCsvReader() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (DefaultPlayerFileHandler.PlayerWriter writer = new DefaultPlayerFileHandler.CsvPlayerWriter(outputStream)) {
+            writer.write(FIRST_PLAYER, "dede");
+        }
+        try (DefaultPlayerFileHandler.PlayerReader reader = new DefaultPlayerFileHandler.CsvPlayerReader(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            assertTrue(reader.next());
+            assertEquals(FIRST_PLAYER, reader.getPlayerId());
+            assertEquals("dede", reader.getLanguage());
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void binaryWriterIsReadByBinaryReader() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (DefaultPlayerFileHandler.PlayerWriter writer = new DefaultPlayerFileHandler.BinaryPlayerWriter(outputStream)) {
+            writer.write(FIRST_PLAYER, "dede");
+            writer.write(SECOND_PLAYER, "ænus");
+        }
+        try (DefaultPlayerFileHandler.PlayerReader reader = new DefaultPlayerFileHandler.BinaryPlayerReader(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            assertTrue(reader.next());
+            assertEquals(FIRST_PLAYER, reader.getPlayerId());
+            assertEquals("dede", reader.getLanguage());
+            assertTrue(reader.next());
+            assertEquals(SECOND_PLAYER, reader.getPlayerId());
+            assertEquals("ænus", reader.getLanguage());
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void binaryReaderRejectsOtherFiles() {
+        assertThrows(IOException.class, () -> new DefaultPlayerFileHandler.BinaryPlayerReader(this.toInputStream("uuid,language\n")));
+    }
+
+    @Test
+    void checkpointIsRead() throws IOException {
+        File file = this.createFile("players.csv", "uuid,language\n");
+        new DefaultPlayerFileHandler.Checkpoint(1000, 990, 10, 1234).write(file);
+
+        DefaultPlayerFileHandler.Checkpoint checkpoint = DefaultPlayerFileHandler.Checkpoint.read(file);
+        assertEquals(1000, checkpoint.readPlayers);
+        assertEquals(990, checkpoint.transferredPlayers);
+        assertEquals(10, checkpoint.skippedPlayers);
+        assertEquals(1234, checkpoint.durationMillis);
+
+        DefaultPlayerFileHandler.Checkpoint.delete(file);
+        assertFalse(DefaultPlayerFileHandler.Checkpoint.getFile(file).exists());
+        assertEquals(0, DefaultPlayerFileHandler.Checkpoint.read(file).readPlayers);
+    }
+
+    @Test
+    void checkpointOfChangedFileStartsOver() throws IOException {
+        File file = this.createFile("players.csv", "uuid,language\n");
+        new DefaultPlayerFileHandler.Checkpoint(1000, 990, 10, 1234).write(file);
+        Files.write(file.toPath(), (FIRST_PLAYER + ",dede\n").getBytes(StandardCharsets.UTF_8));
+
+        DefaultPlayerFileHandler.Checkpoint checkpoint = DefaultPlayerFileHandler.Checkpoint.read(file);
+        assertEquals(0, checkpoint.readPlayers);
+        assertEquals(0, checkpoint.transferredPlayers);
+        assertEquals(0, checkpoint.durationMillis);
+    }
+
+    private File createFile(String name, String content) throws IOException {
+        return Files.write(this.directory.resolve(name), content.getBytes(StandardCharsets.UTF_8)).toFile();
+    }
+
+    private ByteArrayInputStream toInputStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.i18n;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class LanguageFormatsTest {
+
+    @Test
+    void toLocaleOfCodes() {
+        assertEquals(Locale.GERMANY, LanguageFormats.toLocale("deDE"));
+        assertEquals(Locale.GERMANY, LanguageFormats.toLocale("dede"));
+        assertEquals(Locale.US, LanguageFormats.toLocale("en_US"));
+        assertEquals(Locale.US, LanguageFormats.toLocale("en-us"));
+        assertEquals(Locale.FRENCH, LanguageFormats.toLocale("fr"));
+        assertEquals(Locale.GERMAN, LanguageFormats.toLocale("deu"));
+    }
+
+    @Test
+    void toLocaleOfNames() {
+        assertEquals(Locale.ENGLISH, LanguageFormats.toLocale("english"));
+        assertEquals(new Locale("cs"), LanguageFormats.toLocale("czech"));
+        assertEquals(Locale.GERMAN, LanguageFormats.toLocale("German"));
+    }
+
+    @Test
+    void toLocaleOfUnknownNames() {
+        assertEquals(Locale.ROOT, LanguageFormats.toLocale("klingon"));
+        assertEquals(Locale.ROOT, LanguageFormats.toLocale("xxXX"));
+        assertEquals(Locale.ROOT, LanguageFormats.toLocale(""));
+    }
+
+    @Test
+    void ofIsCachedIgnoringCase() {
+        assertSame(LanguageFormats.of("deDE"), LanguageFormats.of("dede"));
+        assertEquals(PluralRule.EAST_SLAVIC, LanguageFormats.of("ruRU").getPluralRule());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.i18n;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MessageTemplateTest {
+
+    private static final String COINS = "{%COINS%,plural,=0{no coins} one{# coin} other{# coins}}";
+
+    @Test
+    void renderPositional() {
+        MessageTemplate template = MessageTemplate.compile("%PLAYER% has %COINS% coins", Arrays.asList("%PLAYER%", "%COINS%"));
+        assertEquals(Arrays.asList("%PLAYER%", "%COINS%"), template.getParameters());
+        assertEquals("0utplay has 5 coins", template.render("0utplay", 5));
+        assertEquals("0utplay has %COINS% coins", template.render("0utplay"));
+        assertEquals("%PLAYER% has %COINS% coins", template.render());
+    }
+
+    @Test
+    void renderNamed() {
+        MessageTemplate template = MessageTemplate.compile("%PLAYER% has %COINS% coins", Collections.emptyList());
+        assertEquals("0utplay has 5 coins", template.renderNamed("%COINS%", 5, "%PLAYER%", "0utplay"));
+        assertEquals("0utplay has 7 coins", template.renderNamed("%COINS%", 5, "%PLAYER%", "0utplay", "%COINS%", 7));
+    }
+
+    @Test
+    void renderNamedKeepsReplaceOfUnknownParameters() {
+        MessageTemplate template = MessageTemplate.compile("Hello {name}", Collections.emptyList());
+        assertEquals("Hello 0utplay", template.renderNamed("{name}", "0utplay"));
+    }
+
+    @Test
+    void longerParametersWin() {
+        MessageTemplate template = MessageTemplate.compile("%KEY% %KEYS%", Arrays.asList("%KEY%", "%KEYS%"));
+        assertEquals("a b", template.render("a", "b"));
+    }
+
+    @Test
+    void numberFormat() {
+        LanguageFormats languageFormats = LanguageFormats.of("enUS");
+        assertEquals("1,234.5", MessageTemplate.compile("{%COINS%,number}", Collections.emptyList(), languageFormats).render(1234.5));
+        assertEquals("1,235", MessageTemplate.compile("{%COINS%,number,integer}", Collections.emptyList(), languageFormats).render(1234.6));
+        assertEquals("50%", MessageTemplate.compile("{%COINS%,number,percent}", Collections.emptyList(), languageFormats).render(0.5));
+        assertEquals("1.234,5", MessageTemplate.compile("{%COINS%,number}", Collections.emptyList(), LanguageFormats.of("deDE")).render(1234.5));
+    }
+
+    @Test
+    void dateFormat() {
+        MessageTemplate template = MessageTemplate.compile("{%DATE%,date,dd.MM.yyyy}", Collections.emptyList(), LanguageFormats.of("deDE"));
+        assertEquals("24.12.2020", template.render(LocalDate.of(2020, 12, 24)));
+        assertEquals("later", template.render("later"));
+    }
+
+    @Test
+    void pluralFormat() {
+        MessageTemplate template = MessageTemplate.compile("You have " + COINS, Collections.emptyList(), LanguageFormats.of("enUS"));
+        assertEquals("You have no coins", template.render(0));
+        assertEquals("You have 1 coin", template.render(1));
+        assertEquals("You have 1,000 coins", template.render(1000));
+        assertEquals("You have 1 coin", template.renderNamed("%COINS%", 1));
+    }
+
+    @Test
+    void pluralFormatUsesRuleOfLanguage() {
+        String message = "{%COINS%,plural,one{# one} few{# few} many{# many} other{# other}}";
+        assertEquals("5 many", MessageTemplate.compile(message, Collections.emptyList(), LanguageFormats.of("ruRU")).render(5));
+        assertEquals("5 other", MessageTemplate.compile(message, Collections.emptyList(), LanguageFormats.of("hrHR")).render(5));
+    }
+
+    @Test
+    void pluralBranchesRenderOtherParameters() {
+        MessageTemplate template = MessageTemplate.compile("{%COINS%,plural,one{%PLAYER% has # coin} other{%PLAYER% has # coins}}",
+                Arrays.asList("%PLAYER%", "%COINS%"), LanguageFormats.of("enUS"));
+        assertEquals("0utplay has 2 coins", template.render("0utplay", 2));
+    }
+
+    @Test
+    void invalidBlocksStayLiteral() {
+        //The parameter of an invalid block is still replaced
+        assertEquals("{5,unknown} 5", MessageTemplate.compile("{%COINS%,unknown} %COINS%", Collections.emptyList()).render(5));
+        //A plural block needs an other branch
+        assertEquals("{5,plural,one{#}}", MessageTemplate.compile("{%COINS%,plural,one{#}}", Collections.emptyList()).render(5));
+        assertEquals("{5,number", MessageTemplate.compile("{%COINS%,number", Collections.emptyList()).render(5));
+        assertEquals("{x}", MessageTemplate.compile("{x}", Collections.emptyList()).render(5));
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.i18n;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PluralRuleTest {
+
+    @Test
+    void oneOther() {
+        assertEquals(PluralRule.ONE, PluralRule.ONE_OTHER.select(1));
+        assertEquals(PluralRule.OTHER, PluralRule.ONE_OTHER.select(0));
+        assertEquals(PluralRule.OTHER, PluralRule.ONE_OTHER.select(2));
+        assertEquals(PluralRule.ONE, PluralRule.ONE_OTHER.select(-1));
+    }
+
+    @Test
+    void zeroOneOther() {
+        assertEquals(PluralRule.ONE, PluralRule.ZERO_ONE_OTHER.select(0));
+        assertEquals(PluralRule.ONE, PluralRule.ZERO_ONE_OTHER.select(1));
+        assertEquals(PluralRule.OTHER, PluralRule.ZERO_ONE_OTHER.select(2));
+    }
+
+    @Test
+    void eastSlavic() {
+        assertEquals(PluralRule.ONE, PluralRule.EAST_SLAVIC.select(1));
+        assertEquals(PluralRule.ONE, PluralRule.EAST_SLAVIC.select(21));
+        assertEquals(PluralRule.MANY, PluralRule.EAST_SLAVIC.select(11));
+        assertEquals(PluralRule.FEW, PluralRule.EAST_SLAVIC.select(2));
+        assertEquals(PluralRule.FEW, PluralRule.EAST_SLAVIC.select(24));
+        assertEquals(PluralRule.MANY, PluralRule.EAST_SLAVIC.select(12));
+        assertEquals(PluralRule.MANY, PluralRule.EAST_SLAVIC.select(5));
+        assertEquals(PluralRule.MANY, PluralRule.EAST_SLAVIC.select(0));
+    }
+
+    @Test
+    void southSlavic() {
+        assertEquals(PluralRule.ONE, PluralRule.SOUTH_SLAVIC.select(1));
+        assertEquals(PluralRule.ONE, PluralRule.SOUTH_SLAVIC.select(101));
+        assertEquals(PluralRule.OTHER, PluralRule.SOUTH_SLAVIC.select(11));
+        assertEquals(PluralRule.FEW, PluralRule.SOUTH_SLAVIC.select(3));
+        assertEquals(PluralRule.FEW, PluralRule.SOUTH_SLAVIC.select(22));
+        assertEquals(PluralRule.OTHER, PluralRule.SOUTH_SLAVIC.select(13));
+        assertEquals(PluralRule.OTHER, PluralRule.SOUTH_SLAVIC.select(5));
+        assertEquals(PluralRule.OTHER, PluralRule.SOUTH_SLAVIC.select(20));
+    }
+
+    @Test
+    void polish() {
+        assertEquals(PluralRule.ONE, PluralRule.POLISH.select(1));
+        assertEquals(PluralRule.MANY, PluralRule.POLISH.select(21));
+        assertEquals(PluralRule.FEW, PluralRule.POLISH.select(22));
+        assertEquals(PluralRule.MANY, PluralRule.POLISH.select(12));
+        assertEquals(PluralRule.MANY, PluralRule.POLISH.select(5));
+    }
+
+    @Test
+    void czech() {
+        assertEquals(PluralRule.ONE, PluralRule.CZECH.select(1));
+        assertEquals(PluralRule.FEW, PluralRule.CZECH.select(4));
+        assertEquals(PluralRule.OTHER, PluralRule.CZECH.select(5));
+        assertEquals(PluralRule.OTHER, PluralRule.CZECH.select(22));
+    }
+
+    @Test
+    void none() {
+        assertEquals(PluralRule.OTHER, PluralRule.NONE.select(1));
+    }
+
+    @Test
+    void fractionsAreOther() {
+        assertEquals(PluralRule.OTHER, PluralRule.ONE_OTHER.select(1.5));
+        assertEquals(PluralRule.OTHER, PluralRule.EAST_SLAVIC.select(21.1));
+        assertEquals(PluralRule.OTHER, PluralRule.ONE_OTHER.select(Double.POSITIVE_INFINITY));
+        assertEquals(PluralRule.ONE, PluralRule.ONE_OTHER.select(1.0));
+    }
+
+    @Test
+    void forLocale() {
+        assertEquals(PluralRule.ONE_OTHER, PluralRule.forLocale(Locale.GERMANY));
+        assertEquals(PluralRule.ZERO_ONE_OTHER, PluralRule.forLocale(Locale.FRENCH));
+        assertEquals(PluralRule.EAST_SLAVIC, PluralRule.forLocale(new Locale("ru")));
+        assertEquals(PluralRule.SOUTH_SLAVIC, PluralRule.forLocale(new Locale("hr")));
+        assertEquals(PluralRule.SOUTH_SLAVIC, PluralRule.forLocale(new Locale("sr")));
+        assertEquals(PluralRule.SOUTH_SLAVIC, PluralRule.forLocale(new Locale("bs")));
+        assertEquals(PluralRule.POLISH, PluralRule.forLocale(new Locale("pl")));
+        assertEquals(PluralRule.CZECH, PluralRule.forLocale(new Locale("sk")));
+        assertEquals(PluralRule.NONE, PluralRule.forLocale(Locale.JAPANESE));
+        assertEquals(PluralRule.ONE_OTHER, PluralRule.forLocale(Locale.ROOT));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 0utplay (Aldin Sijamhodzic)
+ * Copyright (c) 2020 contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.tentact.languageapi.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ColorFormatterTest {
+
+    @Test
+    void legacyCodes() {
+        assertEquals("§aHello §lWorld§r", ColorFormatter.format("&aHello &LWorld&r"));
+        assertEquals("&zno code &", ColorFormatter.format("&zno code &"));
+    }
+
+    @Test
+    void textWithoutCodesIsReturned() {
+        String text = "Hello World";
+        assertSame(text, ColorFormatter.format(text));
+    }
+
+    @Test
+    void hexColor() {
+        assertEquals("§x§f§f§a§a§0§0Hello", ColorFormatter.format("&#FFaa00Hello"));
+        assertEquals("&#FFaa0Hello", ColorFormatter.format("&#FFaa0Hello"));
+        assertEquals("&#GGGGGG", ColorFormatter.format("&#GGGGGG"));
+    }
+
+    @Test
+    void hexColorDownsampled() {
+        assertEquals("§4red", ColorFormatter.format("&#FF0000red", true));
+        assertEquals("§fwhite", ColorFormatter.format("&#FEFEFEwhite", true));
+    }
+
+    @Test
+    void legacyHexSequence() {
+        assertEquals("§x§f§f§0§0§0§0red", ColorFormatter.format("&x&F&F&0&0&0&0red"));
+        assertEquals("§4red", ColorFormatter.format("&x&F&F&0&0&0&0red", true));
+        assertEquals("§4red", ColorFormatter.format("&X&f&f&0&0&0&0red", true));
+    }
+
+    @Test
+    void nearestLegacyColor() {
+        assertEquals('0', ColorFormatter.nearestLegacyColor(0x000000));
+        assertEquals('f', ColorFormatter.nearestLegacyColor(0xFFFFFF));
+        assertEquals('9', ColorFormatter.nearestLegacyColor(0x5050F0));
+    }
+}
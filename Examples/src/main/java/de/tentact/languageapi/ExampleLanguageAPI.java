@@ -25,13 +25,19 @@
 
 package de.tentact.languageapi;
 
+import de.tentact.languageapi.event.LanguageEventBus;
+import de.tentact.languageapi.event.PlayerLanguageChangeEvent;
+import de.tentact.languageapi.event.TranslationUpdatedEvent;
 import de.tentact.languageapi.file.FileHandler;
+import de.tentact.languageapi.file.PlayerFileHandler;
+import de.tentact.languageapi.i18n.DefaultsRegistrar;
 import de.tentact.languageapi.i18n.Translation;
 import de.tentact.languageapi.player.LanguageOfflinePlayer;
 import de.tentact.languageapi.player.LanguagePlayer;
 import de.tentact.languageapi.player.PlayerExecutor;
 
 import java.io.File;
+import java.util.Collections;
 import java.util.UUID;
 
 public class ExampleLanguageAPI {
@@ -87,11 +93,20 @@ public class ExampleLanguageAPI {
 
         /*
          * Replace parameter in a translation
+         * The translation itself is never changed, use the returned translation
          */
 
-        translation.replace("toReplace", "with");
+        Translation replaced = translation.with("%PLAYER%", "Name").with("%COINS%", 10);
+        languagePlayer.sendMessage(replaced);
         languagePlayer.sendMessage(translation.replace("%EXAMPLE%", "Replacement"));
 
+        /*
+         * Replace parameter without building replacements, either by the order of the parameters or by their name
+         */
+
+        String positional = translation.format("LanguageToGetIn", "Replacement");
+        String named = translation.formatNamed("LanguageToGetIn", "%EXAMPLE%", "Replacement");
+
 
         /*
          * Send a message directly by the translationKey
@@ -111,6 +126,22 @@ public class ExampleLanguageAPI {
 
     }
 
+    /**
+     * Use this if you want to register many default translations on enable, they are inserted in one batch
+     */
+    public void registerDefaults() {
+        DefaultsRegistrar defaultsRegistrar = this.languageAPI.createDefaultsRegistrar();
+
+        defaultsRegistrar
+                .add("example-join", "%PLAYER% joined the game", Collections.singletonList("%PLAYER%"))
+                .add("example-quit", "Goodbye");
+
+        // Existing translations are not overwritten, the future is completed with the amount of new translations
+        defaultsRegistrar.commit().thenAccept(inserted -> {
+
+        });
+    }
+
     /**
      * Use this if you want to load a translation file (ingame command /lang import <File> <Overwrite>)
      */
@@ -142,4 +173,41 @@ public class ExampleLanguageAPI {
         });
     }
 
+    /**
+     * Use this if you want to import or export the languages of many players, ex. when migrating from another plugin
+     */
+    public void transferPlayers() {
+        PlayerFileHandler playerFileHandler = this.languageAPI.getPlayerFileHandler();
+
+        // One "uuid,language" pair per line, players with an unknown language are skipped. An interrupted import continues where it stopped
+        playerFileHandler.importPlayers(new File("pathToFile", "players.csv"), false).thenAccept(result -> {
+            long importedPlayers = result.getTransferredPlayers();
+        });
+
+        // Files not ending with .csv use a compact binary format
+        playerFileHandler.exportPlayers(new File("pathToFile", "players.bin")).thenAccept(result -> {
+            double playersPerSecond = result.getPlayersPerSecond();
+        });
+    }
+
+    /**
+     * Use this if you cache localized items or scoreboards, they can be invalidated once something changed instead of polling
+     */
+    public void listenForChanges() {
+        LanguageEventBus eventBus = this.languageAPI.getEventBus();
+
+        // Called on the thread which wrote the change, pass true to be called on the async executor
+        eventBus.subscribe(PlayerLanguageChangeEvent.class, event -> {
+            UUID playerId = event.getPlayerId();
+            String newLanguage = event.getNewLanguage();
+        });
+
+        eventBus.subscribe(TranslationUpdatedEvent.class, event -> {
+            // The translationKey is null if all translations of the language may have changed
+            String translationKey = event.getTranslationKey();
+        }, true);
+
+        // The events are also called as SpigotLanguageEvent, BungeeLanguageEvent and VelocityLanguageEvent on the platforms
+    }
+
 }
@@ -26,18 +26,26 @@
 package de.tentact.languageapi;
 
 import de.tentact.languageapi.api.SpigotLanguageAPI;
+import de.tentact.languageapi.api.WarmUp;
 import de.tentact.languageapi.command.LanguageCommand;
 import de.tentact.languageapi.configuration.DatabaseProvider;
 import de.tentact.languageapi.configuration.LanguageConfig;
 import de.tentact.languageapi.configuration.SpigotConfiguration;
+import de.tentact.languageapi.event.LanguageEvent;
+import de.tentact.languageapi.event.SpigotLanguageEvent;
+import de.tentact.languageapi.i18n.I18N;
 import de.tentact.languageapi.listener.ChatListener;
 import de.tentact.languageapi.listener.InventoryClickListener;
 import de.tentact.languageapi.listener.JoinListener;
+import de.tentact.languageapi.listener.QuitListener;
+import de.tentact.languageapi.util.StartupTimeline;
 import de.tentact.languageapi.util.UpdateNotifier;
+import org.bukkit.Bukkit;
 import org.bukkit.plugin.PluginDescriptionFile;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 public class LanguageSpigot extends JavaPlugin {
 
@@ -47,30 +55,49 @@ public class LanguageSpigot extends JavaPlugin {
 
     @Override
     public void onEnable() {
-
-        this.spigotConfiguration = new SpigotConfiguration(this.getLogger());
+        StartupTimeline timeline = new StartupTimeline();
+        this.spigotConfiguration = timeline.call("configuration", () -> new SpigotConfiguration(this.getLogger()));
         LanguageConfig languageConfig = this.spigotConfiguration.getLanguageConfig();
 
         this.databaseProvider = languageConfig.getDatabaseProvider();
-        this.databaseProvider.connect();
-        LanguageAPI.setInstance(new SpigotLanguageAPI(languageConfig));
-        this.databaseProvider.createDefaultTable();
+        timeline.run("database-connect", () -> this.databaseProvider.connect(languageConfig.getStorageSetting()));
+        SpigotLanguageAPI languageAPI = new SpigotLanguageAPI(languageConfig, this);
+        LanguageAPI.setInstance(languageAPI);
+        timeline.run("default-tables", this.databaseProvider::createDefaultTable);
+        languageAPI.startMetrics();
+        languageAPI.getEventBus().subscribe(LanguageEvent.class, event -> Bukkit.getPluginManager().callEvent(new SpigotLanguageEvent(event)));
 
-        LanguageAPI.getInstance().createLanguage(languageConfig.getLanguageSetting().getDefaultLanguage());
         this.updateNotifier = new UpdateNotifier();
-        this.checkForUpdates();
-
-        Objects.requireNonNull(this.getCommand("languageapi")).setExecutor(new LanguageCommand(this));
-        Objects.requireNonNull(this.getCommand("languageapi")).setTabCompleter(new LanguageCommand(this));
-
-        new JoinListener(this);
-        new ChatListener(this);
-        new InventoryClickListener(this, this.spigotConfiguration.getLanguageInventory());
-
+        new WarmUp(languageAPI, timeline)
+                .stage("update-check", this::checkForUpdates)
+                .afterDefaultLanguage("default-registration", () -> I18N.registerDefaults().join())
+                .start()
+                .whenComplete((ignored, throwable) -> {
+                    if (throwable != null) {
+                        throwable.printStackTrace();
+                    }
+                    if (languageConfig.getMetricsSetting().isStartupTimeline()) {
+                        timeline.log(this.getLogger());
+                    }
+                });
+
+        timeline.run("commands-and-listeners", () -> {
+            Objects.requireNonNull(this.getCommand("languageapi")).setExecutor(new LanguageCommand(this));
+            Objects.requireNonNull(this.getCommand("languageapi")).setTabCompleter(new LanguageCommand(this));
+
+            new JoinListener(this);
+            new QuitListener(this);
+            new ChatListener(this);
+            new InventoryClickListener(this, this.spigotConfiguration.getLanguageInventory());
+        });
     }
 
     @Override
     public void onDisable() {
+        ((SpigotLanguageAPI) LanguageAPI.getInstance()).closeAudiences();
+        ((SpigotLanguageAPI) LanguageAPI.getInstance()).stopMetrics();
+        ((SpigotLanguageAPI) LanguageAPI.getInstance()).flush(5, TimeUnit.SECONDS);
+        ((SpigotLanguageAPI) LanguageAPI.getInstance()).shutdown();
         this.databaseProvider.closeConnection();
     }
 
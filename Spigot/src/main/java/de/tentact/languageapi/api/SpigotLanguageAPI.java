@@ -30,17 +30,32 @@ import de.tentact.languageapi.console.ConsoleExecutor;
 import de.tentact.languageapi.player.PlayerExecutor;
 import de.tentact.languageapi.player.SpigotConsoleExecutor;
 import de.tentact.languageapi.player.SpigotPlayerExecutor;
+import net.kyori.adventure.platform.bukkit.BukkitAudiences;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public class SpigotLanguageAPI extends DefaultLanguageAPI {
 
     private final PlayerExecutor playerExecutor;
     private final ConsoleExecutor consoleExecutor;
+    private final BukkitAudiences audiences;
 
-    public SpigotLanguageAPI(LanguageConfig languageConfig) {
+    public SpigotLanguageAPI(LanguageConfig languageConfig, Plugin plugin) {
         super(languageConfig);
         this.playerExecutor = new SpigotPlayerExecutor(this, languageConfig);
         this.consoleExecutor = new SpigotConsoleExecutor(this);
+        this.audiences = this.isMiniMessage() ? BukkitAudiences.create(plugin) : null;
+        this.getBlockingCallDetector().setBlockingThread(Bukkit::isPrimaryThread);
+        this.getBlockingCallDetector().setPluginResolver(className -> {
+            for (Plugin installedPlugin : Bukkit.getPluginManager().getPlugins()) {
+                if (className.startsWith(installedPlugin.getClass().getPackage().getName() + ".")) {
+                    return installedPlugin.getName();
+                }
+            }
+            return null;
+        });
     }
 
     @Override
@@ -52,4 +67,17 @@ public class SpigotLanguageAPI extends DefaultLanguageAPI {
     public @NotNull ConsoleExecutor getConsoleExecutor() {
         return this.consoleExecutor;
     }
+
+    /**
+     * @return returns the audiences to send components with, null if the MiniMessage format is disabled
+     */
+    public @Nullable BukkitAudiences getAudiences() {
+        return this.audiences;
+    }
+
+    public void closeAudiences() {
+        if (this.audiences != null) {
+            this.audiences.close();
+        }
+    }
 }
@@ -27,10 +27,14 @@ package de.tentact.languageapi.command;
 
 import de.tentact.languageapi.LanguageAPI;
 import de.tentact.languageapi.LanguageSpigot;
+import de.tentact.languageapi.TaskPriority;
+import de.tentact.languageapi.api.DefaultLanguageAPI;
 import de.tentact.languageapi.configuration.LanguageInventoryConfiguration;
 import de.tentact.languageapi.configuration.SpigotConfiguration;
 import de.tentact.languageapi.i18n.I18N;
+import de.tentact.languageapi.metrics.BlockingCallDetector;
 import de.tentact.languageapi.player.LanguagePlayer;
+import de.tentact.languageapi.util.ColorFormatter;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
@@ -56,7 +60,7 @@ public class LanguageCommand implements TabExecutor {
     private final List<String> tabComplete = Arrays.asList(
             "add", "remove", "update", "create", "delete",
             "param", "copy", "translations", "reload",
-            "import", "export", "help", "info", "list");
+            "import", "export", "help", "info", "list", "stats", "blocking");
     private final LanguageSpigot languageSpigot;
     private final LanguageInventoryConfiguration languageInventory;
     private final String version;
@@ -169,7 +173,7 @@ public class LanguageCommand implements TabExecutor {
                                 return false;
                             }
                             language = args[1];
-                            this.languageAPI.executeAsync(() -> {
+                            this.languageAPI.executeAsync(TaskPriority.ADMIN, () -> {
                                 List<String> availableLanguages = this.languageAPI.getAvailableLanguages();
                                 if (this.containsIgnoreCase(availableLanguages, language) && !this.languageAPI.getDefaultLanguage().equalsIgnoreCase(language)) {
                                     this.languageAPI.deleteLanguage(language);
@@ -252,7 +256,7 @@ public class LanguageCommand implements TabExecutor {
                             if (args.length >= 3) {
                                 language = args[1];
                                 key = args[2].toLowerCase();
-                                this.languageAPI.executeAsync(() -> {
+                                this.languageAPI.executeAsync(TaskPriority.ADMIN, () -> {
                                     if (this.languageAPI.getDefaultLanguage().contains(language)) {
                                         if (this.languageAPI.isKey(key, language)) {
                                             this.languageAPI.deleteMessage(key, language); //EINE SPRACHE EIN KEY
@@ -363,6 +367,18 @@ public class LanguageCommand implements TabExecutor {
                             this.languageSpigot.setSpigotConfiguration(new SpigotConfiguration(this.languageSpigot.getLogger()));
                             languagePlayer.sendMessage(I18N.LANGUAGEAPI_RELOAD_SUCCESS.get());
                             break;
+                        case "stats":
+                            if (this.checkDoesNotHavePermission(player, args)) {
+                                return false;
+                            }
+                            this.sendStatistics(player);
+                            break;
+                        case "blocking":
+                            if (this.checkDoesNotHavePermission(player, args)) {
+                                return false;
+                            }
+                            this.sendBlockingCalls(player, args);
+                            break;
                         case "info":
                             if (this.checkDoesNotHavePermission(player, args)) {
                                 return false;
@@ -386,6 +402,12 @@ public class LanguageCommand implements TabExecutor {
             } else {
                 languagePlayer.sendMessage(I18N.LANGUAGEAPI_NOPERMS.get());
             }
+        } else if (args.length >= 1 && args[0].equalsIgnoreCase("stats")) {
+            this.sendStatistics(commandSender);
+            return true;
+        } else if (args.length >= 1 && args[0].equalsIgnoreCase("blocking")) {
+            this.sendBlockingCalls(commandSender, args);
+            return true;
         }
         return false;
     }
@@ -398,6 +420,9 @@ public class LanguageCommand implements TabExecutor {
             if (args[0].equalsIgnoreCase("create")) {
                 return Collections.emptyList();
             }
+            if (args[0].equalsIgnoreCase("blocking")) {
+                return this.getTabCompletes(args[1], Collections.singletonList("reset"));
+            }
             if (!args[0].equalsIgnoreCase("param")) {
                 return this.getTabCompletes(args[1], this.languageAPI.getAvailableLanguages());
             }
@@ -418,6 +443,22 @@ public class LanguageCommand implements TabExecutor {
         return possibleCompletes;
     }
 
+    private void sendStatistics(CommandSender commandSender) {
+        for (String line : ((DefaultLanguageAPI) this.languageAPI).getStatistics().toLines()) {
+            commandSender.sendMessage(ColorFormatter.format(line));
+        }
+    }
+
+    private void sendBlockingCalls(CommandSender commandSender, String[] args) {
+        BlockingCallDetector blockingCallDetector = ((DefaultLanguageAPI) this.languageAPI).getBlockingCallDetector();
+        if (args.length >= 2 && args[1].equalsIgnoreCase("reset")) {
+            blockingCallDetector.reset();
+        }
+        for (String line : blockingCallDetector.toLines(10)) {
+            commandSender.sendMessage(ColorFormatter.format(line));
+        }
+    }
+
     private boolean parseBoolean(String input) {
         return input.equalsIgnoreCase("yes") || input.equalsIgnoreCase("true") || input.equalsIgnoreCase("ja");
     }
@@ -31,6 +31,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public enum I18N {
 
@@ -77,6 +78,8 @@ public enum I18N {
     LANGUAGEAPI_EXPORT_ALL_SUCCESS("languageapi-export-all-success", "Es wurden alle Sprachen erfolgreich exportiert."),
     LANGUAGEAPI_EXPORT_HELP("languageapi-export-help", "Verwende /lang export <Sprache>"),
     LANGUAGEAPI_EXPORT_ERROR("languageapi-export-error", "Beim Exportieren der Sprache %LANGUAGE% ist ein Fehler aufgetreten.", "%LANGUAGE%"),
+    LANGUAGEAPI_STATS_HELP("languageapi-stats-help", "Verwende /lang stats um die Statistiken der Caches, der Datenbank und des Executors anzuzeigen."),
+    LANGUAGEAPI_BLOCKING_HELP("languageapi-blocking-help", "Verwende /lang blocking [reset] um die Plugins mit den meisten Datenbankaufrufen im Main-Thread anzuzeigen."),
     LANGUAGEAPI_NOPERMS("languageapi-noperms", "Du hast keine Rechte dazu."),
     LANGUAGEAPI_PLAYER_SELECTED_LANGUAGE("languageapi-player-selected-language", "Du hast die Sprache %LANGUAGE% ausgewählt.", "%LANGUAGE%"),
     LANGUAGEAPI_INFO("languageapi-info", "Du benutzt folgende Version der LanguageAPI: %VERSION%", "%VERSION%"),
@@ -87,10 +90,15 @@ public enum I18N {
             LANGUAGEAPI_CREATE_HELP.key,
             LANGUAGEAPI_IMPORT_HELP.key,
             LANGUAGEAPI_EXPORT_HELP.key,
-            LANGUAGE_LIST_HELP.key
+            LANGUAGE_LIST_HELP.key,
+            LANGUAGEAPI_STATS_HELP.key,
+            LANGUAGEAPI_BLOCKING_HELP.key
     ));
 
     private final String key;
+    private final String defaultTranslation;
+    private final List<String> parameter;
+    private final List<String> keys;
 
     I18N(String key, String defaultTranslation) {
         this(key, defaultTranslation, Collections.emptyList());
@@ -102,12 +110,33 @@ public enum I18N {
 
     I18N(String key, String defaultTranslation, List<String> parameter) {
         this.key = key;
-        LanguageAPI.getInstance().addMessageToDefault(key, defaultTranslation, parameter);
+        this.defaultTranslation = defaultTranslation;
+        this.parameter = parameter;
+        this.keys = Collections.emptyList();
     }
 
     I18N(String key, List<String> keys) {
         this.key = key;
-        LanguageAPI.getInstance().addMultipleTranslations(key, new ArrayList<>(keys));
+        this.defaultTranslation = null;
+        this.parameter = Collections.emptyList();
+        this.keys = keys;
+    }
+
+    /**
+     * Registers the default translations of every constant in one batch
+     *
+     * @return returns a future, which is completed once the translations are registered
+     */
+    public static CompletableFuture<Integer> registerDefaults() {
+        DefaultsRegistrar defaultsRegistrar = LanguageAPI.getInstance().createDefaultsRegistrar();
+        for (I18N i18N : values()) {
+            if (i18N.defaultTranslation != null) {
+                defaultsRegistrar.add(i18N.key, i18N.defaultTranslation, i18N.parameter);
+            } else {
+                LanguageAPI.getInstance().addMultipleTranslations(i18N.key, new ArrayList<>(i18N.keys));
+            }
+        }
+        return defaultsRegistrar.commit();
     }
 
     public Translation get() {
@@ -27,6 +27,8 @@ package de.tentact.languageapi.listener;
 
 import de.tentact.languageapi.LanguageAPI;
 import de.tentact.languageapi.LanguageSpigot;
+import de.tentact.languageapi.TaskPriority;
+import de.tentact.languageapi.api.DefaultLanguageAPI;
 import de.tentact.languageapi.configuration.LanguageInventoryConfiguration;
 import de.tentact.languageapi.configuration.LanguageItem;
 import de.tentact.languageapi.i18n.I18N;
@@ -61,25 +63,33 @@ public class InventoryClickListener implements Listener {
                 return;
             }
             event.setCancelled(true);
-            LanguageAPI.getInstance().executeAsync(() -> {
-                for (LanguageItem languageItem : this.languageInventoryConfiguration.getLanguages()) {
-                    if(languageItem.getInventorySlot() != clickedSlot) {
-                        continue;
-                    }
-                    if(!LanguageAPI.getInstance().isLanguage(languageItem.getLanguageName())) {
-                        continue;
-                    }
-                    Player player = (Player) event.getWhoClicked();
-                    player.closeInventory();
-                    this.playerExecutor.setPlayerLanguage(player.getUniqueId(), languageItem.getLanguageName());
+            for (LanguageItem languageItem : this.languageInventoryConfiguration.getLanguages()) {
+                if (languageItem.getInventorySlot() != clickedSlot) {
+                    continue;
+                }
+                //Read from the language index in memory
+                if (!LanguageAPI.getInstance().isLanguage(languageItem.getLanguageName())) {
+                    continue;
+                }
+                Player player = (Player) event.getWhoClicked();
+                player.closeInventory();
+                //Submitted on the server thread, so the writes of fast clicks keep the order of the clicks
+                this.playerExecutor.setPlayerLanguage(player.getUniqueId(), languageItem.getLanguageName());
+                Runnable confirmation = () -> {
                     LanguagePlayer languagePlayer = this.playerExecutor.getLanguagePlayer(player.getUniqueId());
                     //Even if it should never be null here
                     if (languagePlayer != null) {
                         languagePlayer.sendMessage(I18N.LANGUAGEAPI_PLAYER_SELECTED_LANGUAGE.get()
                                 .replace("%LANGUAGE%", languageItem.getLanguageName()));
                     }
+                };
+                //Queued behind the write of the language, so the confirmation is sent in the selected language
+                if (LanguageAPI.getInstance() instanceof DefaultLanguageAPI) {
+                    ((DefaultLanguageAPI) LanguageAPI.getInstance()).executeWrite(player.getUniqueId(), TaskPriority.INTERACTIVE, confirmation);
+                } else {
+                    LanguageAPI.getInstance().executeAsync(confirmation);
                 }
-            });
+            }
         }
     }
 }
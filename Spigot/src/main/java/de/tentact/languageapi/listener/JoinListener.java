@@ -27,6 +27,8 @@ package de.tentact.languageapi.listener;
 
 import de.tentact.languageapi.LanguageAPI;
 import de.tentact.languageapi.LanguageSpigot;
+import de.tentact.languageapi.configuration.LanguageSetting;
+import de.tentact.languageapi.player.DefaultPlayerExecutor;
 import de.tentact.languageapi.player.SpecificPlayerExecutor;
 import de.tentact.languageapi.util.UpdateNotifier;
 import org.bukkit.Bukkit;
@@ -51,16 +53,23 @@ public class JoinListener implements Listener {
     public void handlePlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
         SpecificPlayerExecutor playerExecutor = this.languageAPI.getSpecificPlayerExecutor(player.getUniqueId());
+        if (this.languageAPI.getPlayerExecutor() instanceof DefaultPlayerExecutor) {
+            ((DefaultPlayerExecutor) this.languageAPI.getPlayerExecutor()).handleJoin(player.getUniqueId());
+        }
 
-        playerExecutor.isRegisteredPlayerAsync().thenAccept(isRegistered -> {
-            if(isRegistered) {
-                playerExecutor.registerPlayer();
-            } else {
-                Bukkit.getScheduler().runTaskLater(this.languageSpigot, () -> {
-                    player.performCommand("languageapi");
-                }, 1L);
-            }
-        });
+        //Without a row a player has the default language or the one of the client locale, so the selection would open on every join
+        LanguageSetting languageSetting = this.languageSpigot.getSpigotConfiguration().getLanguageConfig().getLanguageSetting();
+        if (!languageSetting.isImplicitDefaultLanguage() && !languageSetting.isClientLocaleLanguage()) {
+            playerExecutor.isRegisteredPlayerAsync().thenAccept(isRegistered -> {
+                if(isRegistered) {
+                    playerExecutor.registerPlayer();
+                } else {
+                    Bukkit.getScheduler().runTaskLater(this.languageSpigot, () -> {
+                        player.performCommand("languageapi");
+                    }, 1L);
+                }
+            });
+        }
         if (!player.hasPermission("languageapi.notify")) {
             return;
         }
@@ -26,6 +26,7 @@
 package de.tentact.languageapi.player;
 
 import de.tentact.languageapi.LanguageAPI;
+import de.tentact.languageapi.api.SpigotLanguageAPI;
 import de.tentact.languageapi.i18n.Translation;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
@@ -33,7 +34,7 @@ import org.jetbrains.annotations.NotNull;
 public class SpigotLanguagePlayer extends DefaultLanguageOfflinePlayer implements LanguagePlayer {
 
     private final Player player;
-    private final LanguageAPI languageAPI = LanguageAPI.getInstance();
+    private final SpigotLanguageAPI languageAPI = (SpigotLanguageAPI) LanguageAPI.getInstance();
 
     public SpigotLanguagePlayer(Player player) {
         super(player.getUniqueId());
@@ -45,6 +46,11 @@ public class SpigotLanguagePlayer extends DefaultLanguageOfflinePlayer implement
         if (this.player == null) {
             return;
         }
+        if (this.languageAPI.getAudiences() != null) {
+            super.getLanguageAsync().thenCompose(language -> this.languageAPI.getComponentAsync(translation, language))
+                    .thenAccept(component -> this.languageAPI.getAudiences().player(this.player).sendMessage(component));
+            return;
+        }
         super.getLanguageAsync().thenCompose(translation::getMessageAsync).thenAccept(this.player::sendMessage);
     }
 
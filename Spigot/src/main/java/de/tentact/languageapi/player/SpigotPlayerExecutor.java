@@ -59,6 +59,12 @@ public class SpigotPlayerExecutor extends DefaultPlayerExecutor {
         return languagePlayer;
     }
 
+    @Override
+    protected @Nullable String getClientLocale(UUID playerId) {
+        Player player = Bukkit.getPlayer(playerId);
+        return player == null ? null : player.spigot().getLocale();
+    }
+
     @Override
     public @NotNull Collection<LanguagePlayer> getOnlineLanguagePlayers() {
         return Bukkit.getOnlinePlayers().stream().map(player -> this.getLanguagePlayer(player.getUniqueId())).collect(Collectors.toList());
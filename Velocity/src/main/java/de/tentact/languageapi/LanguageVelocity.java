@@ -26,31 +26,90 @@
 package de.tentact.languageapi;
 
 import com.google.inject.Inject;
+import com.velocitypowered.api.event.Subscribe;
+import com.velocitypowered.api.event.connection.DisconnectEvent;
+import com.velocitypowered.api.event.connection.PostLoginEvent;
+import com.velocitypowered.api.event.proxy.ProxyShutdownEvent;
 import com.velocitypowered.api.plugin.PluginDescription;
 import com.velocitypowered.api.proxy.ProxyServer;
 import de.tentact.languageapi.api.VelocityLanguageAPI;
+import de.tentact.languageapi.api.WarmUp;
+import de.tentact.languageapi.command.VelocityLanguageStatsCommand;
 import de.tentact.languageapi.configuration.Configuration;
 import de.tentact.languageapi.configuration.DatabaseProvider;
 import de.tentact.languageapi.configuration.LanguageConfig;
+import de.tentact.languageapi.event.LanguageEvent;
+import de.tentact.languageapi.event.VelocityLanguageEvent;
+import de.tentact.languageapi.player.DefaultPlayerExecutor;
+import de.tentact.languageapi.util.StartupTimeline;
 import de.tentact.languageapi.util.UpdateNotifier;
 
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 public class LanguageVelocity {
 
+    private final DatabaseProvider databaseProvider;
+    private final VelocityLanguageAPI languageAPI;
+
     @Inject
     public LanguageVelocity(ProxyServer proxyServer, Logger logger, PluginDescription pluginDescription) {
-        Configuration configuration = new Configuration(logger);
+        //Adventure and MiniMessage are not shaded, the proxy has to ship them
+        try {
+            Class.forName("net.kyori.adventure.text.minimessage.MiniMessage");
+        } catch (ClassNotFoundException exception) {
+            throw new IllegalStateException("The LanguageAPI requires Velocity 3.1.2 or newer, which ships Adventure and MiniMessage 4.11", exception);
+        }
+        StartupTimeline timeline = new StartupTimeline();
+        Configuration configuration = timeline.call("configuration", () -> new Configuration(logger));
         LanguageConfig languageConfig = configuration.getLanguageConfig();
 
-        DatabaseProvider databaseProvider = configuration.getLanguageConfig().getDatabaseProvider();
-        databaseProvider.connect();
-        LanguageAPI.setInstance(new VelocityLanguageAPI(proxyServer, languageConfig));
+        this.databaseProvider = configuration.getLanguageConfig().getDatabaseProvider();
+        timeline.run("database-connect", () -> this.databaseProvider.connect(languageConfig.getStorageSetting()));
+        this.languageAPI = new VelocityLanguageAPI(proxyServer, languageConfig);
+        LanguageAPI.setInstance(this.languageAPI);
+
+        timeline.run("default-tables", this.databaseProvider::createDefaultTable);
+        this.languageAPI.startMetrics();
+        this.languageAPI.getEventBus().subscribe(LanguageEvent.class, event -> proxyServer.getEventManager().fireAndForget(new VelocityLanguageEvent(event)));
+        proxyServer.getCommandManager().register(
+                proxyServer.getCommandManager().metaBuilder("languagestats").aliases("langstats").build(),
+                new VelocityLanguageStatsCommand()
+        );
+
+        new WarmUp(this.languageAPI, timeline)
+                .stage("update-check", () -> this.checkForUpdates(new UpdateNotifier(), pluginDescription, logger))
+                .start()
+                .whenComplete((ignored, throwable) -> {
+                    if (throwable != null) {
+                        throwable.printStackTrace();
+                    }
+                    if (languageConfig.getMetricsSetting().isStartupTimeline()) {
+                        timeline.log(logger);
+                    }
+                });
+    }
 
-        databaseProvider.createDefaultTable();
-        LanguageAPI.getInstance().createLanguage(languageConfig.getLanguageSetting().getDefaultLanguage());
+    @Subscribe
+    public void onPostLogin(PostLoginEvent event) {
+        if (this.languageAPI.getPlayerExecutor() instanceof DefaultPlayerExecutor) {
+            ((DefaultPlayerExecutor) this.languageAPI.getPlayerExecutor()).handleJoin(event.getPlayer().getUniqueId());
+        }
+    }
+
+    @Subscribe
+    public void onDisconnect(DisconnectEvent event) {
+        if (this.languageAPI.getPlayerExecutor() instanceof DefaultPlayerExecutor) {
+            ((DefaultPlayerExecutor) this.languageAPI.getPlayerExecutor()).updateLastSeen(event.getPlayer().getUniqueId());
+        }
+    }
 
-        this.checkForUpdates(new UpdateNotifier(), pluginDescription, logger);
+    @Subscribe
+    public void onProxyShutdown(ProxyShutdownEvent event) {
+        this.languageAPI.stopMetrics();
+        this.languageAPI.flush(5, TimeUnit.SECONDS);
+        this.languageAPI.shutdown();
+        this.databaseProvider.closeConnection();
     }
 
     private void checkForUpdates(UpdateNotifier updateNotifier, PluginDescription pluginDescription, Logger logger) {
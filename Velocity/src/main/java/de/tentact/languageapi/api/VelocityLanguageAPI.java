@@ -25,14 +25,18 @@
 
 package de.tentact.languageapi.api;
 
+import com.velocitypowered.api.plugin.PluginContainer;
 import com.velocitypowered.api.proxy.ProxyServer;
 import de.tentact.languageapi.configuration.LanguageConfig;
 import de.tentact.languageapi.console.ConsoleExecutor;
+import de.tentact.languageapi.metrics.BlockingCallDetector;
 import de.tentact.languageapi.player.PlayerExecutor;
 import de.tentact.languageapi.player.VelocityConsoleExecutor;
 import de.tentact.languageapi.player.VelocityPlayerExecutor;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Optional;
+
 public class VelocityLanguageAPI extends DefaultLanguageAPI {
 
     private final PlayerExecutor playerExecutor;
@@ -42,6 +46,16 @@ public class VelocityLanguageAPI extends DefaultLanguageAPI {
         super(languageConfig);
         this.playerExecutor = new VelocityPlayerExecutor(proxyServer, this, languageConfig);
         this.consoleExecutor = new VelocityConsoleExecutor(this, proxyServer.getConsoleCommandSource());
+        this.getBlockingCallDetector().setBlockingThread(BlockingCallDetector::isNettyThread);
+        this.getBlockingCallDetector().setPluginResolver(className -> {
+            for (PluginContainer pluginContainer : proxyServer.getPluginManager().getPlugins()) {
+                Optional<?> instance = pluginContainer.getInstance();
+                if (instance.isPresent() && className.startsWith(instance.get().getClass().getPackage().getName() + ".")) {
+                    return pluginContainer.getDescription().getName().orElse(pluginContainer.getDescription().getId());
+                }
+            }
+            return null;
+        });
     }
 
     @Override
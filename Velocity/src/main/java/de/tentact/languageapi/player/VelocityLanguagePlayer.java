@@ -27,6 +27,7 @@ package de.tentact.languageapi.player;
 
 import com.velocitypowered.api.proxy.Player;
 import de.tentact.languageapi.LanguageAPI;
+import de.tentact.languageapi.api.DefaultLanguageAPI;
 import de.tentact.languageapi.i18n.Translation;
 import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import org.jetbrains.annotations.NotNull;
@@ -34,7 +35,7 @@ import org.jetbrains.annotations.NotNull;
 public class VelocityLanguagePlayer extends DefaultLanguageOfflinePlayer implements LanguagePlayer {
 
     private final Player player;
-    private final LanguageAPI languageAPI = LanguageAPI.getInstance();
+    private final DefaultLanguageAPI languageAPI = (DefaultLanguageAPI) LanguageAPI.getInstance();
 
     public VelocityLanguagePlayer(Player player) {
         super(player.getUniqueId());
@@ -46,6 +47,11 @@ public class VelocityLanguagePlayer extends DefaultLanguageOfflinePlayer impleme
         if (this.player == null) {
             return;
         }
+        if (this.languageAPI.isMiniMessage()) {
+            super.getLanguageAsync().thenCompose(language -> this.languageAPI.getComponentAsync(translation, language))
+                    .thenAccept(this.player::sendMessage);
+            return;
+        }
         super.getLanguageAsync().thenCompose(translation::getMessageAsync).thenAccept(message ->
                 this.player.sendMessage(GsonComponentSerializer.colorDownsamplingGson().deserialize(message)));
     }
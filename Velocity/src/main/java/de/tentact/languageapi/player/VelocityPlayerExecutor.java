@@ -33,6 +33,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -61,6 +62,13 @@ public class VelocityPlayerExecutor extends DefaultPlayerExecutor {
         return languagePlayer;
     }
 
+    @Override
+    protected @Nullable String getClientLocale(UUID playerId) {
+        //Null until the client sent its settings
+        Locale locale = this.proxyServer.getPlayer(playerId).map(Player::getEffectiveLocale).orElse(null);
+        return locale == null ? null : locale.toString();
+    }
+
     @Override
     public @NotNull Collection<LanguagePlayer> getOnlineLanguagePlayers() {
         return this.proxyServer.getAllPlayers().stream().map(player -> this.getLanguagePlayer(player.getUniqueId())).collect(Collectors.toList());